@@ -0,0 +1,425 @@
+/*
+ * Copyright (C) 2021 Neo Visionaries Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.neovisionaries.i18n;
+
+
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+
+/**
+ * Normalizer that resolves a large number of codes in chunks, optionally
+ * in parallel.
+ *
+ * <p>
+ * Each code is resolved in the same way as {@code getByCodeIgnoreCase}
+ * of the enum type. For example, {@link #COUNTRY} resolves {@code "jp"},
+ * {@code "Jpn"} and {@code "JP"} into {@link CountryCode#JP}. The input is
+ * split into chunks of a given size, and the chunks are resolved by the
+ * threads of a given {@link ExecutorService}. The lookup tables of the enums
+ * are built once when the enum classes are initialized and are read-only
+ * after that, so the threads do not contend with each other.
+ * </p>
+ *
+ * <pre style="background-color: #EEEEEE; margin-left: 2em; margin-right: 2em; border: 1px solid black; padding: 0.5em;">
+ * ExecutorService executor = Executors.newFixedThreadPool(8);
+ *
+ * BulkNormalizer.Result&lt;CountryCode&gt; result =
+ *     BulkNormalizer.{@link #COUNTRY}.{@link #normalize(CharSequence[], ExecutorService, int)
+ *     normalize}(codes, executor, 100000);
+ *
+ * CountryCode[] countries = result.{@link Result#getValues() getValues()};
+ *
+ * for (int i = 0; i &lt; result.{@link Result#getChunkCount() getChunkCount()}; ++i)
+ * {
+ *     System.out.println(<span style="color: darkred;">"chunk "</span> + i + <span style="color: darkred;">": "</span> + result.{@link Result#getMissCount(int) getMissCount}(i) + <span style="color: darkred;">" misses"</span>);
+ * }</pre>
+ *
+ * <p>
+ * Instances of this class are immutable and thread-safe.
+ * </p>
+ *
+ * @param <E>
+ *         The enum type that codes are resolved into.
+ *
+ * @since 1.30
+ */
+public abstract class BulkNormalizer<E extends Enum<E>>
+{
+    /**
+     * Normalizer into {@link CountryCode}.
+     */
+    public static final BulkNormalizer<CountryCode> COUNTRY =
+        new BulkNormalizer<CountryCode>(CountryCode.class) {
+            CountryCode lookup(CharSequence code)
+            {
+                return CountryCode.getByCode(code, 0, code.length(), false);
+            }
+        };
+
+
+    /**
+     * Normalizer into {@link CurrencyCode}.
+     */
+    public static final BulkNormalizer<CurrencyCode> CURRENCY =
+        new BulkNormalizer<CurrencyCode>(CurrencyCode.class) {
+            CurrencyCode lookup(CharSequence code)
+            {
+                return CurrencyCode.getByCode(code, 0, code.length(), false);
+            }
+        };
+
+
+    /**
+     * Normalizer into {@link LanguageCode}.
+     */
+    public static final BulkNormalizer<LanguageCode> LANGUAGE =
+        new BulkNormalizer<LanguageCode>(LanguageCode.class) {
+            LanguageCode lookup(CharSequence code)
+            {
+                return LanguageCode.getByCode(code, 0, code.length(), false);
+            }
+        };
+
+
+    /**
+     * Normalizer into {@link LanguageAlpha3Code}.
+     */
+    public static final BulkNormalizer<LanguageAlpha3Code> LANGUAGE_ALPHA3 =
+        new BulkNormalizer<LanguageAlpha3Code>(LanguageAlpha3Code.class) {
+            LanguageAlpha3Code lookup(CharSequence code)
+            {
+                return LanguageAlpha3Code.getByCode(code, 0, code.length(), false);
+            }
+        };
+
+
+    /**
+     * Normalizer into {@link ScriptCode}.
+     */
+    public static final BulkNormalizer<ScriptCode> SCRIPT =
+        new BulkNormalizer<ScriptCode>(ScriptCode.class) {
+            ScriptCode lookup(CharSequence code)
+            {
+                return ScriptCode.getByCode(code, 0, code.length(), false);
+            }
+        };
+
+
+    /**
+     * Normalizer into {@link LocaleCode}.
+     */
+    public static final BulkNormalizer<LocaleCode> LOCALE =
+        new BulkNormalizer<LocaleCode>(LocaleCode.class) {
+            LocaleCode lookup(CharSequence code)
+            {
+                return LocaleCode.getByCode(code, 0, code.length(), false);
+            }
+        };
+
+
+    /**
+     * Result of normalization.
+     *
+     * @param <E>
+     *         The enum type that codes are resolved into.
+     */
+    public static final class Result<E extends Enum<E>>
+    {
+        private final E[] values;
+        private final int chunkSize;
+        private final int[] missCounts;
+
+
+        Result(E[] values, int chunkSize, int[] missCounts)
+        {
+            this.values     = values;
+            this.chunkSize  = chunkSize;
+            this.missCounts = missCounts;
+        }
+
+
+        /**
+         * Get the resolved values.
+         *
+         * @return
+         *         An array whose {@code i}-th element is the value for the
+         *         {@code i}-th code, or {@code null} if the code was not
+         *         resolved. The array is not copied.
+         */
+        public E[] getValues()
+        {
+            return values;
+        }
+
+
+        /**
+         * Get the number of chunks the input was split into.
+         *
+         * @return
+         *         The number of chunks.
+         */
+        public int getChunkCount()
+        {
+            return missCounts.length;
+        }
+
+
+        /**
+         * Get the maximum number of codes in a chunk. Only the last chunk
+         * may be smaller.
+         *
+         * @return
+         *         The chunk size.
+         */
+        public int getChunkSize()
+        {
+            return chunkSize;
+        }
+
+
+        /**
+         * Get the number of codes that were not resolved in the given chunk.
+         * {@code null} elements of the input are counted as misses.
+         *
+         * @param chunk
+         *         The index of a chunk. The chunk covers the codes from
+         *         {@code chunk * getChunkSize()} (inclusive).
+         *
+         * @return
+         *         The number of misses in the chunk.
+         *
+         * @throws IndexOutOfBoundsException
+         *         {@code chunk} is negative or not less than {@link
+         *         #getChunkCount()}.
+         */
+        public int getMissCount(int chunk)
+        {
+            return missCounts[chunk];
+        }
+
+
+        /**
+         * Get the total number of codes that were not resolved.
+         *
+         * @return
+         *         The sum of the miss counts of all the chunks.
+         */
+        public long getMissCount()
+        {
+            long total = 0;
+
+            for (int count : missCounts)
+            {
+                total += count;
+            }
+
+            return total;
+        }
+    }
+
+
+    private final Class<E> type;
+
+
+    private BulkNormalizer(Class<E> type)
+    {
+        this.type = type;
+    }
+
+
+    /**
+     * Resolve a code. {@code code} is not {@code null}.
+     */
+    abstract E lookup(CharSequence code);
+
+
+    /**
+     * Resolve the given codes in the calling thread.
+     *
+     * <p>
+     * The whole input is treated as one chunk.
+     * </p>
+     *
+     * @param codes
+     *         Codes to resolve. {@code null} elements are allowed.
+     *
+     * @return
+     *         The result of normalization.
+     *
+     * @throws IllegalArgumentException
+     *         {@code codes} is {@code null}.
+     */
+    public Result<E> normalize(CharSequence[] codes)
+    {
+        if (codes == null)
+        {
+            throw new IllegalArgumentException("codes is null.");
+        }
+
+        E[] values = newArray(codes.length);
+        int misses = normalize(codes, 0, codes.length, values);
+
+        return new Result<E>(values, Math.max(codes.length, 1), new int[] { misses });
+    }
+
+
+    /**
+     * Resolve the given codes in chunks using the given executor.
+     *
+     * <p>
+     * Each chunk is submitted to {@code executor} as a separate task.
+     * A task writes only the elements of its own chunk into the result
+     * array, so no lock is needed. This method blocks until all the
+     * tasks finish.
+     * </p>
+     *
+     * @param codes
+     *         Codes to resolve. {@code null} elements are allowed.
+     *
+     * @param executor
+     *         An executor to run the tasks.
+     *
+     * @param chunkSize
+     *         The maximum number of codes in a chunk. Each chunk should be
+     *         large enough to hide the cost of submitting a task, for
+     *         example tens of thousands of codes.
+     *
+     * @return
+     *         The result of normalization.
+     *
+     * @throws IllegalArgumentException
+     *         {@code codes} or {@code executor} is {@code null}, or
+     *         {@code chunkSize} is not positive.
+     *
+     * @throws InterruptedException
+     *         The calling thread was interrupted while waiting for the tasks.
+     *         The tasks that have not finished are cancelled.
+     */
+    public Result<E> normalize(
+            final CharSequence[] codes, ExecutorService executor, int chunkSize)
+            throws InterruptedException
+    {
+        if (codes == null)
+        {
+            throw new IllegalArgumentException("codes is null.");
+        }
+
+        if (executor == null)
+        {
+            throw new IllegalArgumentException("executor is null.");
+        }
+
+        if (chunkSize <= 0)
+        {
+            throw new IllegalArgumentException("chunkSize is not positive.");
+        }
+
+        final E[] values = newArray(codes.length);
+        int chunkCount   = (int)(((long)codes.length + chunkSize - 1) / chunkSize);
+        int[] missCounts = new int[chunkCount];
+        List<Future<Integer>> futures = new ArrayList<Future<Integer>>(chunkCount);
+
+        try
+        {
+            for (int i = 0; i < chunkCount; ++i)
+            {
+                final int start = i * chunkSize;
+                final int end   = Math.min(start + chunkSize, codes.length);
+
+                futures.add(executor.submit(new Callable<Integer>() {
+                    public Integer call()
+                    {
+                        return normalize(codes, start, end, values);
+                    }
+                }));
+            }
+
+            for (int i = 0; i < chunkCount; ++i)
+            {
+                missCounts[i] = futures.get(i).get();
+            }
+        }
+        catch (ExecutionException e)
+        {
+            throw rethrow(e.getCause());
+        }
+        finally
+        {
+            // Cancel the remaining tasks if something went wrong.
+            // This does nothing for the tasks that have finished.
+            for (Future<Integer> future : futures)
+            {
+                future.cancel(true);
+            }
+        }
+
+        return new Result<E>(values, chunkSize, missCounts);
+    }
+
+
+    /**
+     * Resolve the codes in the range and return the number of misses.
+     */
+    private int normalize(CharSequence[] codes, int start, int end, E[] values)
+    {
+        int misses = 0;
+
+        for (int i = start; i < end; ++i)
+        {
+            CharSequence code = codes[i];
+            E value = (code == null) ? null : lookup(code);
+
+            values[i] = value;
+
+            if (value == null)
+            {
+                ++misses;
+            }
+        }
+
+        return misses;
+    }
+
+
+    @SuppressWarnings("unchecked")
+    private E[] newArray(int length)
+    {
+        return (E[])Array.newInstance(type, length);
+    }
+
+
+    private static RuntimeException rethrow(Throwable cause)
+    {
+        if (cause instanceof RuntimeException)
+        {
+            throw (RuntimeException)cause;
+        }
+
+        if (cause instanceof Error)
+        {
+            throw (Error)cause;
+        }
+
+        // Tasks do not throw checked exceptions.
+        throw new IllegalStateException(cause);
+    }
+}
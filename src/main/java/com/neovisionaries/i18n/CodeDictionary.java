@@ -0,0 +1,453 @@
+/*
+ * Copyright (C) 2021 Neo Visionaries Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.neovisionaries.i18n;
+
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+
+/**
+ * Fixed dictionary of codes for dictionary encoding of columnar data.
+ *
+ * <p>
+ * A dictionary maps each code of an enum to a dictionary index, and {@link
+ * #getCodes()} returns the code of each index, for example {@code "JP"} for
+ * {@link CountryCode#JP}. The list can be written as the dictionary of an
+ * Apache Arrow dictionary-encoded vector or as a Parquet dictionary page.
+ * Only constants whose code is resolved back to them by {@link #encode(byte[],
+ * int[], int, int[]) encode} are included, so every entry survives a round
+ * trip. Sentinels such as {@link CountryCode#UNDEFINED} are not included, and
+ * their index is -1.
+ * </p>
+ *
+ * <p>
+ * {@link #encode(byte[], int[], int, int[])} and {@link #decode(int[], int,
+ * int[])} convert whole columns at once. Strings are held in the same layout
+ * as an Arrow {@code VarCharVector}: one array of bytes holding all the values
+ * and an array of offsets where the value {@code i} is the range from {@code
+ * offsets[i]} to {@code offsets[i + 1]}. Codes are resolved in place by the
+ * lookup tables of the enums, so no {@code String} is created per value.
+ * </p>
+ *
+ * <pre style="background-color: #EEEEEE; margin-left: 2em; margin-right: 2em; border: 1px solid black; padding: 0.5em;">
+ * <span style="color: darkgreen;">// "JP", "XX" and "US" in the VarCharVector layout.</span>
+ * byte[] data    = <span style="color: darkred;">"JPXXUS"</span>.getBytes(<span style="color: darkred;">"US-ASCII"</span>);
+ * int[]  offsets = { 0, 2, 4, 6 };
+ * int[]  indices = new int[3];
+ *
+ * <span style="color: darkgreen;">// 1 ("XX" is not in the dictionary and its index is -1)</span>
+ * int misses = CodeDictionary.{@link #COUNTRY}.{@link #encode(byte[], int[], int, int[])
+ * encode}(data, offsets, 3, indices);
+ *
+ * <span style="color: darkgreen;">// "JPUS" with offsets { 0, 2, 2, 4 }</span>
+ * byte[] decoded = CodeDictionary.{@link #COUNTRY}.{@link #decode(int[], int, int[])
+ * decode}(indices, 3, offsets);</pre>
+ *
+ * <p>
+ * The codes are sorted in the order of their letters, so the index of a code
+ * depends only on the set of codes, not on the order in which the constants
+ * are declared nor on their ordinals. The order of indices is also the order
+ * of the codes, so the dictionary can be marked as ordered. An index still
+ * shifts when a code is added before it in a future version, so store the
+ * dictionary with the data, as Arrow and Parquet do, or use {@code
+ * toPackedShort()} of {@link CountryCode#toPackedShort() CountryCode}, {@link
+ * CurrencyCode#toPackedShort() CurrencyCode} and {@link
+ * LanguageAlpha3Code#toPackedShort() LanguageAlpha3Code} when values have to
+ * be compared across versions without a dictionary. Instances of this class
+ * are immutable and thread-safe.
+ * </p>
+ *
+ * @param <E>
+ *         The enum type of the dictionary.
+ *
+ * @since 1.30
+ */
+public abstract class CodeDictionary<E extends Enum<E>>
+{
+    /**
+     * Dictionary of {@link CountryCode}. Values are encoded from ISO 3166-1
+     * alpha-2 codes such as {@code "JP"}.
+     */
+    public static final CodeDictionary<CountryCode> COUNTRY =
+        new CodeDictionary<CountryCode>(CountryCode.valueList(), 2) {
+            CountryCode lookup(byte[] data, int offset)
+            {
+                return CountryCode.getByAlpha2Code(data, offset);
+            }
+        };
+
+
+    /**
+     * Dictionary of {@link CurrencyCode}. Values are encoded from ISO 4217
+     * alpha-3 codes such as {@code "USD"}.
+     */
+    public static final CodeDictionary<CurrencyCode> CURRENCY =
+        new CodeDictionary<CurrencyCode>(CurrencyCode.valueList(), 3) {
+            CurrencyCode lookup(byte[] data, int offset)
+            {
+                return CurrencyCode.getByCode(data, offset);
+            }
+        };
+
+
+    /**
+     * Dictionary of {@link LanguageCode}. Values are encoded from ISO 639-1
+     * codes such as {@code "ja"}.
+     */
+    public static final CodeDictionary<LanguageCode> LANGUAGE =
+        new CodeDictionary<LanguageCode>(LanguageCode.valueList(), 2) {
+            LanguageCode lookup(byte[] data, int offset)
+            {
+                return LanguageCode.getByCode(data, offset);
+            }
+        };
+
+
+    /**
+     * Dictionary of {@link ScriptCode}. Values are encoded from ISO 15924
+     * alpha-4 codes such as {@code "Jpan"}.
+     */
+    public static final CodeDictionary<ScriptCode> SCRIPT =
+        new CodeDictionary<ScriptCode>(ScriptCode.valueList(), 4) {
+            ScriptCode lookup(byte[] data, int offset)
+            {
+                return ScriptCode.getByCode(data, offset);
+            }
+        };
+
+
+    private final List<E> values;
+    private final List<String> codes;
+    private final byte[][] codeBytes;
+    private final int codeLength;
+
+
+    /**
+     * Dictionary indices of the constants indexed by ordinal. -1 for the
+     * constants that are not in the dictionary. Ordinals are used only to
+     * find the index of a constant and never appear in the indices.
+     */
+    private final int[] indexes;
+
+
+    private CodeDictionary(List<E> constants, int codeLength)
+    {
+        this.codeLength = codeLength;
+
+        // Sort the codes by their letters.
+        Map<String, E> sorted = new TreeMap<String, E>();
+
+        for (E value : constants)
+        {
+            String code = value.name();
+
+            // Leave out sentinels such as UNDEFINED, which encode() can
+            // never produce, so that every entry survives a round trip.
+            if (code.length() == codeLength && lookup(toAscii(code), 0) == value)
+            {
+                sorted.put(code, value);
+            }
+        }
+
+        List<E> valueList     = new ArrayList<E>(sorted.size());
+        List<String> codeList = new ArrayList<String>(sorted.size());
+
+        this.codeBytes = new byte[sorted.size()][];
+        this.indexes   = new int[constants.size()];
+
+        Arrays.fill(indexes, -1);
+
+        for (Map.Entry<String, E> entry : sorted.entrySet())
+        {
+            int index = valueList.size();
+
+            valueList.add(entry.getValue());
+            codeList.add(entry.getKey());
+            codeBytes[index] = toAscii(entry.getKey());
+            indexes[entry.getValue().ordinal()] = index;
+        }
+
+        this.values = Collections.unmodifiableList(valueList);
+        this.codes  = Collections.unmodifiableList(codeList);
+    }
+
+
+    private static byte[] toAscii(String code)
+    {
+        // Codes consist of ASCII letters only.
+        byte[] bytes = new byte[code.length()];
+
+        for (int i = 0; i < bytes.length; ++i)
+        {
+            bytes[i] = (byte)code.charAt(i);
+        }
+
+        return bytes;
+    }
+
+
+    /**
+     * Resolve the code of {@code codeLength} bytes at the given offset.
+     * The code is known to fit in the array. Called from the constructor,
+     * so implementations must not depend on their own state.
+     */
+    abstract E lookup(byte[] data, int offset);
+
+
+    /**
+     * Get the number of entries of this dictionary.
+     *
+     * @return
+     *         The number of entries, which is the number of the constants
+     *         of the enum except sentinels such as {@link CountryCode#UNDEFINED}.
+     */
+    public int size()
+    {
+        return values.size();
+    }
+
+
+    /**
+     * Get the codes of this dictionary in the order of indices.
+     *
+     * @return
+     *         An unmodifiable list of codes in the order of their letters.
+     *         The element at index {@code i} is the code of the index
+     *         {@code i}.
+     */
+    public List<String> getCodes()
+    {
+        return codes;
+    }
+
+
+    /**
+     * Get the constant of the given index.
+     *
+     * @param index
+     *         A dictionary index.
+     *
+     * @return
+     *         The constant of the index.
+     *
+     * @throws IndexOutOfBoundsException
+     *         {@code index} is out of the range from 0 to {@link #size()} - 1.
+     */
+    public E get(int index)
+    {
+        return values.get(index);
+    }
+
+
+    /**
+     * Get the index of the given constant.
+     *
+     * @param value
+     *         A constant.
+     *
+     * @return
+     *         The index of the constant, or -1 if {@code null} or a constant
+     *         that is not in the dictionary, such as {@link
+     *         CountryCode#UNDEFINED}, is given.
+     */
+    public int indexOf(E value)
+    {
+        return (value == null) ? -1 : indexes[value.ordinal()];
+    }
+
+
+    /**
+     * Encode values into dictionary indices.
+     *
+     * <p>
+     * The value {@code i} is the range from {@code offsets[i]} (inclusive) to
+     * {@code offsets[i + 1]} (exclusive) of {@code data}. A value is found
+     * only when it is exactly one of the codes which the enum resolves from
+     * bytes, for example {@code "JP"} but neither {@code "jp"} nor {@code
+     * "JPN"} for {@link #COUNTRY}. The index of a value that is not found,
+     * including an empty value, is -1.
+     * </p>
+     *
+     * @param data
+     *         The bytes of the values.
+     *
+     * @param offsets
+     *         The offsets of the values. At least {@code count + 1} elements
+     *         are used.
+     *
+     * @param count
+     *         The number of values.
+     *
+     * @param indices
+     *         An array to store the indices into. At least {@code count}
+     *         elements are used.
+     *
+     * @return
+     *         The number of values that were not found.
+     *
+     * @throws IllegalArgumentException
+     *         {@code data}, {@code offsets} or {@code indices} is {@code null},
+     *         {@code count} is negative, or {@code offsets} or {@code indices}
+     *         is too short.
+     *
+     * @throws IndexOutOfBoundsException
+     *         An offset is out of the range of {@code data}.
+     */
+    public int encode(byte[] data, int[] offsets, int count, int[] indices)
+    {
+        if (data == null)
+        {
+            throw new IllegalArgumentException("data is null.");
+        }
+
+        checkArrays(offsets, count, indices);
+
+        int misses = 0;
+
+        for (int i = 0; i < count; ++i)
+        {
+            int start = offsets[i];
+            int end   = offsets[i + 1];
+
+            CodeIndex.checkRange(data.length, start, end);
+
+            E value   = (end - start == codeLength) ? lookup(data, start) : null;
+            int index = indexOf(value);
+
+            indices[i] = index;
+
+            if (index == -1)
+            {
+                ++misses;
+            }
+        }
+
+        return misses;
+    }
+
+
+    /**
+     * Decode dictionary indices into values.
+     *
+     * <p>
+     * The codes are written into a new byte array, and the offsets of the
+     * values are written into {@code offsets} in the layout described in
+     * {@link #encode(byte[], int[], int, int[])}. The index -1 is decoded
+     * into an empty value, so the output of {@code encode} can be decoded
+     * as it is. All the indices are checked before anything is written, so
+     * {@code offsets} is not changed when an exception is thrown.
+     * </p>
+     *
+     * @param indices
+     *         Dictionary indices or -1.
+     *
+     * @param count
+     *         The number of indices.
+     *
+     * @param offsets
+     *         An array to store the offsets of the values into.
+     *         {@code count + 1} elements are written.
+     *
+     * @return
+     *         The bytes of the values.
+     *
+     * @throws IllegalArgumentException
+     *         {@code indices} or {@code offsets} is {@code null}, {@code count}
+     *         is negative, {@code indices} or {@code offsets} is too short,
+     *         or an index is neither -1 nor a valid dictionary index.
+     */
+    public byte[] decode(int[] indices, int count, int[] offsets)
+    {
+        checkArrays(offsets, count, indices);
+
+        // Check the indices and compute the total length first, so that
+        // nothing is written for invalid input and the output is allocated
+        // only once.
+        int length = 0;
+
+        for (int i = 0; i < count; ++i)
+        {
+            int index = indices[i];
+
+            if (index < -1 || codeBytes.length <= index)
+            {
+                throw new IllegalArgumentException(
+                    "indices[" + i + "] is not a valid index: " + index);
+            }
+
+            if (index != -1)
+            {
+                length += codeBytes[index].length;
+            }
+        }
+
+        byte[] data  = new byte[length];
+        int position = 0;
+
+        offsets[0] = 0;
+
+        for (int i = 0; i < count; ++i)
+        {
+            int index = indices[i];
+
+            if (index != -1)
+            {
+                System.arraycopy(codeBytes[index], 0, data, position, codeBytes[index].length);
+                position += codeBytes[index].length;
+            }
+
+            offsets[i + 1] = position;
+        }
+
+        return data;
+    }
+
+
+    private static void checkArrays(int[] offsets, int count, int[] indices)
+    {
+        if (offsets == null)
+        {
+            throw new IllegalArgumentException("offsets is null.");
+        }
+
+        if (indices == null)
+        {
+            throw new IllegalArgumentException("indices is null.");
+        }
+
+        if (count < 0)
+        {
+            throw new IllegalArgumentException("count is negative.");
+        }
+
+        if (offsets.length < count + 1)
+        {
+            throw new IllegalArgumentException(
+                "offsets is shorter than count + 1: " + offsets.length + " < " + (count + 1));
+        }
+
+        if (indices.length < count)
+        {
+            throw new IllegalArgumentException(
+                "indices is shorter than count: " + indices.length + " < " + count);
+        }
+    }
+}
@@ -0,0 +1,211 @@
+/*
+ * Copyright (C) 2021 Neo Visionaries Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.neovisionaries.i18n;
+
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+
+
+/**
+ * Relationships between countries, languages and currencies, derived from
+ * {@link LocaleCode} and {@link CurrencyCode} once and stored as ordinal
+ * adjacency arrays.
+ *
+ * <p>
+ * This class is loaded when one of the relationships is accessed for the
+ * first time, so the enums themselves do not pay for building the graph.
+ * The lists returned are unmodifiable views of the arrays and are created
+ * only once.
+ * </p>
+ */
+final class CodeGraph
+{
+    /**
+     * Languages spoken in each country, indexed by {@code CountryCode} ordinal.
+     */
+    private static final int[][] countryLanguages = new int[CountryCode.valueList().size()][];
+
+
+    /**
+     * Countries where each language is spoken, indexed by {@code LanguageCode} ordinal.
+     */
+    private static final int[][] languageCountries = new int[LanguageCode.valueList().size()][];
+
+
+    /**
+     * Currencies of the countries where each language is spoken, indexed by
+     * {@code LanguageCode} ordinal.
+     */
+    private static final int[][] languageCurrencies = new int[LanguageCode.valueList().size()][];
+
+
+    static
+    {
+        boolean[] found = new boolean[Math.max(LanguageCode.valueList().size(),
+                Math.max(CountryCode.valueList().size(), CurrencyCode.valueList().size()))];
+
+        for (CountryCode country : CountryCode.valueList())
+        {
+            for (LocaleCode locale : LocaleCode.getByCountry(country))
+            {
+                mark(found, locale.getLanguage());
+            }
+
+            countryLanguages[country.ordinal()] = collect(found);
+        }
+
+        for (LanguageCode language : LanguageCode.valueList())
+        {
+            for (LocaleCode locale : LocaleCode.getByLanguage(language))
+            {
+                mark(found, locale.getCountry());
+            }
+
+            languageCountries[language.ordinal()] = collect(found);
+
+            for (int country : languageCountries[language.ordinal()])
+            {
+                for (CurrencyCode currency : CurrencyCode.getByCountry(CountryCode.valueList().get(country)))
+                {
+                    mark(found, currency);
+                }
+            }
+
+            languageCurrencies[language.ordinal()] = collect(found);
+        }
+    }
+
+
+    private static final List<LanguageCode>[] countryLanguageLists =
+        createLists(countryLanguages, LanguageCode.valueList());
+    private static final List<CountryCode>[] languageCountryLists =
+        createLists(languageCountries, CountryCode.valueList());
+    private static final List<CurrencyCode>[] languageCurrencyLists =
+        createLists(languageCurrencies, CurrencyCode.valueList());
+
+
+    private CodeGraph()
+    {
+    }
+
+
+    private static void mark(boolean[] found, Enum<?> code)
+    {
+        if (code == null || code == CountryCode.UNDEFINED ||
+            code == LanguageCode.undefined || code == CurrencyCode.UNDEFINED)
+        {
+            return;
+        }
+
+        found[code.ordinal()] = true;
+    }
+
+
+    /**
+     * Convert the marks into an array of ordinals in ascending order and
+     * clear the marks.
+     */
+    private static int[] collect(boolean[] found)
+    {
+        int count = 0;
+
+        for (boolean f : found)
+        {
+            if (f)
+            {
+                ++count;
+            }
+        }
+
+        int[] ordinals = new int[count];
+
+        for (int i = 0, j = 0; i < found.length; ++i)
+        {
+            if (found[i])
+            {
+                ordinals[j++] = i;
+                found[i] = false;
+            }
+        }
+
+        return ordinals;
+    }
+
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static <E> List<E>[] createLists(int[][] adjacency, List<E> universe)
+    {
+        List<E>[] lists = new List[adjacency.length];
+
+        for (int i = 0; i < lists.length; ++i)
+        {
+            lists[i] = new OrdinalList<E>(adjacency[i], universe);
+        }
+
+        return lists;
+    }
+
+
+    static List<LanguageCode> getLanguages(CountryCode country)
+    {
+        return countryLanguageLists[country.ordinal()];
+    }
+
+
+    static List<CountryCode> getCountries(LanguageCode language)
+    {
+        return languageCountryLists[language.ordinal()];
+    }
+
+
+    static List<CurrencyCode> getCurrencies(LanguageCode language)
+    {
+        return languageCurrencyLists[language.ordinal()];
+    }
+
+
+    /**
+     * Unmodifiable list view of an array of ordinals.
+     */
+    private static final class OrdinalList<E> extends AbstractList<E> implements RandomAccess
+    {
+        private final int[] ordinals;
+        private final List<E> universe;
+
+
+        OrdinalList(int[] ordinals, List<E> universe)
+        {
+            this.ordinals = ordinals;
+            this.universe = universe;
+        }
+
+
+        @Override
+        public E get(int index)
+        {
+            return universe.get(ordinals[index]);
+        }
+
+
+        @Override
+        public int size()
+        {
+            return ordinals.length;
+        }
+    }
+}
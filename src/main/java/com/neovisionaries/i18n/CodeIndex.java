@@ -0,0 +1,680 @@
+/*
+ * Copyright (C) 2021 Neo Visionaries Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.neovisionaries.i18n;
+
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+
+/**
+ * Utility to compute array indexes directly from codes that consist
+ * of ASCII letters.
+ *
+ * <p>
+ * A code of <i>n</i> letters is regarded as an <i>n</i>-digit number
+ * in base 26 ({@code 'A'} or {@code 'a'} = 0, ..., {@code 'Z'} or
+ * {@code 'z'} = 25). For example, an index computed from a 2-letter
+ * code is in the range from 0 to 675 and can be used to access an
+ * array of {@link #ALPHA2_SIZE} elements without hashing the code.
+ * A miss is a {@code null} table entry, so lookups never fall back to
+ * {@code Enum.valueOf()}, which throws an exception on a miss.
+ * </p>
+ *
+ * @since 1.30
+ */
+final class CodeIndex
+{
+    /**
+     * The number of distinct 2-letter codes (26 * 26).
+     */
+    static final int ALPHA2_SIZE = 26 * 26;
+
+
+    /**
+     * The number of distinct 3-letter codes (26 * 26 * 26).
+     */
+    static final int ALPHA3_SIZE = 26 * 26 * 26;
+
+
+    /**
+     * The size of tables indexed by numeric codes. Numeric codes of
+     * ISO 3166-1, ISO 4217 and ISO 15924 are three-digit numbers.
+     */
+    static final int NUMERIC_SIZE = 1000;
+
+
+    private CodeIndex()
+    {
+    }
+
+
+    /**
+     * Compute the index of the given code.
+     *
+     * <p>
+     * This method is an alias of {@link #index(CharSequence, int, int, boolean, boolean)
+     * index}{@code (code, 0, code.length(), upper, true)}.
+     * </p>
+     *
+     * @param code
+     *         A code. Must not be {@code null}.
+     *
+     * @param upper
+     *         {@code true} if the code should consist of upper-case
+     *         letters. {@code false} if the code should consist of
+     *         lower-case letters.
+     *
+     * @return
+     *         The index of the code, or -1 if the code contains a
+     *         character other than letters of the expected case.
+     */
+    static int index(CharSequence code, boolean upper)
+    {
+        return index(code, 0, code.length(), upper, true);
+    }
+
+
+    /**
+     * Compute the index of the code in the given range.
+     *
+     * <p>
+     * When {@code caseSensitive} is {@code false}, letters are folded
+     * on the fly, so no new string is created.
+     * </p>
+     *
+     * @param code
+     *         A character sequence containing a code. Must not be {@code null}.
+     *
+     * @param start
+     *         The start index of the code (inclusive).
+     *
+     * @param end
+     *         The end index of the code (exclusive).
+     *
+     * @param upper
+     *         {@code true} if the code should consist of upper-case
+     *         letters. {@code false} if the code should consist of
+     *         lower-case letters.
+     *
+     * @param caseSensitive
+     *         {@code false} to accept letters of either case.
+     *
+     * @return
+     *         The index of the code, or -1 if the code contains a
+     *         character other than letters of the expected case.
+     */
+    static int index(CharSequence code, int start, int end, boolean upper, boolean caseSensitive)
+    {
+        int index = 0;
+
+        for (int i = start; i < end; ++i)
+        {
+            int digit = digit(code.charAt(i), upper, caseSensitive);
+
+            if (digit < 0)
+            {
+                return -1;
+            }
+
+            index = index * 26 + digit;
+        }
+
+        return index;
+    }
+
+
+    /**
+     * Compute the index of the code in the given range of the array.
+     * The same as {@link #index(CharSequence, int, int, boolean, boolean)}
+     * except that the array is read directly.
+     *
+     * @param code
+     *         A character array containing a code. Must not be {@code null}.
+     *
+     * @param start
+     *         The start index of the code (inclusive).
+     *
+     * @param end
+     *         The end index of the code (exclusive).
+     *
+     * @param upper
+     *         {@code true} if the code should consist of upper-case
+     *         letters. {@code false} if the code should consist of
+     *         lower-case letters.
+     *
+     * @param caseSensitive
+     *         {@code false} to accept letters of either case.
+     *
+     * @return
+     *         The index of the code, or -1 if the code contains a
+     *         character other than letters of the expected case.
+     */
+    static int index(char[] code, int start, int end, boolean upper, boolean caseSensitive)
+    {
+        int index = 0;
+
+        for (int i = start; i < end; ++i)
+        {
+            int digit = digit(code[i], upper, caseSensitive);
+
+            if (digit < 0)
+            {
+                return -1;
+            }
+
+            index = index * 26 + digit;
+        }
+
+        return index;
+    }
+
+
+    /**
+     * Compute the index of the code stored as ASCII bytes in the array.
+     *
+     * @param code
+     *         A byte array containing a code. Must not be {@code null}.
+     *
+     * @param offset
+     *         The position of the first letter of the code.
+     *
+     * @param length
+     *         The number of letters of the code.
+     *
+     * @param upper
+     *         {@code true} if the code should consist of upper-case
+     *         letters. {@code false} if the code should consist of
+     *         lower-case letters.
+     *
+     * @return
+     *         The index of the code, or -1 if the code contains a
+     *         byte other than letters of the expected case.
+     *
+     * @throws IndexOutOfBoundsException
+     *         The code does not fit in the array.
+     */
+    static int index(byte[] code, int offset, int length, boolean upper)
+    {
+        int end = offset + length;
+
+        checkRange(code.length, offset, end);
+
+        int index = 0;
+
+        for (int i = offset; i < end; ++i)
+        {
+            int digit = digit(code[i], upper);
+
+            if (digit < 0)
+            {
+                return -1;
+            }
+
+            index = index * 26 + digit;
+        }
+
+        return index;
+    }
+
+
+    /**
+     * Compute the index of the code stored as ASCII bytes in the buffer.
+     * The position and the limit of the buffer are not changed.
+     *
+     * @param code
+     *         A buffer containing a code. Must not be {@code null}.
+     *
+     * @param offset
+     *         The absolute position of the first letter of the code.
+     *
+     * @param length
+     *         The number of letters of the code.
+     *
+     * @param upper
+     *         {@code true} if the code should consist of upper-case
+     *         letters. {@code false} if the code should consist of
+     *         lower-case letters.
+     *
+     * @return
+     *         The index of the code, or -1 if the code contains a
+     *         byte other than letters of the expected case.
+     *
+     * @throws IndexOutOfBoundsException
+     *         The code does not fit within the limit of the buffer.
+     */
+    static int index(ByteBuffer code, int offset, int length, boolean upper)
+    {
+        int end = offset + length;
+
+        checkRange(code.limit(), offset, end);
+
+        int index = 0;
+
+        for (int i = offset; i < end; ++i)
+        {
+            int digit = digit(code.get(i), upper);
+
+            if (digit < 0)
+            {
+                return -1;
+            }
+
+            index = index * 26 + digit;
+        }
+
+        return index;
+    }
+
+
+    /**
+     * Check if the code in the given range is equal to the given name.
+     *
+     * @param code
+     *         A character sequence containing a code. Must not be {@code null}.
+     *
+     * @param start
+     *         The start index of the code (inclusive).
+     *
+     * @param end
+     *         The end index of the code (exclusive).
+     *
+     * @param name
+     *         A name such as {@code "UNDEFINED"}.
+     *
+     * @param caseSensitive
+     *         {@code false} to ignore the case of ASCII letters.
+     *
+     * @return
+     *         {@code true} if the code is equal to the name.
+     */
+    static boolean matches(CharSequence code, int start, int end, String name, boolean caseSensitive)
+    {
+        int length = name.length();
+
+        if ((end - start) != length)
+        {
+            return false;
+        }
+
+        for (int i = 0; i < length; ++i)
+        {
+            char ch       = code.charAt(start + i);
+            char expected = name.charAt(i);
+
+            if (ch == expected)
+            {
+                continue;
+            }
+
+            if (caseSensitive || toUpperCase(ch) != toUpperCase(expected))
+            {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+
+    /**
+     * Check if the code in the given range of the array is equal to the
+     * given name. The same as {@link #matches(CharSequence, int, int,
+     * String, boolean)} except that the array is read directly.
+     */
+    static boolean matches(char[] code, int start, int end, String name, boolean caseSensitive)
+    {
+        int length = name.length();
+
+        if ((end - start) != length)
+        {
+            return false;
+        }
+
+        for (int i = 0; i < length; ++i)
+        {
+            char ch       = code[start + i];
+            char expected = name.charAt(i);
+
+            if (ch == expected)
+            {
+                continue;
+            }
+
+            if (caseSensitive || toUpperCase(ch) != toUpperCase(expected))
+            {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+
+    /**
+     * Check if the given range is valid for a character sequence
+     * of the given length.
+     *
+     * @throws IndexOutOfBoundsException
+     *         {@code start} is negative, {@code end} is greater than
+     *         {@code length}, or {@code start} is greater than {@code end}.
+     */
+    static void checkRange(int length, int start, int end)
+    {
+        if (start < 0 || length < end || end < start)
+        {
+            throw new IndexOutOfBoundsException(
+                "start = " + start + ", end = " + end + ", length = " + length);
+        }
+    }
+
+
+    /**
+     * Check the arrays given to a batch lookup method.
+     *
+     * @throws IllegalArgumentException
+     *         {@code codes} or {@code results} is {@code null}, or
+     *         {@code results} is shorter than {@code codes}.
+     */
+    static void checkBatch(int[] codes, Object[] results)
+    {
+        if (codes == null)
+        {
+            throw new IllegalArgumentException("codes is null.");
+        }
+
+        checkResults(codes.length, results);
+    }
+
+
+    /**
+     * Check the arrays given to a batch lookup method.
+     *
+     * @throws IllegalArgumentException
+     *         {@code codes} or {@code results} is {@code null}, or
+     *         {@code results} is shorter than {@code codes}.
+     */
+    static void checkBatch(Object[] codes, Object[] results)
+    {
+        if (codes == null)
+        {
+            throw new IllegalArgumentException("codes is null.");
+        }
+
+        checkResults(codes.length, results);
+    }
+
+
+    private static void checkResults(int length, Object[] results)
+    {
+        if (results == null)
+        {
+            throw new IllegalArgumentException("results is null.");
+        }
+
+        if (results.length < length)
+        {
+            throw new IllegalArgumentException(
+                "results is shorter than codes: " + results.length + " < " + length);
+        }
+    }
+
+
+    /**
+     * Lookup of a code in a range of characters, supplied by an enum to the
+     * batch lookup methods of this class.
+     */
+    interface Lookup<E>
+    {
+        /**
+         * Resolve the code from {@code start} (inclusive) to {@code end}
+         * (exclusive). The range is known to be valid.
+         *
+         * @return
+         *         The constant for the code, or {@code null} if not found.
+         */
+        E lookup(CharSequence code, int start, int end, boolean caseSensitive);
+    }
+
+
+    /**
+     * The loop of {@code getByCodes(String[], boolean, E[])} of the enums.
+     *
+     * @return
+     *         The number of codes that were found.
+     *
+     * @throws IllegalArgumentException
+     *         {@code codes} or {@code results} is {@code null}, or
+     *         {@code results} is shorter than {@code codes}.
+     */
+    static <E> int getByCodes(
+            String[] codes, boolean caseSensitive, E[] results, Lookup<E> lookup)
+    {
+        checkBatch(codes, results);
+
+        int found = 0;
+
+        for (int i = 0; i < codes.length; ++i)
+        {
+            String code = codes[i];
+            E result = (code == null) ? null : lookup.lookup(code, 0, code.length(), caseSensitive);
+
+            results[i] = result;
+
+            if (result != null)
+            {
+                ++found;
+            }
+        }
+
+        return found;
+    }
+
+
+    /**
+     * The loop of {@code getByCodes(int[], E[])} of the enums.
+     *
+     * @param table
+     *         A table of {@link #NUMERIC_SIZE} elements indexed by numeric code.
+     *
+     * @return
+     *         The number of codes that were found.
+     *
+     * @throws IllegalArgumentException
+     *         {@code codes} or {@code results} is {@code null}, or
+     *         {@code results} is shorter than {@code codes}.
+     */
+    static <E> int getByCodes(int[] codes, E[] table, E[] results)
+    {
+        checkBatch(codes, results);
+
+        int found = 0;
+
+        for (int i = 0; i < codes.length; ++i)
+        {
+            int code = codes[i];
+            E result = (code <= 0 || table.length <= code) ? null : table[code];
+
+            results[i] = result;
+
+            if (result != null)
+            {
+                ++found;
+            }
+        }
+
+        return found;
+    }
+
+
+    /**
+     * The loop of {@code toOrdinals(String[])} of the enums. Codes are
+     * resolved case-sensitively.
+     *
+     * @return
+     *         A new array of the ordinals, where -1 means not found.
+     *
+     * @throws IllegalArgumentException
+     *         {@code codes} is {@code null}.
+     */
+    static <E extends Enum<E>> int[] toOrdinals(String[] codes, Lookup<E> lookup)
+    {
+        if (codes == null)
+        {
+            throw new IllegalArgumentException("codes is null.");
+        }
+
+        int[] ordinals = new int[codes.length];
+
+        for (int i = 0; i < codes.length; ++i)
+        {
+            String code = codes[i];
+            E result = (code == null) ? null : lookup.lookup(code, 0, code.length(), true);
+
+            ordinals[i] = (result == null) ? -1 : result.ordinal();
+        }
+
+        return ordinals;
+    }
+
+
+    /**
+     * Get the element at the given index.
+     *
+     * @return
+     *         {@code table[index]}, or {@code null} if {@code index} is negative.
+     */
+    static <T> T get(T[] table, int index)
+    {
+        return (index < 0) ? null : table[index];
+    }
+
+
+    /**
+     * Find the element whose key is equal to the given one.
+     *
+     * @param keys
+     *         Keys sorted in ascending order.
+     *
+     * @param values
+     *         Values in the same order as the keys.
+     *
+     * @param key
+     *         A key to search for. A negative value never matches.
+     *
+     * @return
+     *         The value associated with the key, or {@code null} if not found.
+     */
+    static <T> T find(int[] keys, T[] values, int key)
+    {
+        if (key < 0)
+        {
+            return null;
+        }
+
+        int position = Arrays.binarySearch(keys, key);
+
+        return (position < 0) ? null : values[position];
+    }
+
+
+    /**
+     * Sort the given keys in ascending order, moving the values
+     * in parallel.
+     *
+     * <p>
+     * This is used to build the arrays given to {@link #find(int[], Object[], int)}.
+     * </p>
+     */
+    static void sort(int[] keys, Object[] values)
+    {
+        // Insertion sort. The arrays are small and sorted only once.
+        for (int i = 1; i < keys.length; ++i)
+        {
+            int key = keys[i];
+            Object value = values[i];
+            int j = i - 1;
+
+            for (; 0 <= j && key < keys[j]; --j)
+            {
+                keys[j + 1] = keys[j];
+                values[j + 1] = values[j];
+            }
+
+            keys[j + 1] = key;
+            values[j + 1] = value;
+        }
+    }
+
+
+    /**
+     * Pack the letters of the given code into 5 bits each, the first letter
+     * in the highest bits.
+     *
+     * <p>
+     * {@code 'A'} and {@code 'a'} are 1 and {@code 'Z'} and {@code 'z'} are
+     * 26, so a packed value never contains a 5-bit group of 0 and 0 can be
+     * used for {@code UNDEFINED}. Because the value is computed from the
+     * letters only, it does not depend on the order of enum constants.
+     * </p>
+     *
+     * @param code
+     *         A code of up to 3 letters. Must not be {@code null}.
+     *
+     * @return
+     *         The packed value.
+     */
+    static short pack(String code)
+    {
+        int packed = 0;
+
+        for (int i = 0; i < code.length(); ++i)
+        {
+            packed = (packed << 5) | ((code.charAt(i) | 0x20) - ('a' - 1));
+        }
+
+        return (short)packed;
+    }
+
+
+    private static int digit(char ch, boolean upper, boolean caseSensitive)
+    {
+        if ('A' <= ch && ch <= 'Z')
+        {
+            return (upper || caseSensitive == false) ? ch - 'A' : -1;
+        }
+
+        if ('a' <= ch && ch <= 'z')
+        {
+            return (upper == false || caseSensitive == false) ? ch - 'a' : -1;
+        }
+
+        return -1;
+    }
+
+
+    private static int digit(byte b, boolean upper)
+    {
+        // Bytes out of the ASCII range are mapped to non-letters.
+        return digit((char)(b & 0xFF), upper, true);
+    }
+
+
+    private static char toUpperCase(char ch)
+    {
+        return ('a' <= ch && ch <= 'z') ? (char)(ch - ('a' - 'A')) : ch;
+    }
+}
@@ -0,0 +1,460 @@
+/*
+ * Copyright (C) 2021 Neo Visionaries Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.neovisionaries.i18n;
+
+
+/**
+ * Resolver that interprets a token as every kind of code at once.
+ *
+ * <p>
+ * A token such as {@code "JP"} may be an ISO 3166-1 alpha-2 country
+ * code, and a token such as {@code "jpn"} may be both an ISO 639-2
+ * language code and, through it, an ISO 639-1 language code. Instead of
+ * calling {@code getByCode} of each enum in turn, {@link #resolveAll(CharSequence)}
+ * reads the token only once and looks up all the code tables with the
+ * result.
+ * </p>
+ *
+ * <pre style="background-color: #EEEEEE; margin-left: 2em; margin-right: 2em; border: 1px solid black; padding: 0.5em;">
+ * CodeResolver.Result result = CodeResolver.{@link #resolveAll(CharSequence) resolveAll}(<span style="color: darkred;">"JPY"</span>);
+ *
+ * <span style="color: darkgreen;">// CurrencyCode.JPY</span>
+ * CurrencyCode currency = result.{@link Result#getCurrency() getCurrency()};
+ *
+ * <span style="color: darkgreen;">// null</span>
+ * CountryCode country = result.{@link Result#getCountry() getCountry()};</pre>
+ *
+ * <p>
+ * For a token that consists of letters, each property of {@link Result} is
+ * the same as the value that the {@code getByCode(CharSequence, int, int, boolean)}
+ * method of the corresponding enum returns for the token. A token of three
+ * digits is regarded as a numeric code, and {@link CountryCode#getByCode(int)},
+ * {@link CurrencyCode#getByCode(int)} and {@link ScriptCode#getByCode(int)}
+ * are used for it instead.
+ * </p>
+ *
+ * <p>
+ * {@link #resolveAll(CharSequence, int, int, boolean, Result)} fills
+ * a given {@code Result} instance and does not create any object, so it
+ * can be called for every token of a large input.
+ * </p>
+ *
+ * @since 1.30
+ */
+public final class CodeResolver
+{
+    /**
+     * Interpretations of a token.
+     *
+     * <p>
+     * A property is {@code null} if the token is not a code of the type.
+     * An instance can be reused by passing it to {@link CodeResolver#resolveAll(
+     * CharSequence, int, int, boolean, Result)} repeatedly. An instance is not
+     * thread-safe.
+     * </p>
+     */
+    public static final class Result
+    {
+        private CountryCode country;
+        private LanguageCode language;
+        private LanguageAlpha3Code languageAlpha3;
+        private CurrencyCode currency;
+        private ScriptCode script;
+        private LocaleCode locale;
+
+
+        /**
+         * The default constructor. All the properties are {@code null}.
+         */
+        public Result()
+        {
+        }
+
+
+        /**
+         * Get the country code.
+         *
+         * @return
+         *         The {@code CountryCode}, or {@code null} if the token is
+         *         not a country code.
+         */
+        public CountryCode getCountry()
+        {
+            return country;
+        }
+
+
+        /**
+         * Get the ISO 639-1 language code.
+         *
+         * @return
+         *         The {@code LanguageCode}, or {@code null} if the token is
+         *         not a language code.
+         */
+        public LanguageCode getLanguage()
+        {
+            return language;
+        }
+
+
+        /**
+         * Get the ISO 639-2 language code.
+         *
+         * @return
+         *         The {@code LanguageAlpha3Code}, or {@code null} if the
+         *         token is not a language code.
+         */
+        public LanguageAlpha3Code getLanguageAlpha3()
+        {
+            return languageAlpha3;
+        }
+
+
+        /**
+         * Get the currency code.
+         *
+         * @return
+         *         The {@code CurrencyCode}, or {@code null} if the token is
+         *         not a currency code.
+         */
+        public CurrencyCode getCurrency()
+        {
+            return currency;
+        }
+
+
+        /**
+         * Get the script code.
+         *
+         * @return
+         *         The {@code ScriptCode}, or {@code null} if the token is
+         *         not a script code.
+         */
+        public ScriptCode getScript()
+        {
+            return script;
+        }
+
+
+        /**
+         * Get the locale code.
+         *
+         * @return
+         *         The {@code LocaleCode}, or {@code null} if the token is
+         *         not a locale code.
+         */
+        public LocaleCode getLocale()
+        {
+            return locale;
+        }
+
+
+        /**
+         * Get the number of interpretations.
+         *
+         * @return
+         *         The number of properties that are not {@code null}.
+         */
+        public int getCount()
+        {
+            return count(country) + count(language) + count(languageAlpha3) +
+                   count(currency) + count(script) + count(locale);
+        }
+
+
+        private static int count(Object property)
+        {
+            return (property == null) ? 0 : 1;
+        }
+
+
+        /**
+         * Check if the token has no interpretation.
+         *
+         * @return
+         *         {@code true} if all the properties are {@code null}.
+         */
+        public boolean isEmpty()
+        {
+            return getCount() == 0;
+        }
+
+
+        private void clear()
+        {
+            country        = null;
+            language       = null;
+            languageAlpha3 = null;
+            currency       = null;
+            script         = null;
+            locale         = null;
+        }
+    }
+
+
+    private CodeResolver()
+    {
+    }
+
+
+    /**
+     * Interpret the given token as every kind of code (case sensitive).
+     *
+     * <p>
+     * This method is an alias of {@link #resolveAll(CharSequence, int, int,
+     * boolean, Result) resolveAll}{@code (token, 0, token.length(), true,
+     * new Result())}.
+     * </p>
+     *
+     * @param token
+     *         A token. If {@code null} is given, an empty result is returned.
+     *
+     * @return
+     *         A new {@code Result} instance.
+     */
+    public static Result resolveAll(CharSequence token)
+    {
+        return resolveAll(token, new Result());
+    }
+
+
+    /**
+     * Interpret the given token as every kind of code (case sensitive),
+     * and store the interpretations into the given {@code Result}.
+     *
+     * @param token
+     *         A token. If {@code null} is given, the result becomes empty.
+     *
+     * @param result
+     *         A {@code Result} instance to fill. Its old properties are cleared.
+     *
+     * @return
+     *         {@code result}.
+     *
+     * @throws IllegalArgumentException
+     *         {@code result} is {@code null}.
+     */
+    public static Result resolveAll(CharSequence token, Result result)
+    {
+        if (token == null)
+        {
+            return resolveAll(null, 0, 0, true, result);
+        }
+
+        return resolveAll(token, 0, token.length(), true, result);
+    }
+
+
+    /**
+     * Interpret the token in the given range as every kind of code, and
+     * store the interpretations into the given {@code Result}.
+     *
+     * <p>
+     * The letters of the token are read only once, no matter how many code
+     * tables are looked up. No object is created.
+     * </p>
+     *
+     * @param token
+     *         A character sequence holding a token. If {@code null} is
+     *         given, the result becomes empty.
+     *
+     * @param start
+     *         The start index of the token (inclusive).
+     *
+     * @param end
+     *         The end index of the token (exclusive).
+     *
+     * @param caseSensitive
+     *         If {@code true}, each kind of code must be written in its
+     *         canonical case: upper-case for country and currency codes,
+     *         lower-case for language codes, and capitalized for script
+     *         codes. If {@code false}, the case of letters does not matter.
+     *
+     * @param result
+     *         A {@code Result} instance to fill. Its old properties are cleared.
+     *
+     * @return
+     *         {@code result}.
+     *
+     * @throws IllegalArgumentException
+     *         {@code result} is {@code null}.
+     *
+     * @throws IndexOutOfBoundsException
+     *         {@code start} is negative, {@code end} is greater than the
+     *         length of {@code token}, or {@code start} is greater than {@code end}.
+     */
+    public static Result resolveAll(
+            CharSequence token, int start, int end, boolean caseSensitive, Result result)
+    {
+        if (result == null)
+        {
+            throw new IllegalArgumentException("result is null.");
+        }
+
+        result.clear();
+
+        if (token == null)
+        {
+            return result;
+        }
+
+        CodeIndex.checkRange(token.length(), start, end);
+
+        int length = end - start;
+
+        switch (length)
+        {
+            case 2:
+            case 3:
+            case 4:
+                resolveShortCode(token, start, end, caseSensitive, result);
+                break;
+
+            case 5:
+                result.locale = LocaleCode.getByCode(token, start, end, caseSensitive);
+                break;
+
+            case 9:
+                resolveUndefined(token, start, end, caseSensitive, result);
+                break;
+
+            case 19:
+                result.locale = LocaleCode.getByCode(token, start, end, caseSensitive);
+                break;
+
+            default:
+                break;
+        }
+
+        return result;
+    }
+
+
+    private static void resolveShortCode(
+            CharSequence token, int start, int end, boolean caseSensitive, Result result)
+    {
+        // Read the token only once. 'index' is the base-26 index of the
+        // letters regardless of their case, and 'number' is the value of
+        // the digits.
+        int length = end - start;
+        int index  = 0;
+        int number = 0;
+        int digits = 0;
+        int upper  = 0;
+        boolean firstUpper = false;
+
+        for (int i = start; i < end; ++i)
+        {
+            char ch = token.charAt(i);
+
+            if ('A' <= ch && ch <= 'Z')
+            {
+                index = index * 26 + (ch - 'A');
+                ++upper;
+
+                if (i == start)
+                {
+                    firstUpper = true;
+                }
+            }
+            else if ('a' <= ch && ch <= 'z')
+            {
+                index = index * 26 + (ch - 'a');
+            }
+            else if ('0' <= ch && ch <= '9')
+            {
+                number = number * 10 + (ch - '0');
+                ++digits;
+            }
+            else
+            {
+                // Neither a letter nor a digit.
+                return;
+            }
+        }
+
+        if (digits == length)
+        {
+            resolveNumericCode(length, number, result);
+            return;
+        }
+
+        if (digits != 0)
+        {
+            // A mixture of letters and digits.
+            return;
+        }
+
+        boolean allUpper    = (caseSensitive == false) || upper == length;
+        boolean allLower    = (caseSensitive == false) || upper == 0;
+        boolean capitalized = (caseSensitive == false) || (firstUpper && upper == 1);
+
+        if (allUpper)
+        {
+            result.country  = CountryCode.getByIndex(length, index);
+            result.currency = CurrencyCode.getByIndex(length, index);
+        }
+
+        if (allLower)
+        {
+            result.language       = LanguageCode.getByIndex(length, index);
+            result.languageAlpha3 = LanguageAlpha3Code.getByIndex(length, index);
+        }
+        else if (length == 3 && capitalized && CodeIndex.matches(token, start, end, "New", true))
+        {
+            // A special case for Newari. See LanguageAlpha3Code.getByCode().
+            result.language       = LanguageAlpha3Code.New.getAlpha2();
+            result.languageAlpha3 = LanguageAlpha3Code.New;
+        }
+
+        if (capitalized)
+        {
+            result.script = ScriptCode.getByIndex(length, index);
+        }
+
+        if (length == 2)
+        {
+            // A language code is a locale code, too.
+            result.locale = LocaleCode.getByCode(token, start, end, caseSensitive);
+        }
+    }
+
+
+    private static void resolveNumericCode(int length, int number, Result result)
+    {
+        // Numeric codes of ISO 3166-1, ISO 4217 and ISO 15924 have three digits.
+        if (length != 3)
+        {
+            return;
+        }
+
+        result.country  = CountryCode.getByCode(number);
+        result.currency = CurrencyCode.getByCode(number);
+        result.script   = ScriptCode.getByCode(number);
+    }
+
+
+    private static void resolveUndefined(
+            CharSequence token, int start, int end, boolean caseSensitive, Result result)
+    {
+        result.country        = CountryCode.getByCode(token, start, end, caseSensitive);
+        result.language       = LanguageCode.getByCode(token, start, end, caseSensitive);
+        result.languageAlpha3 = LanguageAlpha3Code.getByCode(token, start, end, caseSensitive);
+        result.currency       = CurrencyCode.getByCode(token, start, end, caseSensitive);
+        result.script         = ScriptCode.getByCode(token, start, end, caseSensitive);
+        result.locale         = LocaleCode.getByCode(token, start, end, caseSensitive);
+    }
+}
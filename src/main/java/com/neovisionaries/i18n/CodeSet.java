@@ -0,0 +1,538 @@
+/*
+ * Copyright (C) 2021 Neo Visionaries Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.neovisionaries.i18n;
+
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+
+/**
+ * Set of codes backed by a bitmap indexed by {@link Enum#ordinal() ordinal}.
+ *
+ * <p>
+ * An instance holds only a small {@code long[]}, for example 5 elements for
+ * {@link CountryCode}, so it needs much less memory than {@code HashSet}.
+ * {@link #contains(Object)}, {@link #add(Enum) add} and {@link #remove(Object)}
+ * test or flip a single bit, and {@link #addAll(Collection) addAll},
+ * {@link #retainAll(Collection) retainAll}, {@link #removeAll(Collection)
+ * removeAll} and {@link #containsAll(Collection) containsAll} work on whole
+ * {@code long} words when the argument is a set of the same type.
+ * </p>
+ *
+ * <p>
+ * The content can be converted into a compact byte array by {@link
+ * #toByteArray()}. The byte form is made of the values of {@code
+ * toPackedShort()} of the elements, for example {@link
+ * CountryCode#toPackedShort()}, which are derived from the letters of the
+ * codes. Unlike ordinals, they do not change when constants are added in a
+ * later version, so the byte form can be stored and read by another version
+ * of this library.
+ * </p>
+ *
+ * <p>
+ * The iterator returns elements in their natural order (the order in which
+ * the constants are declared). Instances are not thread-safe.
+ * </p>
+ *
+ * @param <E>
+ *         The enum type of the elements.
+ *
+ * @param <S>
+ *         The type of the set itself, which is returned by {@link
+ *         #union(CodeSet) union} and {@link #intersection(CodeSet)
+ *         intersection}.
+ *
+ * @since 1.30
+ *
+ * @see CountryCodeSet
+ * @see CurrencyCodeSet
+ */
+public abstract class CodeSet<E extends Enum<E>, S extends CodeSet<E, S>> extends AbstractSet<E>
+{
+    private final List<E> universe;
+    private final Class<E> type;
+    private final long[] bits;
+    private int modCount;
+
+
+    CodeSet(Class<E> type, List<E> universe)
+    {
+        this.type     = type;
+        this.universe = universe;
+        this.bits     = new long[(universe.size() + 63) >>> 6];
+    }
+
+
+    /**
+     * Create an empty set of the same type as this set.
+     */
+    abstract S newSet();
+
+
+    /**
+     * Get the value of {@code toPackedShort()} of the given element.
+     */
+    abstract short pack(E e);
+
+
+    /**
+     * Get the element whose {@code toPackedShort()} is the given value.
+     *
+     * @return
+     *         The element, or {@code null} if no element has the value.
+     */
+    abstract E unpack(short packed);
+
+
+    @Override
+    public int size()
+    {
+        int size = 0;
+
+        for (long word : bits)
+        {
+            size += Long.bitCount(word);
+        }
+
+        return size;
+    }
+
+
+    @Override
+    public boolean isEmpty()
+    {
+        for (long word : bits)
+        {
+            if (word != 0)
+            {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+
+    @Override
+    public boolean contains(Object o)
+    {
+        if (type.isInstance(o) == false)
+        {
+            return false;
+        }
+
+        int ordinal = ((Enum<?>)o).ordinal();
+
+        return (bits[ordinal >>> 6] & (1L << ordinal)) != 0;
+    }
+
+
+    /**
+     * Add the given element.
+     *
+     * @param e
+     *         An element to add.
+     *
+     * @return
+     *         {@code true} if this set did not contain the element.
+     *
+     * @throws NullPointerException
+     *         {@code e} is {@code null}.
+     */
+    @Override
+    public boolean add(E e)
+    {
+        int ordinal = e.ordinal();
+        long old    = bits[ordinal >>> 6];
+
+        bits[ordinal >>> 6] = old | (1L << ordinal);
+
+        return changed(old != bits[ordinal >>> 6]);
+    }
+
+
+    @Override
+    public boolean remove(Object o)
+    {
+        if (type.isInstance(o) == false)
+        {
+            return false;
+        }
+
+        int ordinal = ((Enum<?>)o).ordinal();
+        long old    = bits[ordinal >>> 6];
+
+        bits[ordinal >>> 6] = old & ~(1L << ordinal);
+
+        return changed(old != bits[ordinal >>> 6]);
+    }
+
+
+    @Override
+    public void clear()
+    {
+        Arrays.fill(bits, 0);
+        ++modCount;
+    }
+
+
+    @Override
+    public boolean containsAll(Collection<?> c)
+    {
+        long[] other = bitsOf(c);
+
+        if (other == null)
+        {
+            return super.containsAll(c);
+        }
+
+        for (int i = 0; i < bits.length; ++i)
+        {
+            if ((other[i] & ~bits[i]) != 0)
+            {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+
+    @Override
+    public boolean addAll(Collection<? extends E> c)
+    {
+        long[] other = bitsOf(c);
+
+        if (other == null)
+        {
+            return super.addAll(c);
+        }
+
+        boolean changed = false;
+
+        for (int i = 0; i < bits.length; ++i)
+        {
+            long old = bits[i];
+            bits[i]  = old | other[i];
+            changed |= (old != bits[i]);
+        }
+
+        return changed(changed);
+    }
+
+
+    @Override
+    public boolean retainAll(Collection<?> c)
+    {
+        long[] other = bitsOf(c);
+
+        if (other == null)
+        {
+            return super.retainAll(c);
+        }
+
+        boolean changed = false;
+
+        for (int i = 0; i < bits.length; ++i)
+        {
+            long old = bits[i];
+            bits[i]  = old & other[i];
+            changed |= (old != bits[i]);
+        }
+
+        return changed(changed);
+    }
+
+
+    @Override
+    public boolean removeAll(Collection<?> c)
+    {
+        long[] other = bitsOf(c);
+
+        if (other == null)
+        {
+            return super.removeAll(c);
+        }
+
+        boolean changed = false;
+
+        for (int i = 0; i < bits.length; ++i)
+        {
+            long old = bits[i];
+            bits[i]  = old & ~other[i];
+            changed |= (old != bits[i]);
+        }
+
+        return changed(changed);
+    }
+
+
+    @Override
+    public boolean equals(Object o)
+    {
+        if (o instanceof CodeSet && ((CodeSet<?, ?>)o).type == type)
+        {
+            return Arrays.equals(bits, ((CodeSet<?, ?>)o).bits);
+        }
+
+        return super.equals(o);
+    }
+
+
+    @Override
+    public Iterator<E> iterator()
+    {
+        return new BitIterator();
+    }
+
+
+    /**
+     * Create a new set that contains the elements of this set and
+     * the given set. This set is not changed.
+     *
+     * @param other
+     *         Another set.
+     *
+     * @return
+     *         A new set.
+     *
+     * @throws NullPointerException
+     *         {@code other} is {@code null}.
+     */
+    public S union(S other)
+    {
+        S set = newSet();
+
+        set.addAll(this);
+        set.addAll(other);
+
+        return set;
+    }
+
+
+    /**
+     * Create a new set that contains the elements contained in both
+     * this set and the given set. This set is not changed.
+     *
+     * @param other
+     *         Another set.
+     *
+     * @return
+     *         A new set.
+     *
+     * @throws NullPointerException
+     *         {@code other} is {@code null}.
+     */
+    public S intersection(S other)
+    {
+        S set = newSet();
+
+        set.addAll(this);
+        set.retainAll(other);
+
+        return set;
+    }
+
+
+    /**
+     * Get the content of this set in a compact byte form.
+     *
+     * <p>
+     * The value of {@code toPackedShort()} of each element is written in
+     * 2 bytes in big-endian order, and the values are sorted in ascending
+     * order, so equal sets are converted into equal arrays. An empty set is
+     * converted into an empty array.
+     * </p>
+     *
+     * @return
+     *         A new byte array.
+     */
+    public byte[] toByteArray()
+    {
+        short[] packed = new short[size()];
+        int count      = 0;
+
+        for (E e : this)
+        {
+            packed[count++] = pack(e);
+        }
+
+        // Packed values are not negative.
+        Arrays.sort(packed);
+
+        byte[] bytes = new byte[packed.length * 2];
+
+        for (int i = 0; i < packed.length; ++i)
+        {
+            bytes[i * 2]     = (byte)(packed[i] >>> 8);
+            bytes[i * 2 + 1] = (byte)packed[i];
+        }
+
+        return bytes;
+    }
+
+
+    /**
+     * Replace the content of this set with the byte form.
+     */
+    void setBytes(byte[] bytes)
+    {
+        if (bytes == null)
+        {
+            throw new IllegalArgumentException("bytes is null.");
+        }
+
+        if ((bytes.length & 1) != 0)
+        {
+            throw new IllegalArgumentException("bytes has an odd length: " + bytes.length);
+        }
+
+        // Decode into a new bitmap so that this set is not changed
+        // when the byte form is invalid.
+        long[] newBits = new long[bits.length];
+
+        for (int i = 0; i < bytes.length; i += 2)
+        {
+            short packed = (short)(((bytes[i] & 0xFF) << 8) | (bytes[i + 1] & 0xFF));
+            E e = unpack(packed);
+
+            if (e == null)
+            {
+                throw new IllegalArgumentException("bytes contains an unknown code: " + packed);
+            }
+
+            int ordinal = e.ordinal();
+
+            newBits[ordinal >>> 6] |= (1L << ordinal);
+        }
+
+        System.arraycopy(newBits, 0, bits, 0, bits.length);
+        ++modCount;
+    }
+
+
+    /**
+     * Get the bitmap of the given collection if it is a set of the same type.
+     */
+    private long[] bitsOf(Collection<?> c)
+    {
+        if (c instanceof CodeSet && ((CodeSet<?, ?>)c).type == type)
+        {
+            return ((CodeSet<?, ?>)c).bits;
+        }
+
+        return null;
+    }
+
+
+    private boolean changed(boolean changed)
+    {
+        if (changed)
+        {
+            ++modCount;
+        }
+
+        return changed;
+    }
+
+
+    private final class BitIterator implements Iterator<E>
+    {
+        private int next = nextOrdinal(0);
+        private int last = -1;
+        private int expectedModCount = modCount;
+
+
+        public boolean hasNext()
+        {
+            return next >= 0;
+        }
+
+
+        public E next()
+        {
+            if (next < 0)
+            {
+                throw new NoSuchElementException();
+            }
+
+            checkModCount();
+
+            last = next;
+            next = nextOrdinal(next + 1);
+
+            return universe.get(last);
+        }
+
+
+        public void remove()
+        {
+            if (last < 0)
+            {
+                throw new IllegalStateException();
+            }
+
+            checkModCount();
+
+            bits[last >>> 6] &= ~(1L << last);
+            last = -1;
+            expectedModCount = ++modCount;
+        }
+
+
+        private void checkModCount()
+        {
+            if (expectedModCount != modCount)
+            {
+                throw new ConcurrentModificationException();
+            }
+        }
+
+
+        private int nextOrdinal(int from)
+        {
+            int index = from >>> 6;
+
+            if (bits.length <= index)
+            {
+                return -1;
+            }
+
+            long word = bits[index] & (-1L << from);
+
+            while (true)
+            {
+                if (word != 0)
+                {
+                    return (index << 6) + Long.numberOfTrailingZeros(word);
+                }
+
+                if (++index == bits.length)
+                {
+                    return -1;
+                }
+
+                word = bits[index];
+            }
+        }
+    }
+}
@@ -0,0 +1,539 @@
+/*
+ * Copyright (C) 2021 Neo Visionaries Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.neovisionaries.i18n;
+
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+
+/**
+ * Validator of code columns of a CSV or TSV file.
+ *
+ * <p>
+ * A file is read chunk by chunk into a direct buffer and scanned as bytes.
+ * The cells of the chosen columns are checked with the {@code ByteBuffer}
+ * lookups such as {@link CountryCode#getByAlpha2Code(ByteBuffer, int)}. No
+ * string is created for a cell. One buffer is allocated per call of {@link
+ * #validate(File, Listener)} and reused for the whole file, so the memory
+ * usage does not depend on the size of the file. The buffer is enlarged only
+ * when a line does not fit in it. Unlike a memory-mapped region, whose memory
+ * is released only when it is garbage-collected, nothing is left behind per
+ * chunk.
+ * </p>
+ *
+ * <pre style="background-color: #EEEEEE; margin-left: 2em; margin-right: 2em; border: 1px solid black; padding: 0.5em;">
+ * ColumnValidator validator = new ColumnValidator(<span style="color: darkred;">','</span>)
+ *     .{@link #setColumn(int, Type) setColumn}(2, ColumnValidator.Type.COUNTRY)
+ *     .{@link #setColumn(int, Type) setColumn}(5, ColumnValidator.Type.CURRENCY)
+ *     .{@link #setHeader(boolean) setHeader}(true);
+ *
+ * long invalid = validator.{@link #validate(File, Listener) validate}(file, new ColumnValidator.Listener() {
+ *     public void onInvalidCode(ColumnValidator.Type type, int column, long line, long offset, ByteBuffer cell)
+ *     {
+ *         System.out.println(<span style="color: darkred;">"line "</span> + line + <span style="color: darkred;">", column "</span> + column + <span style="color: darkred;">": invalid "</span> + type);
+ *     }
+ * });</pre>
+ *
+ * <p>
+ * Lines are separated by LF. A CR before LF is ignored. A double quote
+ * starts or ends a quoted section in which the delimiter is not regarded
+ * as a separator, and a cell enclosed by double quotes is checked without
+ * the quotes. A quoted section cannot contain line breaks. Blank lines are
+ * ignored, and a missing cell in a validated column is reported as an empty
+ * code. Codes are case sensitive, so, for example, {@code "jp"} is an
+ * invalid country code.
+ * </p>
+ *
+ * <p>
+ * An instance is not thread-safe while it is being configured, but it can
+ * validate multiple files concurrently once configured.
+ * </p>
+ *
+ * @since 1.30
+ */
+public final class ColumnValidator
+{
+    /**
+     * The default size of the buffer to read a file into (1 MB).
+     */
+    public static final int DEFAULT_BUFFER_SIZE = 1024 * 1024;
+
+
+    /**
+     * Type of codes in a column.
+     */
+    public enum Type
+    {
+        /**
+         * ISO 3166-1 alpha-2 or alpha-3 code, such as {@code "JP"} or
+         * {@code "JPN"}. See {@link CountryCode}.
+         */
+        COUNTRY
+        {
+            @Override
+            boolean isValid(ByteBuffer buffer, int offset, int length)
+            {
+                switch (length)
+                {
+                    case 2:
+                        return CountryCode.getByAlpha2Code(buffer, offset) != null;
+
+                    case 3:
+                        return CountryCode.getByAlpha3Code(buffer, offset) != null;
+
+                    default:
+                        return false;
+                }
+            }
+        },
+
+
+        /**
+         * ISO 4217 currency code, such as {@code "JPY"}.
+         * See {@link CurrencyCode}.
+         */
+        CURRENCY
+        {
+            @Override
+            boolean isValid(ByteBuffer buffer, int offset, int length)
+            {
+                return length == 3 && CurrencyCode.getByCode(buffer, offset) != null;
+            }
+        },
+
+
+        /**
+         * ISO 639-1 language code, such as {@code "ja"}.
+         * See {@link LanguageCode}.
+         */
+        LANGUAGE
+        {
+            @Override
+            boolean isValid(ByteBuffer buffer, int offset, int length)
+            {
+                return length == 2 && LanguageCode.getByCode(buffer, offset) != null;
+            }
+        },
+
+
+        /**
+         * ISO 639-2 language code, such as {@code "jpn"}.
+         * See {@link LanguageAlpha3Code}.
+         */
+        LANGUAGE_ALPHA3
+        {
+            @Override
+            boolean isValid(ByteBuffer buffer, int offset, int length)
+            {
+                return length == 3 && LanguageAlpha3Code.getByCode(buffer, offset) != null;
+            }
+        };
+
+
+        /**
+         * Check if the bytes in the range are a valid code of this type.
+         */
+        abstract boolean isValid(ByteBuffer buffer, int offset, int length);
+    }
+
+
+    /**
+     * Listener to receive invalid codes.
+     */
+    public interface Listener
+    {
+        /**
+         * Called when an invalid code is found.
+         *
+         * @param type
+         *         The type of the column.
+         *
+         * @param column
+         *         The index of the column (0-based).
+         *
+         * @param line
+         *         The line number (1-based).
+         *
+         * @param offset
+         *         The byte offset of the cell from the beginning of the input.
+         *
+         * @param cell
+         *         A buffer whose remaining bytes are the content of the
+         *         cell (without the enclosing quotes). It is valid only
+         *         during this call.
+         */
+        void onInvalidCode(Type type, int column, long line, long offset, ByteBuffer cell);
+    }
+
+
+    private final byte delimiter;
+    private Type[] types = new Type[0];
+    private boolean header;
+    private int bufferSize = DEFAULT_BUFFER_SIZE;
+
+
+    /**
+     * Constructor.
+     *
+     * @param delimiter
+     *         The delimiter of cells, for example {@code ','} for CSV
+     *         and {@code '\t'} for TSV. It must be an ASCII character
+     *         other than a line break and a double quote.
+     *
+     * @throws IllegalArgumentException
+     *         {@code delimiter} is not a valid delimiter.
+     */
+    public ColumnValidator(char delimiter)
+    {
+        if (0x80 <= delimiter || delimiter == '\n' || delimiter == '\r' || delimiter == '"')
+        {
+            throw new IllegalArgumentException("delimiter is not a valid delimiter.");
+        }
+
+        this.delimiter = (byte)delimiter;
+    }
+
+
+    /**
+     * Set the type of codes in the given column.
+     *
+     * @param column
+     *         The index of a column (0-based).
+     *
+     * @param type
+     *         The type of codes in the column. {@code null} stops
+     *         validating the column.
+     *
+     * @return
+     *         {@code this} object.
+     *
+     * @throws IllegalArgumentException
+     *         {@code column} is negative.
+     */
+    public ColumnValidator setColumn(int column, Type type)
+    {
+        if (column < 0)
+        {
+            throw new IllegalArgumentException("column is negative.");
+        }
+
+        if (types.length <= column)
+        {
+            Type[] newTypes = new Type[column + 1];
+            System.arraycopy(types, 0, newTypes, 0, types.length);
+            types = newTypes;
+        }
+
+        types[column] = type;
+
+        return this;
+    }
+
+
+    /**
+     * Set whether the first line is a header that should not be validated.
+     *
+     * @param header
+     *         {@code true} if the first line is a header. The default
+     *         value is {@code false}.
+     *
+     * @return
+     *         {@code this} object.
+     */
+    public ColumnValidator setHeader(boolean header)
+    {
+        this.header = header;
+
+        return this;
+    }
+
+
+    /**
+     * Set the initial size of the buffer to read a file into. The buffer is
+     * enlarged automatically if a line does not fit in it.
+     */
+    ColumnValidator setBufferSize(int bufferSize)
+    {
+        this.bufferSize = bufferSize;
+
+        return this;
+    }
+
+
+    /**
+     * Validate the given file.
+     *
+     * @param file
+     *         A CSV or TSV file.
+     *
+     * @param listener
+     *         A listener to receive invalid codes. {@code null} is allowed
+     *         when only the number of invalid codes is needed.
+     *
+     * @return
+     *         The number of invalid codes.
+     *
+     * @throws IllegalArgumentException
+     *         {@code file} is {@code null}.
+     *
+     * @throws IOException
+     *         Failed to read the file, or a line is too long to be buffered.
+     */
+    public long validate(File file, Listener listener) throws IOException
+    {
+        if (file == null)
+        {
+            throw new IllegalArgumentException("file is null.");
+        }
+
+        RandomAccessFile raf = new RandomAccessFile(file, "r");
+
+        try
+        {
+            return validate(raf.getChannel(), listener);
+        }
+        finally
+        {
+            raf.close();
+        }
+    }
+
+
+    private long validate(FileChannel channel, Listener listener) throws IOException
+    {
+        Scanner scanner   = new Scanner(listener);
+        ByteBuffer buffer = ByteBuffer.allocateDirect(bufferSize);
+
+        // The offset in the file of the first byte in the buffer.
+        long position = 0;
+
+        while (true)
+        {
+            // Fill the buffer after the unscanned bytes at its beginning.
+            boolean last = channel.read(buffer) < 0;
+
+            if (last == false && buffer.hasRemaining())
+            {
+                continue;
+            }
+
+            buffer.flip();
+
+            int consumed = scanner.scan(buffer, position, last);
+
+            if (last)
+            {
+                break;
+            }
+
+            if (consumed == 0)
+            {
+                // The line does not fit in the buffer.
+                if (Integer.MAX_VALUE / 2 < buffer.capacity())
+                {
+                    throw new IOException("A line is too long: offset = " + position);
+                }
+
+                ByteBuffer larger = ByteBuffer.allocateDirect(buffer.capacity() * 2);
+                larger.put(buffer);
+                buffer = larger;
+                continue;
+            }
+
+            // Move the incomplete line to the beginning of the buffer.
+            position += consumed;
+            buffer.position(consumed);
+            buffer.compact();
+        }
+
+        return scanner.invalidCount;
+    }
+
+
+    /**
+     * Validate the bytes from the position to the limit of the given buffer.
+     * The position and the limit of the buffer are not changed, and offsets
+     * reported to the listener are relative to the position.
+     *
+     * @param buffer
+     *         A buffer holding the content of a CSV or TSV file.
+     *
+     * @param listener
+     *         A listener to receive invalid codes. {@code null} is allowed
+     *         when only the number of invalid codes is needed.
+     *
+     * @return
+     *         The number of invalid codes.
+     *
+     * @throws IllegalArgumentException
+     *         {@code buffer} is {@code null}.
+     */
+    public long validate(ByteBuffer buffer, Listener listener)
+    {
+        if (buffer == null)
+        {
+            throw new IllegalArgumentException("buffer is null.");
+        }
+
+        Scanner scanner = new Scanner(listener);
+
+        scanner.scan(buffer.slice(), 0, true);
+
+        return scanner.invalidCount;
+    }
+
+
+    /**
+     * State of a validation. Holds nothing whose size depends on the input.
+     */
+    private final class Scanner
+    {
+        private final Type[] columnTypes = types;
+        private final Listener listener;
+        private long line = 1;
+        private long invalidCount;
+
+
+        Scanner(Listener listener)
+        {
+            this.listener = listener;
+        }
+
+
+        /**
+         * Scan the lines in the window. Unless the window is the last one,
+         * the incomplete line at the end of the window is left unscanned.
+         *
+         * @return
+         *         The number of bytes scanned.
+         */
+        int scan(ByteBuffer window, long base, boolean last)
+        {
+            int limit     = window.limit();
+            int lineStart = 0;
+
+            for (int i = 0; i < limit; ++i)
+            {
+                if (window.get(i) == '\n')
+                {
+                    scanLine(window, base, lineStart, i);
+                    lineStart = i + 1;
+                }
+            }
+
+            if (last && lineStart < limit)
+            {
+                scanLine(window, base, lineStart, limit);
+                lineStart = limit;
+            }
+
+            return last ? limit : lineStart;
+        }
+
+
+        private void scanLine(ByteBuffer window, long base, int start, int end)
+        {
+            long lineNumber = line++;
+
+            if (header && lineNumber == 1)
+            {
+                return;
+            }
+
+            if (start < end && window.get(end - 1) == '\r')
+            {
+                --end;
+            }
+
+            if (start == end)
+            {
+                // Blank lines are ignored.
+                return;
+            }
+
+            int column     = 0;
+            int cellStart  = start;
+            boolean quoted = false;
+
+            for (int i = start; i < end && column < columnTypes.length; ++i)
+            {
+                byte b = window.get(i);
+
+                if (b == '"')
+                {
+                    quoted = (quoted == false);
+                }
+                else if (b == delimiter && quoted == false)
+                {
+                    scanCell(window, base, lineNumber, column, cellStart, i);
+                    ++column;
+                    cellStart = i + 1;
+                }
+            }
+
+            if (column < columnTypes.length)
+            {
+                // The last cell of the line.
+                scanCell(window, base, lineNumber, column, cellStart, end);
+            }
+
+            // Missing cells are regarded as empty.
+            for (++column; column < columnTypes.length; ++column)
+            {
+                scanCell(window, base, lineNumber, column, end, end);
+            }
+        }
+
+
+        private void scanCell(ByteBuffer window, long base, long lineNumber, int column, int start, int end)
+        {
+            Type type = columnTypes[column];
+
+            if (type == null)
+            {
+                return;
+            }
+
+            // Remove the enclosing quotes.
+            if (2 <= end - start && window.get(start) == '"' && window.get(end - 1) == '"')
+            {
+                ++start;
+                --end;
+            }
+
+            if (type.isValid(window, start, end - start))
+            {
+                return;
+            }
+
+            ++invalidCount;
+
+            if (listener == null)
+            {
+                return;
+            }
+
+            ByteBuffer cell = window.duplicate();
+            cell.limit(end).position(start);
+
+            listener.onInvalidCode(type, column, lineNumber, base + start, cell);
+        }
+    }
+}
@@ -16,12 +16,14 @@
 package com.neovisionaries.i18n;
 
 
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Currency;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
-import java.util.Map;
 import java.util.regex.Pattern;
 
 
@@ -2251,55 +2253,123 @@ public enum CountryCode
     }
 
 
-    private static final Map<String, CountryCode> alpha3Map = new HashMap<String, CountryCode>();
-    private static final Map<String, CountryCode> alpha4Map = new HashMap<String, CountryCode>();
-    private static final Map<Integer, CountryCode> numericMap = new HashMap<Integer, CountryCode>();
+    /**
+     * All the constants in the order they are declared. Used instead of
+     * {@link #values()}, which creates a copy of the array on every call.
+     */
+    private static final CountryCode[] valueTable = values();
+
+
+    /**
+     * An unmodifiable view of {@link #valueTable}.
+     */
+    private static final List<CountryCode> unmodifiableValues =
+        Collections.unmodifiableList(Arrays.asList(valueTable));
+
+
+    /**
+     * Holder of the index of the names, used by {@link #findByNamePrefix(String)},
+     * {@link #findByNameToken(String)}, {@link #findByNameContains(String)} and
+     * {@link #findByNameFuzzy(String, int)}. The index is built when one of the
+     * methods is called for the first time, so loading this enum does not
+     * pay for it.
+     */
+    private static final class NameIndexHolder
+    {
+        static final NameIndex<CountryCode> nameIndex = createNameIndex();
+    }
+
+
+    private static final CountryCode[] alpha2Table = new CountryCode[CodeIndex.ALPHA2_SIZE];
+    private static final CountryCode[] alpha3Table = new CountryCode[CodeIndex.ALPHA3_SIZE];
+    private static final CountryCode[] alpha4Table = { AN, BU, CS, NT, TP, YU, ZR };
+    private static final int[] alpha4Indexes = new int[alpha4Table.length];
+    private static final CountryCode[] numericTable = new CountryCode[CodeIndex.NUMERIC_SIZE];
+    private static final Locale[] localeTable = new Locale[valueTable.length];
+
+
+    /**
+     * {@link #lookup(CharSequence, int, int, boolean)} for the batch lookups,
+     * whose loops are shared in {@link CodeIndex}.
+     */
+    private static final CodeIndex.Lookup<CountryCode> batchLookup =
+        new CodeIndex.Lookup<CountryCode>() {
+            public CountryCode lookup(CharSequence code, int start, int end, boolean caseSensitive)
+            {
+                return CountryCode.lookup(code, start, end, caseSensitive);
+            }
+        };
+
+
+    /**
+     * Values returned by {@link #toPackedShort()}, indexed by ordinal.
+     */
+    private static final short[] packedValues = new short[valueTable.length];
+
+
+    /**
+     * Table to decode the values returned by {@link #toPackedShort()}.
+     */
+    private static final CountryCode[] packedTable = new CountryCode[1 << 10];
 
 
     static
     {
-        for (CountryCode cc : values())
+        for (CountryCode cc : valueTable)
         {
+            if (cc.name().length() == 2)
+            {
+                alpha2Table[CodeIndex.index(cc.name(), true)] = cc;
+                packedValues[cc.ordinal()] = CodeIndex.pack(cc.name());
+            }
+
+            // UNDEFINED is registered as 0.
+            packedTable[packedValues[cc.ordinal()]] = cc;
+
             if (cc.getAlpha3() != null)
             {
-                alpha3Map.put(cc.getAlpha3(), cc);
+                alpha3Table[CodeIndex.index(cc.getAlpha3(), true)] = cc;
             }
 
             if (cc.getNumeric() != -1)
             {
-                numericMap.put(Integer.valueOf(cc.getNumeric()), cc);
+                numericTable[cc.getNumeric()] = cc;
             }
+
+            localeTable[cc.ordinal()] = new Locale("", cc.name());
         }
 
         // FI and SF have the same alpha-3 code "FIN". FI should be used.
-        alpha3Map.put("FIN", FI);
+        alpha3Table[CodeIndex.index("FIN", true)] = FI;
+
+        // For backward compatibility. The elements of alpha4Table
+        // correspond to these codes in the same order.
+        String[] alpha4Codes = { "ANHH", "BUMM", "CSXX", "NTHH", "TPTL", "YUCS", "ZRCD" };
 
-        // For backward compatibility.
-        alpha4Map.put("ANHH", AN);
-        alpha4Map.put("BUMM", BU);
-        alpha4Map.put("CSXX", CS);
-        alpha4Map.put("NTHH", NT);
-        alpha4Map.put("TPTL", TP);
-        alpha4Map.put("YUCS", YU);
-        alpha4Map.put("ZRCD", ZR);
+        for (int i = 0; i < alpha4Codes.length; ++i)
+        {
+            alpha4Indexes[i] = CodeIndex.index(alpha4Codes[i], true);
+        }
+
+        CodeIndex.sort(alpha4Indexes, alpha4Table);
 
         // BU and MM have the same numeric code 104. MM should be used.
-        numericMap.put(Integer.valueOf(104), MM);
+        numericTable[104] = MM;
 
         // CD and ZR have the same numeric code 180. CD should be used.
-        numericMap.put(Integer.valueOf(180), CD);
+        numericTable[180] = CD;
 
         // FI and SF have the same numeric code 246. FI should be used.
-        numericMap.put(Integer.valueOf(246), FI);
+        numericTable[246] = FI;
 
         // GB and UK have the same numeric code 826. GB should be used.
-        numericMap.put(Integer.valueOf(826), GB);
+        numericTable[826] = GB;
 
         // TL and TP have the same numeric code 626. TL should be used.
-        numericMap.put(Integer.valueOf(626), TL);
+        numericTable[626] = TL;
 
         // County code 280 is also used for DE by the German banking industry.
-        numericMap.put(Integer.valueOf(280), DE);
+        numericTable[280] = DE;
     }
 
 
@@ -2399,10 +2469,13 @@ public enum CountryCode
      * Convert this {@code CountryCode} instance to a {@link Locale} instance.
      *
      * <p>
-     * In most cases, this method creates a new {@code Locale} instance
-     * every time it is called, but some {@code CountryCode} instances return
-     * their corresponding entries in {@code Locale} class. For example,
-     * {@link #CA CountryCode.CA} always returns {@link Locale#CANADA}.
+     * This method does not create a new {@code Locale} instance every time
+     * it is called. Since the version 1.30, a {@code Locale} instance is
+     * created for each {@code CountryCode} when the class is initialized,
+     * and the same instance is returned on every call. In addition, some
+     * {@code CountryCode} instances return their corresponding entries in
+     * {@code Locale} class. For example, {@link #CA CountryCode.CA} always
+     * returns {@link Locale#CANADA}.
      * </p>
      *
      * <p>
@@ -2473,7 +2546,7 @@ public enum CountryCode
      */
     public Locale toLocale()
     {
-        return new Locale("", name());
+        return localeTable[ordinal()];
     }
 
 
@@ -2525,6 +2598,125 @@ public enum CountryCode
     }
 
 
+    /**
+     * Check if this country is a member of the given group.
+     *
+     * <p>
+     * This method is an alias of {@code group.}{@link CountryGroup#contains(CountryCode)
+     * contains}{@code (this)}, which is a single bit test.
+     * </p>
+     *
+     * <pre style="background-color: #EEEEEE; margin-left: 2em; margin-right: 2em; border: 1px solid black; padding: 0.5em;">
+     * <span style="color: darkgreen;">// true</span>
+     * CountryCode.DE.isIn(CountryGroup.{@link CountryGroup#EUROZONE EUROZONE});</pre>
+     *
+     * @param group
+     *         A group of countries.
+     *
+     * @return
+     *         {@code true} if this country is a member of the group.
+     *
+     * @throws NullPointerException
+     *         {@code group} is {@code null}.
+     *
+     * @since 1.30
+     */
+    public boolean isIn(CountryGroup group)
+    {
+        return group.contains(this);
+    }
+
+
+    /**
+     * Get the languages spoken in this country.
+     *
+     * <p>
+     * The languages are those of the {@link LocaleCode}s whose country is
+     * this country, in the order of {@link LanguageCode} constants. The
+     * relationships are computed once, so this method does not scan the
+     * {@code LocaleCode} constants or create a list.
+     * </p>
+     *
+     * <pre style="background-color: #EEEEEE; margin-left: 2em; margin-right: 2em; border: 1px solid black; padding: 0.5em;">
+     * <span style="color: darkgreen;">// [de, fr, it]</span>
+     * List&lt;LanguageCode&gt; languages = CountryCode.CH.getLanguages();</pre>
+     *
+     * @return
+     *         An unmodifiable list of languages. The same instance is
+     *         returned on every call. It is empty when no language is known.
+     *
+     * @since 1.30
+     *
+     * @see LanguageCode#getCountries()
+     */
+    public List<LanguageCode> getLanguages()
+    {
+        return CodeGraph.getLanguages(this);
+    }
+
+
+    /**
+     * Get the packed value of the alpha-2 code of this country.
+     *
+     * <p>
+     * Each letter of the alpha-2 code is stored in 5 bits ({@code 'A'} = 1,
+     * ..., {@code 'Z'} = 26). Bits 5-9 hold the first letter and bits 0-4
+     * hold the second letter. The value of {@link #UNDEFINED} is 0. Unlike
+     * {@link #ordinal()}, the value is computed from the code itself, so it
+     * does not change when new constants are added in a future version.
+     * It fits in 2 bytes of off-heap memory, a file or a database column,
+     * and can be decoded by {@link #fromPackedShort(short)}.
+     * </p>
+     *
+     * <pre style="background-color: #EEEEEE; margin-left: 2em; margin-right: 2em; border: 1px solid black; padding: 0.5em;">
+     * <span style="color: darkgreen;">// 336 ('J' = 10, 'P' = 16, 10 &lt;&lt; 5 | 16)</span>
+     * short packed = CountryCode.JP.toPackedShort();
+     *
+     * <span style="color: darkgreen;">// CountryCode.JP</span>
+     * CountryCode cc = CountryCode.{@link #fromPackedShort(short) fromPackedShort}(packed);</pre>
+     *
+     * @return
+     *         The packed value in the range from 0 to 858.
+     *
+     * @since 1.30
+     */
+    public short toPackedShort()
+    {
+        return packedValues[ordinal()];
+    }
+
+
+    /**
+     * Get a {@code CountryCode} that corresponds to the value returned by
+     * {@link #toPackedShort()}.
+     *
+     * <p>
+     * The value is decoded by a single lookup of a table of 1024 elements,
+     * without branching on the letters. {@code null} is returned when a bit
+     * other than the lower 10 bits is set, so a corrupt value is not taken
+     * for a country.
+     * </p>
+     *
+     * @param packed
+     *         A value returned by {@link #toPackedShort()}.
+     *
+     * @return
+     *         A {@code CountryCode} instance, or {@code null} if no country
+     *         has the packed value.
+     *
+     * @since 1.30
+     */
+    public static CountryCode fromPackedShort(short packed)
+    {
+        if ((packed & ~0x3FF) != 0)
+        {
+            return null;
+        }
+
+        return packedTable[packed];
+    }
+
+
     /**
      * Get a {@code CountryCode} that corresponds to the given ISO 3166-1
      * <a href="http://en.wikipedia.org/wiki/ISO_3166-1_alpha-2">alpha-2</a> or
@@ -2604,10 +2796,10 @@ public enum CountryCode
      *
      * @param caseSensitive
      *         If {@code true}, the given code should consist of upper-case letters only.
-     *         If {@code false}, this method internally canonicalizes the given code by
-     *         {@link String#toUpperCase()} and then performs search. For example,
-     *         {@code getByCode("jp", true)} returns {@code null}, but on the other hand,
-     *         {@code getByCode("jp", false)} returns {@link #JP CountryCode.JP}.
+     *         If {@code false}, this method ignores the case of letters in the given
+     *         code. For example, {@code getByCode("jp", true)} returns {@code null},
+     *         but on the other hand, {@code getByCode("jp", false)} returns {@link #JP
+     *         CountryCode.JP}. In either case, no new string is created.
      *
      * @return
      *         A {@code CountryCode} instance, or {@code null} if not found.
@@ -2619,23 +2811,165 @@ public enum CountryCode
             return null;
         }
 
-        switch (code.length())
+        return getByCode(code, 0, code.length(), caseSensitive);
+    }
+
+
+    /**
+     * Get a {@code CountryCode} that corresponds to the given code.
+     *
+     * <p>
+     * This method is the same as {@link #getByCode(String) getByCode(String)}
+     * except that it accepts any {@code CharSequence} such as {@link CharBuffer}
+     * and {@link StringBuilder}, so the caller does not have to convert the
+     * code into a string first.
+     * </p>
+     *
+     * @param code
+     *         A character sequence holding an ISO 3166-1 alpha-2, alpha-3 or alpha-4 code.
+     *
+     * @return
+     *         A {@code CountryCode} instance, or {@code null} if not found.
+     *
+     * @since 1.30
+     *
+     * @see #getByCode(CharSequence, int, int, boolean)
+     */
+    public static CountryCode getByCode(CharSequence code)
+    {
+        if (code == null)
+        {
+            return null;
+        }
+
+        return getByCode(code, 0, code.length(), true);
+    }
+
+
+    /**
+     * Get a {@code CountryCode} that corresponds to the code in the given
+     * range of the character sequence.
+     *
+     * <p>
+     * Only the characters from {@code start} to {@code end} are examined,
+     * so a code can be resolved from the middle of a buffer without copying
+     * it. For example, {@code getByCode("ja-JP", 3, 5, true)}
+     * is equivalent to {@code getByCode("JP", true)}.
+     * </p>
+     *
+     * @param code
+     *         A character sequence holding an ISO 3166-1 alpha-2, alpha-3 or alpha-4 code.
+     *
+     * @param start
+     *         The start index of the code in {@code code} (inclusive).
+     *
+     * @param end
+     *         The end index of the code in {@code code} (exclusive).
+     *
+     * @param caseSensitive
+     *         The same as the one of {@link #getByCode(String, boolean)}.
+     *
+     * @return
+     *         A {@code CountryCode} instance, or {@code null} if not found.
+     *         {@code null} is also returned when {@code code} is {@code null}.
+     *
+     * @throws IndexOutOfBoundsException
+     *         {@code start} is negative, {@code end} is greater than the
+     *         length of {@code code}, or {@code start} is greater than {@code end}.
+     *
+     * @since 1.30
+     */
+    public static CountryCode getByCode(CharSequence code, int start, int end, boolean caseSensitive)
+    {
+        if (code == null)
+        {
+            return null;
+        }
+
+        CodeIndex.checkRange(code.length(), start, end);
+
+        return lookup(code, start, end, caseSensitive);
+    }
+
+
+    private static CountryCode lookup(CharSequence code, int start, int end, boolean caseSensitive)
+    {
+        switch (end - start)
         {
             case 2:
-                code = canonicalize(code, caseSensitive);
-                return getByAlpha2Code(code);
+                return CodeIndex.get(alpha2Table,
+                        CodeIndex.index(code, start, end, true, caseSensitive));
 
             case 3:
-                code = canonicalize(code, caseSensitive);
-                return getByAlpha3Code(code);
+                return CodeIndex.get(alpha3Table,
+                        CodeIndex.index(code, start, end, true, caseSensitive));
+
+            case 4:
+                return CodeIndex.find(alpha4Indexes, alpha4Table,
+                        CodeIndex.index(code, start, end, true, caseSensitive));
+
+            case 9:
+                if (CodeIndex.matches(code, start, end, "UNDEFINED", caseSensitive))
+                {
+                    return CountryCode.UNDEFINED;
+                }
+                // FALLTHROUGH
+
+            default:
+                return null;
+        }
+    }
+
+
+    /**
+     * Get a {@code CountryCode} that corresponds to the code in the given
+     * range of the character array.
+     *
+     * <p>
+     * The array is not copied. See {@link #getByCode(CharSequence, int,
+     * int, boolean)} for details.
+     * </p>
+     *
+     * @param code
+     *         A character array holding an ISO 3166-1 alpha-2, alpha-3 or alpha-4 code.
+     *
+     * @param start
+     *         The start index of the code in {@code code} (inclusive).
+     *
+     * @param end
+     *         The end index of the code in {@code code} (exclusive).
+     *
+     * @param caseSensitive
+     *         The same as the one of {@link #getByCode(String, boolean)}.
+     *
+     * @return
+     *         A {@code CountryCode} instance, or {@code null} if not found.
+     *         {@code null} is also returned when {@code code} is {@code null}.
+     *
+     * @throws IndexOutOfBoundsException
+     *         {@code start} is negative, {@code end} is greater than the
+     *         length of {@code code}, or {@code start} is greater than {@code end}.
+     *
+     * @since 1.30
+     */
+    public static CountryCode getByCode(char[] code, int start, int end, boolean caseSensitive)
+    {
+        if (code == null)
+        {
+            return null;
+        }
 
+        CodeIndex.checkRange(code.length, start, end);
+
+        switch (end - start)
+        {
+            case 2:
+            case 3:
             case 4:
-                code = canonicalize(code, caseSensitive);
-                return getByAlpha4Code(code);
+                return getByIndex(end - start, CodeIndex.index(code, start, end, true, caseSensitive));
 
             case 9:
-                code = canonicalize(code, caseSensitive);
-                if ("UNDEFINED".equals(code))
+                if (CodeIndex.matches(code, start, end, "UNDEFINED", caseSensitive))
                 {
                     return CountryCode.UNDEFINED;
                 }
@@ -2647,6 +2981,31 @@ public enum CountryCode
     }
 
 
+    /**
+     * Get the {@code CountryCode} whose code consists of the given number of
+     * letters and has the given index computed by {@link CodeIndex}. Used
+     * by {@link CodeResolver} and by the {@code char[]} lookups. {@code null}
+     * is returned when the index is -1.
+     */
+    static CountryCode getByIndex(int length, int index)
+    {
+        switch (length)
+        {
+            case 2:
+                return CodeIndex.get(alpha2Table, index);
+
+            case 3:
+                return CodeIndex.get(alpha3Table, index);
+
+            case 4:
+                return CodeIndex.find(alpha4Indexes, alpha4Table, index);
+
+            default:
+                return null;
+        }
+    }
+
+
     /**
      * Get a {@code CountryCode} that corresponds to the country code of
      * the given {@link Locale} instance.
@@ -2683,81 +3042,205 @@ public enum CountryCode
 
 
     /**
-     * Canonicalize the given country code.
+     * Get a {@code CountryCode} that corresponds to the given ISO 3166-1
+     * <a href="http://en.wikipedia.org/wiki/ISO_3166-1_alpha-2">alpha-2</a> code.
      *
      * @param code
-     *         ISO 3166-1 alpha-2 or alpha-3 country code.
-     *
-     * @param caseSensitive
-     *         {@code true} if the code should be handled case-sensitively.
+     *         An ISO 3166-1 <a href="http://en.wikipedia.org/wiki/ISO_3166-1_alpha-2"
+     *         >alpha-2</a> code.
      *
      * @return
-     *         If {@code code} is {@code null} or an empty string,
-     *         {@code null} is returned.
-     *         Otherwise, if {@code caseSensitive} is {@code true},
-     *         {@code code} is returned as is.
-     *         Otherwise, {@code code.toUpperCase()} is returned.
+     *         A {@code CountryCode} instance, or {@code null} if not found.
+     *
+     * @since 1.23
      */
-    static String canonicalize(String code, boolean caseSensitive)
+    public static CountryCode getByAlpha2Code(String code)
     {
-        if (code == null || code.length() == 0)
+        if (code == null)
         {
             return null;
         }
 
-        if (caseSensitive)
-        {
-            return code;
-        }
-        else
+        switch (code.length())
         {
-            return code.toUpperCase();
+            case 2:
+            case 9:
+                // "UNDEFINED" is accepted, too.
+                return getByCode(code, 0, code.length(), true);
+
+            default:
+                return null;
         }
     }
 
 
     /**
      * Get a {@code CountryCode} that corresponds to the given ISO 3166-1
-     * <a href="http://en.wikipedia.org/wiki/ISO_3166-1_alpha-2">alpha-2</a> code.
+     * <a href="http://en.wikipedia.org/wiki/ISO_3166-1_alpha-3">alpha-3</a> code.
      *
      * @param code
-     *         An ISO 3166-1 <a href="http://en.wikipedia.org/wiki/ISO_3166-1_alpha-2"
-     *         >alpha-2</a> code.
+     *         An ISO 3166-1 <a href="http://en.wikipedia.org/wiki/ISO_3166-1_alpha-3"
+     *         >alpha-3</a> code.
      *
      * @return
      *         A {@code CountryCode} instance, or {@code null} if not found.
      *
      * @since 1.23
      */
-    public static CountryCode getByAlpha2Code(String code)
+    public static CountryCode getByAlpha3Code(String code)
     {
-        try
+        if (code == null || code.length() != 3)
         {
-            return Enum.valueOf(CountryCode.class, code);
+            return null;
         }
-        catch (IllegalArgumentException e)
+
+        return getByCode(code, 0, 3, true);
+    }
+
+
+    /**
+     * Get a {@code CountryCode} that corresponds to the ISO 3166-1 alpha-2 code
+     * stored as 2 ASCII bytes at the given offset of the array.
+     *
+     * <p>
+     * The bytes are examined in place, so a code in a fixed-width record
+     * can be resolved without decoding it into a string first. The code
+     * must be upper-case (e.g. {@code "JP"}).
+     * </p>
+     *
+     * @param code
+     *         A byte array holding the code.
+     *
+     * @param offset
+     *         The position of the first byte of the code.
+     *
+     * @return
+     *         A {@code CountryCode} instance, or {@code null} if not found.
+     *         {@code null} is also returned when {@code code} is {@code null}.
+     *
+     * @throws IndexOutOfBoundsException
+     *         The code does not fit in the array.
+     *
+     * @since 1.30
+     */
+    public static CountryCode getByAlpha2Code(byte[] code, int offset)
+    {
+        if (code == null)
         {
             return null;
         }
+
+        return CodeIndex.get(alpha2Table, CodeIndex.index(code, offset, 2, true));
     }
 
 
     /**
-     * Get a {@code CountryCode} that corresponds to the given ISO 3166-1
-     * <a href="http://en.wikipedia.org/wiki/ISO_3166-1_alpha-3">alpha-3</a> code.
+     * Get a {@code CountryCode} that corresponds to the ISO 3166-1 alpha-2 code
+     * stored as 2 ASCII bytes at the given absolute position of the buffer.
+     *
+     * <p>
+     * The bytes are examined in place, so a code in a fixed-width record
+     * can be resolved without decoding it into a string first. The position
+     * and the limit of the buffer are not changed. The code must be upper-case
+     * (e.g. {@code "JP"}).
+     * </p>
      *
      * @param code
-     *         An ISO 3166-1 <a href="http://en.wikipedia.org/wiki/ISO_3166-1_alpha-3"
-     *         >alpha-3</a> code.
+     *         A buffer holding the code.
+     *
+     * @param offset
+     *         The absolute position of the first byte of the code.
      *
      * @return
      *         A {@code CountryCode} instance, or {@code null} if not found.
+     *         {@code null} is also returned when {@code code} is {@code null}.
      *
-     * @since 1.23
+     * @throws IndexOutOfBoundsException
+     *         The code does not fit within the limit of the buffer.
+     *
+     * @since 1.30
      */
-    public static CountryCode getByAlpha3Code(String code)
+    public static CountryCode getByAlpha2Code(ByteBuffer code, int offset)
+    {
+        if (code == null)
+        {
+            return null;
+        }
+
+        return CodeIndex.get(alpha2Table, CodeIndex.index(code, offset, 2, true));
+    }
+
+
+    /**
+     * Get a {@code CountryCode} that corresponds to the ISO 3166-1 alpha-3 code
+     * stored as 3 ASCII bytes at the given offset of the array.
+     *
+     * <p>
+     * The bytes are examined in place, so a code in a fixed-width record
+     * can be resolved without decoding it into a string first. The code
+     * must be upper-case (e.g. {@code "JPN"}).
+     * </p>
+     *
+     * @param code
+     *         A byte array holding the code.
+     *
+     * @param offset
+     *         The position of the first byte of the code.
+     *
+     * @return
+     *         A {@code CountryCode} instance, or {@code null} if not found.
+     *         {@code null} is also returned when {@code code} is {@code null}.
+     *
+     * @throws IndexOutOfBoundsException
+     *         The code does not fit in the array.
+     *
+     * @since 1.30
+     */
+    public static CountryCode getByAlpha3Code(byte[] code, int offset)
+    {
+        if (code == null)
+        {
+            return null;
+        }
+
+        return CodeIndex.get(alpha3Table, CodeIndex.index(code, offset, 3, true));
+    }
+
+
+    /**
+     * Get a {@code CountryCode} that corresponds to the ISO 3166-1 alpha-3 code
+     * stored as 3 ASCII bytes at the given absolute position of the buffer.
+     *
+     * <p>
+     * The bytes are examined in place, so a code in a fixed-width record
+     * can be resolved without decoding it into a string first. The position
+     * and the limit of the buffer are not changed. The code must be upper-case
+     * (e.g. {@code "JPN"}).
+     * </p>
+     *
+     * @param code
+     *         A buffer holding the code.
+     *
+     * @param offset
+     *         The absolute position of the first byte of the code.
+     *
+     * @return
+     *         A {@code CountryCode} instance, or {@code null} if not found.
+     *         {@code null} is also returned when {@code code} is {@code null}.
+     *
+     * @throws IndexOutOfBoundsException
+     *         The code does not fit within the limit of the buffer.
+     *
+     * @since 1.30
+     */
+    public static CountryCode getByAlpha3Code(ByteBuffer code, int offset)
     {
-        return alpha3Map.get(code);
+        if (code == null)
+        {
+            return null;
+        }
+
+        return CodeIndex.get(alpha3Table, CodeIndex.index(code, offset, 3, true));
     }
 
 
@@ -2816,7 +3299,12 @@ public enum CountryCode
      */
     public static CountryCode getByAlpha4Code(String code)
     {
-        return alpha4Map.get(code);
+        if (code == null || code.length() != 4)
+        {
+            return null;
+        }
+
+        return getByCode(code, 0, 4, true);
     }
 
 
@@ -2883,12 +3371,173 @@ public enum CountryCode
      */
     public static CountryCode getByCode(int code)
     {
-        if (code <= 0)
+        if (code <= 0 || numericTable.length <= code)
         {
             return null;
         }
 
-        return numericMap.get(code);
+        return numericTable[code];
+    }
+
+
+    /**
+     * Get {@code CountryCode}s that correspond to the given codes (case sensitive).
+     *
+     * <p>
+     * This method is an alias of {@link #getByCodes(String[], boolean, CountryCode[])
+     * getByCodes}{@code (codes, true, results)}.
+     * </p>
+     *
+     * @param codes
+     *         ISO 3166-1 alpha-2, alpha-3 or alpha-4 codes.
+     *
+     * @param results
+     *         An array to store the results into. {@code results[i]} is set
+     *         to the {@code CountryCode} for {@code codes[i]}, or {@code null}
+     *         if not found.
+     *
+     * @return
+     *         The number of codes that were found.
+     *
+     * @throws IllegalArgumentException
+     *         {@code codes} or {@code results} is {@code null}, or
+     *         {@code results} is shorter than {@code codes}.
+     *
+     * @since 1.30
+     */
+    public static int getByCodes(String[] codes, CountryCode[] results)
+    {
+        return getByCodes(codes, true, results);
+    }
+
+
+    /**
+     * Get {@code CountryCode}s that correspond to the given codes.
+     *
+     * <p>
+     * {@code results[i]} becomes the same value as {@link #getByCode(String,
+     * boolean) getByCode}{@code (codes[i], caseSensitive)}, but the arrays
+     * are checked only once, and each code is looked up in the tables
+     * directly without checking its range again. Use this method instead
+     * of calling {@code getByCode} in a loop to resolve a whole column of
+     * codes.
+     * </p>
+     *
+     * <pre style="background-color: #EEEEEE; margin-left: 2em; margin-right: 2em; border: 1px solid black; padding: 0.5em;">
+     * String[] codes = { <span style="color: darkred;">"JP"</span>, <span style="color: darkred;">"usa"</span>, <span style="color: darkred;">"XX"</span> };
+     * CountryCode[] results = new CountryCode[codes.length];
+     *
+     * <span style="color: darkgreen;">// 2, and results = { JP, US, null }</span>
+     * int found = CountryCode.{@link #getByCodes(String[], boolean, CountryCode[]) getByCodes}(codes, false, results);</pre>
+     *
+     * @param codes
+     *         ISO 3166-1 alpha-2, alpha-3 or alpha-4 codes.
+     *         {@code null} elements are allowed.
+     *
+     * @param caseSensitive
+     *         The same as the one of {@link #getByCode(String, boolean)}.
+     *
+     * @param results
+     *         An array to store the results into. {@code results[i]} is set
+     *         to the {@code CountryCode} for {@code codes[i]}, or {@code null}
+     *         if not found. It may be longer than {@code codes}, in which
+     *         case the extra elements are left untouched.
+     *
+     * @return
+     *         The number of codes that were found.
+     *
+     * @throws IllegalArgumentException
+     *         {@code codes} or {@code results} is {@code null}, or
+     *         {@code results} is shorter than {@code codes}.
+     *
+     * @since 1.30
+     */
+    public static int getByCodes(String[] codes, boolean caseSensitive, CountryCode[] results)
+    {
+        return CodeIndex.getByCodes(codes, caseSensitive, results, batchLookup);
+    }
+
+
+    /**
+     * Get {@code CountryCode}s that correspond to the given numeric codes.
+     *
+     * <p>
+     * {@code results[i]} becomes the same value as {@link #getByCode(int)
+     * getByCode}{@code (codes[i])}.
+     * </p>
+     *
+     * @param codes
+     *         ISO 3166-1 numeric codes.
+     *
+     * @param results
+     *         An array to store the results into. {@code results[i]} is set
+     *         to the {@code CountryCode} for {@code codes[i]}, or {@code null}
+     *         if not found.
+     *
+     * @return
+     *         The number of codes that were found.
+     *
+     * @throws IllegalArgumentException
+     *         {@code codes} or {@code results} is {@code null}, or
+     *         {@code results} is shorter than {@code codes}.
+     *
+     * @since 1.30
+     */
+    public static int getByCodes(int[] codes, CountryCode[] results)
+    {
+        return CodeIndex.getByCodes(codes, numericTable, results);
+    }
+
+
+    /**
+     * Get the ordinals of {@code CountryCode}s that correspond to the given
+     * codes (case sensitive).
+     *
+     * <p>
+     * An ordinal can be used as an index of an array or a bit set, and an
+     * {@code int[]} is more compact than an array of references when
+     * a large column of codes is kept in memory. Use {@link #valueList()}
+     * to convert an ordinal back into a {@code CountryCode}.
+     * </p>
+     *
+     * @param codes
+     *         ISO 3166-1 alpha-2, alpha-3 or alpha-4 codes.
+     *         {@code null} elements are allowed.
+     *
+     * @return
+     *         A new array whose {@code i}-th element is the {@link
+     *         #ordinal() ordinal} of the {@code CountryCode} for {@code
+     *         codes[i]}, or -1 if not found.
+     *
+     * @throws IllegalArgumentException
+     *         {@code codes} is {@code null}.
+     *
+     * @since 1.30
+     */
+    public static int[] toOrdinals(String[] codes)
+    {
+        return CodeIndex.toOrdinals(codes, batchLookup);
+    }
+
+
+    /**
+     * Get an unmodifiable list of all the {@code CountryCode} constants
+     * in the order they are declared.
+     *
+     * <p>
+     * Unlike {@link #values()}, this method does not copy the constants
+     * into a new array every time it is called. The same list instance
+     * is returned on every call.
+     * </p>
+     *
+     * @return
+     *         An unmodifiable list of all the {@code CountryCode} constants.
+     *
+     * @since 1.30
+     */
+    public static List<CountryCode> valueList()
+    {
+        return unmodifiableValues;
     }
 
 
@@ -2900,6 +3549,12 @@ public enum CountryCode
      * findByName}{@code (Pattern.compile(regex))}.
      * </p>
      *
+     * <p>
+     * Since the version 1.30, the result is cached in {@link FindByNameCache}.
+     * When the same regular expression is given again, a copy of the cached
+     * result is returned without compiling the regular expression.
+     * </p>
+     *
      * @param regex
      *         Regular expression for names.
      *
@@ -2922,11 +3577,22 @@ public enum CountryCode
             throw new IllegalArgumentException("regex is null.");
         }
 
-        // Compile the regular expression. This may throw
-        // java.util.regex.PatternSyntaxException.
-        Pattern pattern = Pattern.compile(regex);
+        List<CountryCode> list = FindByNameCache.get(CountryCode.class, regex);
 
-        return findByName(pattern);
+        if (list == null)
+        {
+            // Compile the regular expression. This may throw
+            // java.util.regex.PatternSyntaxException.
+            Pattern pattern = Pattern.compile(regex);
+
+            list = findByName(pattern);
+
+            FindByNameCache.put(CountryCode.class, regex, list);
+        }
+
+        // The cached list is shared, so return a copy which the caller
+        // can modify.
+        return new ArrayList<CountryCode>(list);
     }
 
 
@@ -2975,7 +3641,7 @@ public enum CountryCode
 
         List<CountryCode> list = new ArrayList<CountryCode>();
 
-        for (CountryCode entry : values())
+        for (CountryCode entry : valueTable)
         {
             // If the name matches the given pattern.
             if (pattern.matcher(entry.getName()).matches())
@@ -2986,4 +3652,143 @@ public enum CountryCode
 
         return list;
     }
+
+
+    /**
+     * Get a list of {@code CountryCode} whose name starts with the given prefix.
+     *
+     * <p>
+     * The comparison ignores case. Unlike {@link #findByName(Pattern)},
+     * this method does not use a regular expression. It searches an index
+     * of the names, which is built on the first name search. For example,
+     * {@code findByNamePrefix("united")} returns the same constants as
+     * {@code findByName("(?i)united.*")}.
+     * </p>
+     *
+     * @param prefix
+     *         The prefix of names. If an empty string is given, all the
+     *         constants that have a name are returned.
+     *
+     * @return
+     *         List of {@code CountryCode} in the order of declaration.
+     *         If nothing has matched, an empty list is returned.
+     *
+     * @throws IllegalArgumentException
+     *         {@code prefix} is {@code null}.
+     *
+     * @since 1.30
+     */
+    public static List<CountryCode> findByNamePrefix(String prefix)
+    {
+        return NameIndexHolder.nameIndex.findByPrefix(prefix);
+    }
+
+
+    /**
+     * Get a list of {@code CountryCode} whose name contains the given word.
+     *
+     * <p>
+     * A word is a run of letters and digits in a name. The comparison
+     * ignores case. For example, {@code findByNameToken("island")} finds
+     * the constants whose name contains the word "island", but not
+     * the constants whose name contains "island" only as a part of
+     * a longer word. The word is looked up in an index built on the
+     * first name search.
+     * </p>
+     *
+     * @param token
+     *         A word.
+     *
+     * @return
+     *         List of {@code CountryCode} in the order of declaration.
+     *         If nothing has matched, an empty list is returned.
+     *
+     * @throws IllegalArgumentException
+     *         {@code token} is {@code null}.
+     *
+     * @since 1.30
+     */
+    public static List<CountryCode> findByNameToken(String token)
+    {
+        return NameIndexHolder.nameIndex.findByToken(token);
+    }
+
+
+    /**
+     * Get a list of {@code CountryCode} whose name contains the given string.
+     *
+     * <p>
+     * The comparison ignores case. This method compares the given string
+     * with the names that are lower-cased in advance, so it does not compile
+     * or run a regular expression.
+     * </p>
+     *
+     * @param substring
+     *         A string to search for. If an empty string is given, all the
+     *         constants that have a name are returned.
+     *
+     * @return
+     *         List of {@code CountryCode} in the order of declaration.
+     *         If nothing has matched, an empty list is returned.
+     *
+     * @throws IllegalArgumentException
+     *         {@code substring} is {@code null}.
+     *
+     * @since 1.30
+     */
+    public static List<CountryCode> findByNameContains(String substring)
+    {
+        return NameIndexHolder.nameIndex.findByContains(substring);
+    }
+
+
+    /**
+     * Get a list of {@code CountryCode} whose name is similar to the given
+     * string, in descending order of similarity.
+     *
+     * <p>
+     * This method tolerates typos, different word orders and missing words.
+     * For example, {@code findByNameFuzzy("Korea, Rep.", 1)} returns a list containing {@link #KR}.
+     * The similarity is computed from the trigrams (sequences of three
+     * letters) shared by the given string and a name, ignoring case. The
+     * trigrams of the names are indexed on the first name search, so
+     * this method does not scan the names. This method can be called from
+     * multiple threads concurrently. It does not lock anything.
+     * </p>
+     *
+     * @param name
+     *         A name to search for, such as a free-text name received from
+     *         another system.
+     *
+     * @param limit
+     *         The maximum number of {@code CountryCode} instances returned.
+     *
+     * @return
+     *         List of {@code CountryCode}. The most similar one comes first.
+     *         Constants with the same similarity are in the order of
+     *         declaration. If no name shares a trigram with the given
+     *         string, an empty list is returned.
+     *
+     * @throws IllegalArgumentException
+     *         {@code name} is {@code null} or {@code limit} is negative.
+     *
+     * @since 1.30
+     */
+    public static List<CountryCode> findByNameFuzzy(String name, int limit)
+    {
+        return NameIndexHolder.nameIndex.findBySimilarity(name, limit);
+    }
+
+
+    private static NameIndex<CountryCode> createNameIndex()
+    {
+        String[] names = new String[valueTable.length];
+
+        for (int i = 0; i < valueTable.length; ++i)
+        {
+            names[i] = valueTable[i].getName();
+        }
+
+        return new NameIndex<CountryCode>(valueTable, names);
+    }
 }
@@ -0,0 +1,282 @@
+/*
+ * Copyright (C) 2021 Neo Visionaries Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.neovisionaries.i18n;
+
+
+import java.util.Arrays;
+import java.util.Collection;
+
+
+/**
+ * Immutable group of countries such as the EU and continents.
+ *
+ * <p>
+ * A group is backed by a {@link CountryCodeSet}, so {@link #contains(CountryCode)}
+ * is a single bit test. Custom groups can be created by {@link #of(String,
+ * CountryCode...)} or {@link #CountryGroup(String, Collection)}, and
+ * {@link #toSet()} returns a mutable copy that can be combined with other
+ * sets.
+ * </p>
+ *
+ * <pre style="background-color: #EEEEEE; margin-left: 2em; margin-right: 2em; border: 1px solid black; padding: 0.5em;">
+ * <span style="color: darkgreen;">// true</span>
+ * boolean eea = CountryGroup.{@link #EEA}.{@link #contains(CountryCode) contains}(CountryCode.NO);
+ *
+ * <span style="color: darkgreen;">// The same as above.</span>
+ * eea = CountryCode.NO.{@link CountryCode#isIn(CountryGroup) isIn}(CountryGroup.{@link #EEA});
+ *
+ * <span style="color: darkgreen;">// A custom group.</span>
+ * CountryGroup dach = CountryGroup.{@link #of(String, CountryCode...) of}(<span style="color: darkred;">"DACH"</span>, CountryCode.DE, CountryCode.AT, CountryCode.CH);</pre>
+ *
+ * <p>
+ * Only <a href="https://en.wikipedia.org/wiki/ISO_3166-1#Officially_assigned_code_elements"
+ * >officially assigned</a> codes are members of the predefined groups.
+ * For example, {@link CountryCode#UK} is not a member of {@link #EUROPE}
+ * although {@link CountryCode#GB} is. The continents follow the regions of the
+ * <a href="https://unstats.un.org/unsd/methodology/m49/">UN M49</a> standard,
+ * with the Americas split into North America (including Central America and
+ * the Caribbean) and South America. Every officially assigned code belongs
+ * to exactly one continent.
+ * </p>
+ *
+ * @since 1.30
+ */
+public final class CountryGroup
+{
+    /**
+     * Member states of the European Union (27 countries).
+     */
+    public static final CountryGroup EU = create("EU",
+        "AT BE BG CY CZ DE DK EE ES FI FR GR HR HU IE IT LT LU LV MT NL PL PT RO SE SI SK");
+
+
+    /**
+     * Member states of the European Economic Area (the EU, Iceland,
+     * Liechtenstein and Norway).
+     */
+    public static final CountryGroup EEA = create("EEA",
+        "AT BE BG CY CZ DE DK EE ES FI FR GR HR HU IE IT LT LU LV MT NL PL PT RO SE SI SK " +
+        "IS LI NO");
+
+
+    /**
+     * Member states of the euro area (21 countries, including Bulgaria
+     * since 2026).
+     */
+    public static final CountryGroup EUROZONE = create("Eurozone",
+        "AT BE BG CY DE EE ES FI FR GR HR IE IT LT LU LV MT NL PT SI SK");
+
+
+    /**
+     * Africa.
+     */
+    public static final CountryGroup AFRICA = create("Africa",
+        "AO BF BI BJ BW CD CF CG CI CM CV DJ DZ EG EH ER ET GA GH GM GN GQ GW IO " +
+        "KE KM LR LS LY MA MG ML MR MU MW MZ NA NE NG RE RW SC SD SH SL SN SO SS " +
+        "ST SZ TD TF TG TN TZ UG YT ZA ZM ZW");
+
+
+    /**
+     * Antarctica.
+     */
+    public static final CountryGroup ANTARCTICA = create("Antarctica",
+        "AQ");
+
+
+    /**
+     * Asia.
+     */
+    public static final CountryGroup ASIA = create("Asia",
+        "AE AF AM AZ BD BH BN BT CN CY GE HK ID IL IN IQ IR JO JP KG KH KP KR KW " +
+        "KZ LA LB LK MM MN MO MV MY NP OM PH PK PS QA SA SG SY TH TJ TL TM TR TW " +
+        "UZ VN YE");
+
+
+    /**
+     * Europe.
+     */
+    public static final CountryGroup EUROPE = create("Europe",
+        "AD AL AT AX BA BE BG BY CH CZ DE DK EE ES FI FO FR GB GG GI GR HR HU IE " +
+        "IM IS IT JE LI LT LU LV MC MD ME MK MT NL NO PL PT RO RS RU SE SI SJ SK " +
+        "SM UA VA");
+
+
+    /**
+     * North America, including Central America and the Caribbean.
+     */
+    public static final CountryGroup NORTH_AMERICA = create("North America",
+        "AG AI AW BB BL BM BQ BS BZ CA CR CU CW DM DO GD GL GP GT HN HT JM KN KY " +
+        "LC MF MQ MS MX NI PA PM PR SV SX TC TT US VC VG VI");
+
+
+    /**
+     * Oceania.
+     */
+    public static final CountryGroup OCEANIA = create("Oceania",
+        "AS AU CC CK CX FJ FM GU HM KI MH MP NC NF NR NU NZ PF PG PN PW SB TK TO " +
+        "TV UM VU WF WS");
+
+
+    /**
+     * South America.
+     */
+    public static final CountryGroup SOUTH_AMERICA = create("South America",
+        "AR BO BR BV CL CO EC FK GF GS GY PE PY SR UY VE");
+
+
+    private final String name;
+    private final CountryCodeSet members;
+
+
+    /**
+     * Create a group that consists of the given countries.
+     *
+     * @param name
+     *         The name of the group.
+     *
+     * @param members
+     *         The members of the group. The collection is copied.
+     *
+     * @throws IllegalArgumentException
+     *         {@code name} or {@code members} is {@code null}, or
+     *         {@code members} contains {@code null}.
+     */
+    public CountryGroup(String name, Collection<CountryCode> members)
+    {
+        if (name == null)
+        {
+            throw new IllegalArgumentException("name is null.");
+        }
+
+        if (members == null)
+        {
+            throw new IllegalArgumentException("members is null.");
+        }
+
+        if (members.contains(null))
+        {
+            throw new IllegalArgumentException("members contains null.");
+        }
+
+        this.name    = name;
+        this.members = new CountryCodeSet(members);
+    }
+
+
+    /**
+     * Create a group that consists of the given countries.
+     *
+     * @param name
+     *         The name of the group.
+     *
+     * @param members
+     *         The members of the group.
+     *
+     * @return
+     *         A new group.
+     *
+     * @throws IllegalArgumentException
+     *         {@code name} or {@code members} is {@code null}, or
+     *         {@code members} contains {@code null}.
+     */
+    public static CountryGroup of(String name, CountryCode... members)
+    {
+        if (members == null)
+        {
+            throw new IllegalArgumentException("members is null.");
+        }
+
+        return new CountryGroup(name, Arrays.asList(members));
+    }
+
+
+    private static CountryGroup create(String name, String members)
+    {
+        CountryCodeSet set = new CountryCodeSet();
+
+        for (String code : members.split(" "))
+        {
+            set.add(CountryCode.getByCode(code));
+        }
+
+        return new CountryGroup(name, set);
+    }
+
+
+    /**
+     * Get the name of this group.
+     *
+     * @return
+     *         The name of this group.
+     */
+    public String getName()
+    {
+        return name;
+    }
+
+
+    /**
+     * Check if the given country is a member of this group.
+     *
+     * @param country
+     *         A country.
+     *
+     * @return
+     *         {@code true} if the country is a member of this group.
+     *         {@code false} if not or if {@code null} is given.
+     */
+    public boolean contains(CountryCode country)
+    {
+        return members.contains(country);
+    }
+
+
+    /**
+     * Get the number of members of this group.
+     *
+     * @return
+     *         The number of members.
+     */
+    public int size()
+    {
+        return members.size();
+    }
+
+
+    /**
+     * Get a mutable copy of the members of this group.
+     *
+     * @return
+     *         A new {@code CountryCodeSet} holding the members.
+     */
+    public CountryCodeSet toSet()
+    {
+        return new CountryCodeSet(members);
+    }
+
+
+    /**
+     * Get the name of this group.
+     *
+     * @return
+     *         The name of this group.
+     */
+    @Override
+    public String toString()
+    {
+        return name;
+    }
+}
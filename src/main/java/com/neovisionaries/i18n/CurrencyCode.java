@@ -16,13 +16,13 @@
 package com.neovisionaries.i18n;
 
 
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Currency;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.regex.Pattern;
 
 
@@ -2349,18 +2349,132 @@ public enum CurrencyCode
     ;
 
 
-    private static final Map<Integer, CurrencyCode> numericMap = new HashMap<Integer, CurrencyCode>();
+    /**
+     * All the constants in the order they are declared. Used instead of
+     * {@link #values()}, which creates a copy of the array on every call.
+     */
+    private static final CurrencyCode[] valueTable = values();
+
+
+    /**
+     * An unmodifiable view of {@link #valueTable}.
+     */
+    private static final List<CurrencyCode> unmodifiableValues =
+        Collections.unmodifiableList(Arrays.asList(valueTable));
+
+
+    /**
+     * Holder of the index of the names, used by {@link #findByNamePrefix(String)},
+     * {@link #findByNameToken(String)}, {@link #findByNameContains(String)} and
+     * {@link #findByNameFuzzy(String, int)}. The index is built when one of the
+     * methods is called for the first time, so loading this enum does not
+     * pay for it.
+     */
+    private static final class NameIndexHolder
+    {
+        static final NameIndex<CurrencyCode> nameIndex = createNameIndex();
+    }
+
+
+    private static final CurrencyCode[] alpha3Table = new CurrencyCode[CodeIndex.ALPHA3_SIZE];
+    private static final CurrencyCode[] numericTable = new CurrencyCode[CodeIndex.NUMERIC_SIZE];
+
+
+    /**
+     * {@link #lookup(CharSequence, int, int, boolean)} for the batch lookups,
+     * whose loops are shared in {@link CodeIndex}.
+     */
+    private static final CodeIndex.Lookup<CurrencyCode> batchLookup =
+        new CodeIndex.Lookup<CurrencyCode>() {
+            public CurrencyCode lookup(CharSequence code, int start, int end, boolean caseSensitive)
+            {
+                return CurrencyCode.lookup(code, start, end, caseSensitive);
+            }
+        };
+
+
+    /**
+     * Values returned by {@link #toPackedShort()}, indexed by ordinal.
+     */
+    private static final short[] packedValues = new short[valueTable.length];
+
+
+    /**
+     * Table to decode the values returned by {@link #toPackedShort()}. The
+     * table has 32768 elements, so it is created when {@link
+     * #fromPackedShort(short)} is called for the first time.
+     */
+    private static final class PackedTable
+    {
+        static final CurrencyCode[] table = new CurrencyCode[1 << 15];
+
+
+        static
+        {
+            for (CurrencyCode cc : valueTable)
+            {
+                // UNDEFINED is registered as 0.
+                table[packedValues[cc.ordinal()]] = cc;
+            }
+        }
+    }
+
+
+    /**
+     * Unmodifiable lists of CurrencyCode instances used by each country,
+     * indexed by the ordinal of CountryCode.
+     */
+    private static final List<CurrencyCode>[] countryTable = createCountryTable();
 
 
     static
     {
-        for (CurrencyCode cc : values())
+        for (CurrencyCode cc : valueTable)
         {
-            numericMap.put(cc.getNumeric(), cc);
+            if (cc.name().length() == 3)
+            {
+                alpha3Table[CodeIndex.index(cc.name(), true)] = cc;
+                packedValues[cc.ordinal()] = CodeIndex.pack(cc.name());
+            }
+
+            if (cc.getNumeric() > 0)
+            {
+                numericTable[cc.getNumeric()] = cc;
+            }
         }
     }
 
 
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static List<CurrencyCode>[] createCountryTable()
+    {
+        List<CurrencyCode>[] table = new List[CountryCode.valueList().size()];
+
+        for (CurrencyCode currency : valueTable)
+        {
+            for (CountryCode cc : currency.countryList)
+            {
+                int i = cc.ordinal();
+
+                if (table[i] == null)
+                {
+                    table[i] = new ArrayList<CurrencyCode>();
+                }
+
+                table[i].add(currency);
+            }
+        }
+
+        for (int i = 0; i < table.length; ++i)
+        {
+            table[i] = (table[i] == null) ? Collections.<CurrencyCode>emptyList()
+                     : Collections.unmodifiableList(table[i]);
+        }
+
+        return table;
+    }
+
+
     private final String name;
     private final int numeric;
     private final int minorUnit;
@@ -2511,6 +2625,68 @@ public enum CurrencyCode
     }
 
 
+    /**
+     * Get the packed value of the alpha-3 code of this currency.
+     *
+     * <p>
+     * Each letter of the code is stored in 5 bits ({@code 'a'} = 1, ...,
+     * {@code 'z'} = 26, case-insensitive). Bits 10-14 hold the first letter,
+     * bits 5-9 the second and bits 0-4 the third. The value of {@link
+     * #UNDEFINED} is 0. Unlike {@link #ordinal()}, the value is computed
+     * from the code itself, so it does not change when new constants are
+     * added in a future version. It fits in 2 bytes of off-heap memory, a
+     * file or a database column, and can be decoded by {@link
+     * #fromPackedShort(short)}.
+     * </p>
+     *
+     * <pre style="background-color: #EEEEEE; margin-left: 2em; margin-right: 2em; border: 1px solid black; padding: 0.5em;">
+     * <span style="color: darkgreen;">// 22116 (21 &lt;&lt; 10 | 19 &lt;&lt; 5 | 4)</span>
+     * short packed = CurrencyCode.USD.toPackedShort();
+     *
+     * <span style="color: darkgreen;">// CurrencyCode.USD</span>
+     * CurrencyCode cc = CurrencyCode.{@link #fromPackedShort(short) fromPackedShort}(packed);</pre>
+     *
+     * @return
+     *         The packed value in the range from 0 to 27482.
+     *
+     * @since 1.30
+     */
+    public short toPackedShort()
+    {
+        return packedValues[ordinal()];
+    }
+
+
+    /**
+     * Get a {@code CurrencyCode} that corresponds to the value returned by
+     * {@link #toPackedShort()}.
+     *
+     * <p>
+     * The value is decoded by a single lookup of a table of 32768 elements,
+     * without branching on the letters. {@code null} is returned when the
+     * sign bit is set, so a corrupt value is not taken for a constant.
+     * </p>
+     *
+     * @param packed
+     *         A value returned by {@link #toPackedShort()}.
+     *
+     * @return
+     *         A {@code CurrencyCode} instance, or {@code null} if no constant
+     *         has the packed value.
+     *
+     * @since 1.30
+     */
+    public static CurrencyCode fromPackedShort(short packed)
+    {
+        if (packed < 0)
+        {
+            return null;
+        }
+
+        return PackedTable.table[packed];
+    }
+
+
     /**
      * Get a {@code CurrencyCode} that corresponds to the given
      * <a href="http://en.wikipedia.org/wiki/ISO_4217">ISO 4217</a>
@@ -2578,31 +2754,270 @@ public enum CurrencyCode
      *
      * @param caseSensitive
      *         If {@code true}, the given code should consist of upper-case letters only.
-     *         If {@code false}, this method internally canonicalizes the given code by
-     *         {@link String#toUpperCase()} and then performs search. For example,
-     *         {@code getByCode("jpy", true)} returns {@code null}, but on the other hand,
-     *         {@code getByCode("jpy", false)} returns {@link #JPY CurrencyCode.JPY}.
+     *         If {@code false}, this method ignores the case of letters in the given
+     *         code. For example, {@code getByCode("jpy", true)} returns {@code null},
+     *         but on the other hand, {@code getByCode("jpy", false)} returns {@link
+     *         #JPY CurrencyCode.JPY}. In either case, no new string is created.
      *
      * @return
      *         A {@code CurrencyCode} instance, or {@code null} if not found.
      */
     public static CurrencyCode getByCode(String code, boolean caseSensitive)
     {
-        code = canonicalize(code, caseSensitive);
+        if (code == null)
+        {
+            return null;
+        }
+
+        return getByCode(code, 0, code.length(), caseSensitive);
+    }
 
+
+    /**
+     * Get a {@code CurrencyCode} that corresponds to the given code.
+     *
+     * <p>
+     * This method is the same as {@link #getByCode(String) getByCode(String)}
+     * except that it accepts any {@code CharSequence} such as {@link CharBuffer}
+     * and {@link StringBuilder}, so the caller does not have to convert the
+     * code into a string first.
+     * </p>
+     *
+     * @param code
+     *         A character sequence holding an ISO 4217 currency code.
+     *
+     * @return
+     *         A {@code CurrencyCode} instance, or {@code null} if not found.
+     *
+     * @since 1.30
+     *
+     * @see #getByCode(CharSequence, int, int, boolean)
+     */
+    public static CurrencyCode getByCode(CharSequence code)
+    {
         if (code == null)
         {
             return null;
         }
 
-        try
+        return getByCode(code, 0, code.length(), true);
+    }
+
+
+    /**
+     * Get a {@code CurrencyCode} that corresponds to the code in the given
+     * range of the character sequence.
+     *
+     * <p>
+     * Only the characters from {@code start} to {@code end} are examined,
+     * so a code can be resolved from the middle of a buffer without copying
+     * it. For example, {@code getByCode("1000 JPY", 5, 8, true)}
+     * is equivalent to {@code getByCode("JPY", true)}.
+     * </p>
+     *
+     * @param code
+     *         A character sequence holding an ISO 4217 currency code.
+     *
+     * @param start
+     *         The start index of the code in {@code code} (inclusive).
+     *
+     * @param end
+     *         The end index of the code in {@code code} (exclusive).
+     *
+     * @param caseSensitive
+     *         The same as the one of {@link #getByCode(String, boolean)}.
+     *
+     * @return
+     *         A {@code CurrencyCode} instance, or {@code null} if not found.
+     *         {@code null} is also returned when {@code code} is {@code null}.
+     *
+     * @throws IndexOutOfBoundsException
+     *         {@code start} is negative, {@code end} is greater than the
+     *         length of {@code code}, or {@code start} is greater than {@code end}.
+     *
+     * @since 1.30
+     */
+    public static CurrencyCode getByCode(CharSequence code, int start, int end, boolean caseSensitive)
+    {
+        if (code == null)
         {
-            return Enum.valueOf(CurrencyCode.class, code);
+            return null;
         }
-        catch (IllegalArgumentException e)
+
+        CodeIndex.checkRange(code.length(), start, end);
+
+        return lookup(code, start, end, caseSensitive);
+    }
+
+
+    private static CurrencyCode lookup(CharSequence code, int start, int end, boolean caseSensitive)
+    {
+        switch (end - start)
+        {
+            case 3:
+                return CodeIndex.get(alpha3Table,
+                        CodeIndex.index(code, start, end, true, caseSensitive));
+
+            case 9:
+                if (CodeIndex.matches(code, start, end, "UNDEFINED", caseSensitive))
+                {
+                    return CurrencyCode.UNDEFINED;
+                }
+                // FALLTHROUGH
+
+            default:
+                return null;
+        }
+    }
+
+
+    /**
+     * Get a {@code CurrencyCode} that corresponds to the code in the given
+     * range of the character array.
+     *
+     * <p>
+     * The array is not copied. See {@link #getByCode(CharSequence, int,
+     * int, boolean)} for details.
+     * </p>
+     *
+     * @param code
+     *         A character array holding an ISO 4217 currency code.
+     *
+     * @param start
+     *         The start index of the code in {@code code} (inclusive).
+     *
+     * @param end
+     *         The end index of the code in {@code code} (exclusive).
+     *
+     * @param caseSensitive
+     *         The same as the one of {@link #getByCode(String, boolean)}.
+     *
+     * @return
+     *         A {@code CurrencyCode} instance, or {@code null} if not found.
+     *         {@code null} is also returned when {@code code} is {@code null}.
+     *
+     * @throws IndexOutOfBoundsException
+     *         {@code start} is negative, {@code end} is greater than the
+     *         length of {@code code}, or {@code start} is greater than {@code end}.
+     *
+     * @since 1.30
+     */
+    public static CurrencyCode getByCode(char[] code, int start, int end, boolean caseSensitive)
+    {
+        if (code == null)
         {
             return null;
         }
+
+        CodeIndex.checkRange(code.length, start, end);
+
+        switch (end - start)
+        {
+            case 3:
+                return getByIndex(3, CodeIndex.index(code, start, end, true, caseSensitive));
+
+            case 9:
+                if (CodeIndex.matches(code, start, end, "UNDEFINED", caseSensitive))
+                {
+                    return CurrencyCode.UNDEFINED;
+                }
+                // FALLTHROUGH
+
+            default:
+                return null;
+        }
+    }
+
+
+    /**
+     * Get the {@code CurrencyCode} whose code consists of the given number of
+     * letters and has the given index computed by {@link CodeIndex}. Used
+     * by {@link CodeResolver} and by the {@code char[]} lookups. {@code null}
+     * is returned when the index is -1.
+     */
+    static CurrencyCode getByIndex(int length, int index)
+    {
+        switch (length)
+        {
+            case 3:
+                return CodeIndex.get(alpha3Table, index);
+
+            default:
+                return null;
+        }
+    }
+
+
+    /**
+     * Get a {@code CurrencyCode} that corresponds to the ISO 4217 code
+     * stored as 3 ASCII bytes at the given offset of the array.
+     *
+     * <p>
+     * The bytes are examined in place, so a code in a fixed-width record
+     * can be resolved without decoding it into a string first. The code
+     * must be upper-case (e.g. {@code "JPY"}).
+     * </p>
+     *
+     * @param code
+     *         A byte array holding the code.
+     *
+     * @param offset
+     *         The position of the first byte of the code.
+     *
+     * @return
+     *         A {@code CurrencyCode} instance, or {@code null} if not found.
+     *         {@code null} is also returned when {@code code} is {@code null}.
+     *
+     * @throws IndexOutOfBoundsException
+     *         The code does not fit in the array.
+     *
+     * @since 1.30
+     */
+    public static CurrencyCode getByCode(byte[] code, int offset)
+    {
+        if (code == null)
+        {
+            return null;
+        }
+
+        return CodeIndex.get(alpha3Table, CodeIndex.index(code, offset, 3, true));
+    }
+
+
+    /**
+     * Get a {@code CurrencyCode} that corresponds to the ISO 4217 code
+     * stored as 3 ASCII bytes at the given absolute position of the buffer.
+     *
+     * <p>
+     * The bytes are examined in place, so a code in a fixed-width record
+     * can be resolved without decoding it into a string first. The position
+     * and the limit of the buffer are not changed. The code must be upper-case
+     * (e.g. {@code "JPY"}).
+     * </p>
+     *
+     * @param code
+     *         A buffer holding the code.
+     *
+     * @param offset
+     *         The absolute position of the first byte of the code.
+     *
+     * @return
+     *         A {@code CurrencyCode} instance, or {@code null} if not found.
+     *         {@code null} is also returned when {@code code} is {@code null}.
+     *
+     * @throws IndexOutOfBoundsException
+     *         The code does not fit within the limit of the buffer.
+     *
+     * @since 1.30
+     */
+    public static CurrencyCode getByCode(ByteBuffer code, int offset)
+    {
+        if (code == null)
+        {
+            return null;
+        }
+
+        return CodeIndex.get(alpha3Table, CodeIndex.index(code, offset, 3, true));
     }
 
 
@@ -2621,30 +3036,152 @@ public enum CurrencyCode
      */
     public static CurrencyCode getByCode(int code)
     {
-        if (code <= 0)
+        if (code <= 0 || numericTable.length <= code)
         {
             return null;
         }
 
-        return numericMap.get(code);
+        return numericTable[code];
     }
 
 
-    private static String canonicalize(String code, boolean caseSensitive)
+    /**
+     * Get {@code CurrencyCode}s that correspond to the given codes (case sensitive).
+     *
+     * <p>
+     * This method is an alias of {@link #getByCodes(String[], boolean, CurrencyCode[])
+     * getByCodes}{@code (codes, true, results)}.
+     * </p>
+     *
+     * @param codes
+     *         ISO 4217 currency codes.
+     *
+     * @param results
+     *         An array to store the results into. {@code results[i]} is set
+     *         to the {@code CurrencyCode} for {@code codes[i]}, or {@code null}
+     *         if not found.
+     *
+     * @return
+     *         The number of codes that were found.
+     *
+     * @throws IllegalArgumentException
+     *         {@code codes} or {@code results} is {@code null}, or
+     *         {@code results} is shorter than {@code codes}.
+     *
+     * @since 1.30
+     */
+    public static int getByCodes(String[] codes, CurrencyCode[] results)
     {
-        if (code == null || code.length() == 0)
-        {
-            return null;
-        }
+        return getByCodes(codes, true, results);
+    }
 
-        if (caseSensitive)
-        {
-            return code;
-        }
-        else
-        {
-            return code.toUpperCase();
-        }
+
+    /**
+     * Get {@code CurrencyCode}s that correspond to the given codes.
+     *
+     * <p>
+     * {@code results[i]} becomes the same value as {@link #getByCode(String,
+     * boolean) getByCode}{@code (codes[i], caseSensitive)}, but the arrays
+     * are checked only once, and each code is looked up in the tables
+     * directly without checking its range again. Use this method instead
+     * of calling {@code getByCode} in a loop to resolve a whole column of
+     * codes.
+     * </p>
+     *
+     * <pre style="background-color: #EEEEEE; margin-left: 2em; margin-right: 2em; border: 1px solid black; padding: 0.5em;">
+     * String[] codes = { <span style="color: darkred;">"JPY"</span>, <span style="color: darkred;">"usd"</span>, <span style="color: darkred;">"XXX"</span> };
+     * CurrencyCode[] results = new CurrencyCode[codes.length];
+     *
+     * <span style="color: darkgreen;">// 3, and results = { JPY, USD, XXX }</span>
+     * int found = CurrencyCode.{@link #getByCodes(String[], boolean, CurrencyCode[]) getByCodes}(codes, false, results);</pre>
+     *
+     * @param codes
+     *         ISO 4217 currency codes.
+     *         {@code null} elements are allowed.
+     *
+     * @param caseSensitive
+     *         The same as the one of {@link #getByCode(String, boolean)}.
+     *
+     * @param results
+     *         An array to store the results into. {@code results[i]} is set
+     *         to the {@code CurrencyCode} for {@code codes[i]}, or {@code null}
+     *         if not found. It may be longer than {@code codes}, in which
+     *         case the extra elements are left untouched.
+     *
+     * @return
+     *         The number of codes that were found.
+     *
+     * @throws IllegalArgumentException
+     *         {@code codes} or {@code results} is {@code null}, or
+     *         {@code results} is shorter than {@code codes}.
+     *
+     * @since 1.30
+     */
+    public static int getByCodes(String[] codes, boolean caseSensitive, CurrencyCode[] results)
+    {
+        return CodeIndex.getByCodes(codes, caseSensitive, results, batchLookup);
+    }
+
+
+    /**
+     * Get {@code CurrencyCode}s that correspond to the given numeric codes.
+     *
+     * <p>
+     * {@code results[i]} becomes the same value as {@link #getByCode(int)
+     * getByCode}{@code (codes[i])}.
+     * </p>
+     *
+     * @param codes
+     *         ISO 4217 numeric codes.
+     *
+     * @param results
+     *         An array to store the results into. {@code results[i]} is set
+     *         to the {@code CurrencyCode} for {@code codes[i]}, or {@code null}
+     *         if not found.
+     *
+     * @return
+     *         The number of codes that were found.
+     *
+     * @throws IllegalArgumentException
+     *         {@code codes} or {@code results} is {@code null}, or
+     *         {@code results} is shorter than {@code codes}.
+     *
+     * @since 1.30
+     */
+    public static int getByCodes(int[] codes, CurrencyCode[] results)
+    {
+        return CodeIndex.getByCodes(codes, numericTable, results);
+    }
+
+
+    /**
+     * Get the ordinals of {@code CurrencyCode}s that correspond to the given
+     * codes (case sensitive).
+     *
+     * <p>
+     * An ordinal can be used as an index of an array or a bit set, and an
+     * {@code int[]} is more compact than an array of references when
+     * a large column of codes is kept in memory. Use {@link #valueList()}
+     * to convert an ordinal back into a {@code CurrencyCode}.
+     * </p>
+     *
+     * @param codes
+     *         ISO 4217 currency codes.
+     *         {@code null} elements are allowed.
+     *
+     * @return
+     *         A new array whose {@code i}-th element is the {@link
+     *         #ordinal() ordinal} of the {@code CurrencyCode} for {@code
+     *         codes[i]}, or -1 if not found.
+     *
+     * @throws IllegalArgumentException
+     *         {@code codes} is {@code null}.
+     *
+     * @since 1.30
+     */
+    public static int[] toOrdinals(String[] codes)
+    {
+        return CodeIndex.toOrdinals(codes, batchLookup);
     }
 
 
@@ -2667,6 +3204,8 @@ public enum CurrencyCode
      *         List of {@code CurrencyCode} instances. If there is no
      *         {@code CurrencyCode} instance whose country list contains
      *         the specified country, the size of the returned list is zero.
+     *         Since the version 1.30, the returned list is unmodifiable
+     *         and the same instance is returned for the same country.
      */
     public static List<CurrencyCode> getByCountry(String country)
     {
@@ -2690,6 +3229,8 @@ public enum CurrencyCode
      *         List of {@code CurrencyCode} instances. If there is no
      *         {@code CurrencyCode} instance whose country list contains
      *         the specified country, the size of the returned list is zero.
+     *         Since the version 1.30, the returned list is unmodifiable
+     *         and the same instance is returned for the same country.
      *
      * @since 1.13
      */
@@ -2721,6 +3262,8 @@ public enum CurrencyCode
      *         List of {@code CurrencyCode} instances. If there is no
      *         {@code CurrencyCode} instance whose country list contains
      *         the specified country, the size of the returned list is zero.
+     *         Since the version 1.30, the returned list is unmodifiable
+     *         and the same instance is returned for the same country.
      */
     public static List<CurrencyCode> getByCountry(String country, boolean caseSensitive)
     {
@@ -2739,28 +3282,38 @@ public enum CurrencyCode
      *         List of {@code CurrencyCode} instances. If there is no
      *         {@code CurrencyCode} instance whose country list contains
      *         the specified country, the size of the returned list is zero.
+     *         Since the version 1.30, the returned list is unmodifiable
+     *         and the same instance is returned for the same country.
      */
     public static List<CurrencyCode> getByCountry(CountryCode country)
     {
-        List<CurrencyCode> list = new ArrayList<CurrencyCode>();
-
         if (country == null)
         {
-            return list;
+            return Collections.emptyList();
         }
 
-        for (CurrencyCode currency : values())
-        {
-            for (CountryCode cc : currency.countryList)
-            {
-                if (cc == country)
-                {
-                    list.add(currency);
-                }
-            }
-        }
+        return countryTable[country.ordinal()];
+    }
 
-        return list;
+
+    /**
+     * Get an unmodifiable list of all the {@code CurrencyCode} constants
+     * in the order they are declared.
+     *
+     * <p>
+     * Unlike {@link #values()}, this method does not copy the constants
+     * into a new array every time it is called. The same list instance
+     * is returned on every call.
+     * </p>
+     *
+     * @return
+     *         An unmodifiable list of all the {@code CurrencyCode} constants.
+     *
+     * @since 1.30
+     */
+    public static List<CurrencyCode> valueList()
+    {
+        return unmodifiableValues;
     }
 
 
@@ -2772,6 +3325,12 @@ public enum CurrencyCode
      * findByName}{@code (Pattern.compile(regex))}.
      * </p>
      *
+     * <p>
+     * Since the version 1.30, the result is cached in {@link FindByNameCache}.
+     * When the same regular expression is given again, a copy of the cached
+     * result is returned without compiling the regular expression.
+     * </p>
+     *
      * @param regex
      *         Regular expression for names.
      *
@@ -2794,11 +3353,22 @@ public enum CurrencyCode
             throw new IllegalArgumentException("regex is null.");
         }
 
-        // Compile the regular expression. This may throw
-        // java.util.regex.PatternSyntaxException.
-        Pattern pattern = Pattern.compile(regex);
+        List<CurrencyCode> list = FindByNameCache.get(CurrencyCode.class, regex);
+
+        if (list == null)
+        {
+            // Compile the regular expression. This may throw
+            // java.util.regex.PatternSyntaxException.
+            Pattern pattern = Pattern.compile(regex);
+
+            list = findByName(pattern);
 
-        return findByName(pattern);
+            FindByNameCache.put(CurrencyCode.class, regex, list);
+        }
+
+        // The cached list is shared, so return a copy which the caller
+        // can modify.
+        return new ArrayList<CurrencyCode>(list);
     }
 
 
@@ -2845,7 +3415,7 @@ public enum CurrencyCode
 
         List<CurrencyCode> list = new ArrayList<CurrencyCode>();
 
-        for (CurrencyCode entry : values())
+        for (CurrencyCode entry : valueTable)
         {
             // If the name matches the given pattern.
             if (pattern.matcher(entry.getName()).matches())
@@ -2856,4 +3426,143 @@ public enum CurrencyCode
 
         return list;
     }
+
+
+    /**
+     * Get a list of {@code CurrencyCode} whose name starts with the given prefix.
+     *
+     * <p>
+     * The comparison ignores case. Unlike {@link #findByName(Pattern)},
+     * this method does not use a regular expression. It searches an index
+     * of the names, which is built on the first name search. For example,
+     * {@code findByNamePrefix("swiss")} returns the same constants as
+     * {@code findByName("(?i)swiss.*")}.
+     * </p>
+     *
+     * @param prefix
+     *         The prefix of names. If an empty string is given, all the
+     *         constants that have a name are returned.
+     *
+     * @return
+     *         List of {@code CurrencyCode} in the order of declaration.
+     *         If nothing has matched, an empty list is returned.
+     *
+     * @throws IllegalArgumentException
+     *         {@code prefix} is {@code null}.
+     *
+     * @since 1.30
+     */
+    public static List<CurrencyCode> findByNamePrefix(String prefix)
+    {
+        return NameIndexHolder.nameIndex.findByPrefix(prefix);
+    }
+
+
+    /**
+     * Get a list of {@code CurrencyCode} whose name contains the given word.
+     *
+     * <p>
+     * A word is a run of letters and digits in a name. The comparison
+     * ignores case. For example, {@code findByNameToken("dollar")} finds
+     * the constants whose name contains the word "dollar", but not
+     * the constants whose name contains "dollar" only as a part of
+     * a longer word. The word is looked up in an index built on the
+     * first name search.
+     * </p>
+     *
+     * @param token
+     *         A word.
+     *
+     * @return
+     *         List of {@code CurrencyCode} in the order of declaration.
+     *         If nothing has matched, an empty list is returned.
+     *
+     * @throws IllegalArgumentException
+     *         {@code token} is {@code null}.
+     *
+     * @since 1.30
+     */
+    public static List<CurrencyCode> findByNameToken(String token)
+    {
+        return NameIndexHolder.nameIndex.findByToken(token);
+    }
+
+
+    /**
+     * Get a list of {@code CurrencyCode} whose name contains the given string.
+     *
+     * <p>
+     * The comparison ignores case. This method compares the given string
+     * with the names that are lower-cased in advance, so it does not compile
+     * or run a regular expression.
+     * </p>
+     *
+     * @param substring
+     *         A string to search for. If an empty string is given, all the
+     *         constants that have a name are returned.
+     *
+     * @return
+     *         List of {@code CurrencyCode} in the order of declaration.
+     *         If nothing has matched, an empty list is returned.
+     *
+     * @throws IllegalArgumentException
+     *         {@code substring} is {@code null}.
+     *
+     * @since 1.30
+     */
+    public static List<CurrencyCode> findByNameContains(String substring)
+    {
+        return NameIndexHolder.nameIndex.findByContains(substring);
+    }
+
+
+    /**
+     * Get a list of {@code CurrencyCode} whose name is similar to the given
+     * string, in descending order of similarity.
+     *
+     * <p>
+     * This method tolerates typos, different word orders and missing words.
+     * For example, {@code findByNameFuzzy("Swiss Franks", 1)} returns a list containing {@link #CHF}.
+     * The similarity is computed from the trigrams (sequences of three
+     * letters) shared by the given string and a name, ignoring case. The
+     * trigrams of the names are indexed on the first name search, so
+     * this method does not scan the names. This method can be called from
+     * multiple threads concurrently. It does not lock anything.
+     * </p>
+     *
+     * @param name
+     *         A name to search for, such as a free-text name received from
+     *         another system.
+     *
+     * @param limit
+     *         The maximum number of {@code CurrencyCode} instances returned.
+     *
+     * @return
+     *         List of {@code CurrencyCode}. The most similar one comes first.
+     *         Constants with the same similarity are in the order of
+     *         declaration. If no name shares a trigram with the given
+     *         string, an empty list is returned.
+     *
+     * @throws IllegalArgumentException
+     *         {@code name} is {@code null} or {@code limit} is negative.
+     *
+     * @since 1.30
+     */
+    public static List<CurrencyCode> findByNameFuzzy(String name, int limit)
+    {
+        return NameIndexHolder.nameIndex.findBySimilarity(name, limit);
+    }
+
+
+    private static NameIndex<CurrencyCode> createNameIndex()
+    {
+        String[] names = new String[valueTable.length];
+
+        for (int i = 0; i < valueTable.length; ++i)
+        {
+            names[i] = valueTable[i].getName();
+        }
+
+        return new NameIndex<CurrencyCode>(valueTable, names);
+    }
 }
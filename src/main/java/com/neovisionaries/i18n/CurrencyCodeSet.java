@@ -0,0 +1,134 @@
+/*
+ * Copyright (C) 2021 Neo Visionaries Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.neovisionaries.i18n;
+
+
+import java.util.Collection;
+import java.util.Collections;
+
+
+/**
+ * Set of {@link CurrencyCode} backed by a bitmap.
+ *
+ * <p>
+ * See {@link CodeSet} for details.
+ * </p>
+ *
+ * <pre style="background-color: #EEEEEE; margin-left: 2em; margin-right: 2em; border: 1px solid black; padding: 0.5em;">
+ * CurrencyCodeSet a = CurrencyCodeSet.{@link #of(CurrencyCode...) of}(CurrencyCode.JPY, CurrencyCode.USD);
+ * CurrencyCodeSet b = CurrencyCodeSet.{@link #of(CurrencyCode...) of}(CurrencyCode.USD, CurrencyCode.EUR);
+ *
+ * <span style="color: darkgreen;">// [USD]</span>
+ * CurrencyCodeSet c = a.{@link #intersection(CodeSet) intersection}(b);
+ *
+ * <span style="color: darkgreen;">// Compact byte form.</span>
+ * byte[] bytes = c.{@link #toByteArray()};
+ * CurrencyCodeSet d = CurrencyCodeSet.{@link #fromByteArray(byte[]) fromByteArray}(bytes);</pre>
+ *
+ * @since 1.30
+ */
+public final class CurrencyCodeSet extends CodeSet<CurrencyCode, CurrencyCodeSet>
+{
+    /**
+     * Create an empty set.
+     */
+    public CurrencyCodeSet()
+    {
+        super(CurrencyCode.class, CurrencyCode.valueList());
+    }
+
+
+    /**
+     * Create a set that contains the elements of the given collection.
+     *
+     * @param c
+     *         A collection of {@code CurrencyCode}s.
+     *
+     * @throws NullPointerException
+     *         {@code c} is {@code null} or contains {@code null}.
+     */
+    public CurrencyCodeSet(Collection<CurrencyCode> c)
+    {
+        this();
+
+        addAll(c);
+    }
+
+
+    /**
+     * Create a set that contains the given elements.
+     *
+     * @param codes
+     *         {@code CurrencyCode}s.
+     *
+     * @return
+     *         A new set.
+     *
+     * @throws NullPointerException
+     *         {@code codes} is {@code null} or contains {@code null}.
+     */
+    public static CurrencyCodeSet of(CurrencyCode... codes)
+    {
+        CurrencyCodeSet set = new CurrencyCodeSet();
+
+        Collections.addAll(set, codes);
+
+        return set;
+    }
+
+
+    /**
+     * Create a set from the byte form returned by {@link #toByteArray()}.
+     *
+     * @param bytes
+     *         The byte form of a set.
+     *
+     * @return
+     *         A new set.
+     *
+     * @throws IllegalArgumentException
+     *         {@code bytes} is {@code null} or is not a valid byte form.
+     */
+    public static CurrencyCodeSet fromByteArray(byte[] bytes)
+    {
+        CurrencyCodeSet set = new CurrencyCodeSet();
+
+        set.setBytes(bytes);
+
+        return set;
+    }
+
+
+    @Override
+    CurrencyCodeSet newSet()
+    {
+        return new CurrencyCodeSet();
+    }
+
+
+    @Override
+    short pack(CurrencyCode e)
+    {
+        return e.toPackedShort();
+    }
+
+
+    @Override
+    CurrencyCode unpack(short packed)
+    {
+        return CurrencyCode.fromPackedShort(packed);
+    }
+}
@@ -0,0 +1,247 @@
+/*
+ * Copyright (C) 2021 Neo Visionaries Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.neovisionaries.i18n;
+
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+
+/**
+ * LRU cache of the results of {@code findByName(String regex)} methods.
+ *
+ * <p>
+ * {@link CountryCode#findByName(String)}, {@link CurrencyCode#findByName(String)},
+ * {@link LanguageCode#findByName(String)}, {@link LanguageAlpha3Code#findByName(String)}
+ * and {@link ScriptCode#findByName(String)} store their results in this cache,
+ * keyed by the enum type and the regular expression. When the same regular
+ * expression is given again, a copy of the cached list is returned without
+ * compiling the regular expression or scanning the constants.
+ * </p>
+ *
+ * <p>
+ * The cache holds at most {@link #getMaxSize()} entries. When a new entry
+ * makes the cache exceed the maximum, the least recently used entries are
+ * evicted in a batch, so the cache does not have to scan its entries on
+ * every miss once it is full. Recency is approximate: results used between
+ * two misses are regarded as equally recent. Lookups from multiple threads
+ * do not wait on a lock.
+ * The counters returned by {@link #getHitCount()}, {@link #getMissCount()}
+ * and {@link #getEvictionCount()} can be used to choose the size.
+ * </p>
+ *
+ * <pre style="background-color: #EEEEEE; margin-left: 2em; margin-right: 2em; border: 1px solid black; padding: 0.5em;">
+ * <span style="color: darkgreen;">// Keep up to 1000 results.</span>
+ * FindByNameCache.{@link #setMaxSize(int) setMaxSize}(1000);
+ *
+ * ...
+ *
+ * System.out.println(<span style="color: darkred;">"hits = "</span> + FindByNameCache.{@link #getHitCount()});</pre>
+ *
+ * <p>
+ * All the methods of this class are thread-safe. The counters are updated
+ * atomically but are not read together, so they may be slightly out of
+ * sync with each other while other threads are using the cache.
+ * </p>
+ *
+ * @since 1.30
+ */
+public final class FindByNameCache
+{
+    /**
+     * The default maximum number of entries (128).
+     */
+    public static final int DEFAULT_MAX_SIZE = 128;
+
+
+    private static final LruCache<Key, List<?>> cache = new LruCache<Key, List<?>>(DEFAULT_MAX_SIZE);
+    private static final AtomicLong hitCount = new AtomicLong();
+    private static final AtomicLong missCount = new AtomicLong();
+
+
+    private FindByNameCache()
+    {
+    }
+
+
+    /**
+     * A pair of an enum type and a regular expression.
+     */
+    private static final class Key
+    {
+        private final Class<?> type;
+        private final String regex;
+
+
+        Key(Class<?> type, String regex)
+        {
+            this.type  = type;
+            this.regex = regex;
+        }
+
+
+        @Override
+        public boolean equals(Object obj)
+        {
+            if ((obj instanceof Key) == false)
+            {
+                return false;
+            }
+
+            Key other = (Key)obj;
+
+            return type == other.type && regex.equals(other.regex);
+        }
+
+
+        @Override
+        public int hashCode()
+        {
+            return type.hashCode() * 31 + regex.hashCode();
+        }
+    }
+
+
+    /**
+     * Get the cached result.
+     *
+     * @return
+     *         The cached list, or {@code null} if not found.
+     */
+    @SuppressWarnings("unchecked")
+    static <E> List<E> get(Class<E> type, String regex)
+    {
+        LruCache.Entry<List<?>> entry = cache.get(new Key(type, regex));
+
+        if (entry == null)
+        {
+            missCount.incrementAndGet();
+
+            return null;
+        }
+
+        hitCount.incrementAndGet();
+
+        return (List<E>)entry.value;
+    }
+
+
+    /**
+     * Cache the result. The list must not be modified after this call.
+     */
+    static void put(Class<?> type, String regex, List<?> list)
+    {
+        cache.put(new Key(type, regex), list);
+    }
+
+
+    /**
+     * Get the maximum number of entries.
+     *
+     * @return
+     *         The maximum number of entries.
+     *         The default value is {@link #DEFAULT_MAX_SIZE}.
+     */
+    public static int getMaxSize()
+    {
+        return cache.getMaxSize();
+    }
+
+
+    /**
+     * Set the maximum number of entries.
+     *
+     * <p>
+     * If the cache holds more entries than the new maximum, the least
+     * recently used entries are evicted.
+     * </p>
+     *
+     * @param size
+     *         The maximum number of entries. 0 disables the cache.
+     *
+     * @throws IllegalArgumentException
+     *         {@code size} is negative.
+     */
+    public static void setMaxSize(int size)
+    {
+        if (size < 0)
+        {
+            throw new IllegalArgumentException("size is negative.");
+        }
+
+        cache.setMaxSize(size);
+    }
+
+
+    /**
+     * Get the number of cached entries.
+     *
+     * @return
+     *         The number of cached entries.
+     */
+    public static int getSize()
+    {
+        return cache.size();
+    }
+
+
+    /**
+     * Get the number of lookups that found a cached result.
+     *
+     * @return
+     *         The number of cache hits.
+     */
+    public static long getHitCount()
+    {
+        return hitCount.get();
+    }
+
+
+    /**
+     * Get the number of lookups that did not find a cached result.
+     *
+     * @return
+     *         The number of cache misses.
+     */
+    public static long getMissCount()
+    {
+        return missCount.get();
+    }
+
+
+    /**
+     * Get the number of entries evicted to keep the cache within
+     * the maximum size.
+     *
+     * @return
+     *         The number of evictions.
+     */
+    public static long getEvictionCount()
+    {
+        return cache.getEvictionCount();
+    }
+
+
+    /**
+     * Remove all the cached entries and reset the counters to 0.
+     */
+    public static void clear()
+    {
+        cache.clear();
+        hitCount.set(0);
+        missCount.set(0);
+    }
+}
@@ -16,7 +16,11 @@
 package com.neovisionaries.i18n;
 
 
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.regex.Pattern;
 
@@ -6016,6 +6020,80 @@ public enum LanguageAlpha3Code
     };
 
 
+    /**
+     * All the constants in the order they are declared. Used instead of
+     * {@link #values()}, which creates a copy of the array on every call.
+     */
+    private static final LanguageAlpha3Code[] valueTable = values();
+
+
+    /**
+     * An unmodifiable view of {@link #valueTable}.
+     */
+    private static final List<LanguageAlpha3Code> unmodifiableValues =
+        Collections.unmodifiableList(Arrays.asList(valueTable));
+
+
+    /**
+     * Holder of the index of the names, used by {@link #findByNamePrefix(String)},
+     * {@link #findByNameToken(String)}, {@link #findByNameContains(String)} and
+     * {@link #findByNameFuzzy(String, int)}. The index is built when one of the
+     * methods is called for the first time, so loading this enum does not
+     * pay for it.
+     */
+    private static final class NameIndexHolder
+    {
+        static final NameIndex<LanguageAlpha3Code> nameIndex = createNameIndex();
+    }
+
+
+    /**
+     * Table to look up LanguageAlpha3Code by the index of a lower-case
+     * 3-letter code. {@link #New} is registered as "new".
+     */
+    private static final LanguageAlpha3Code[] alpha3Table = new LanguageAlpha3Code[CodeIndex.ALPHA3_SIZE];
+
+
+    /**
+     * Values returned by {@link #toPackedShort()}, indexed by ordinal.
+     */
+    private static final short[] packedValues = new short[valueTable.length];
+
+
+    /**
+     * Table to decode the values returned by {@link #toPackedShort()}. The
+     * table has 32768 elements, so it is created when {@link
+     * #fromPackedShort(short)} is called for the first time.
+     */
+    private static final class PackedTable
+    {
+        static final LanguageAlpha3Code[] table = new LanguageAlpha3Code[1 << 15];
+
+
+        static
+        {
+            for (LanguageAlpha3Code lc : valueTable)
+            {
+                // UNDEFINED is registered as 0.
+                table[packedValues[lc.ordinal()]] = lc;
+            }
+        }
+    }
+
+
+    static
+    {
+        for (LanguageAlpha3Code lc : valueTable)
+        {
+            if (lc.name().length() == 3)
+            {
+                alpha3Table[CodeIndex.index(lc.name().toLowerCase(), false)] = lc;
+                packedValues[lc.ordinal()] = CodeIndex.pack(lc.name());
+            }
+        }
+    }
+
+
     /**
      * Language name.
      */
@@ -6149,6 +6227,68 @@ public enum LanguageAlpha3Code
     }
 
 
+    /**
+     * Get the packed value of the alpha-3 code of this language.
+     *
+     * <p>
+     * Each letter of the code is stored in 5 bits ({@code 'a'} = 1, ...,
+     * {@code 'z'} = 26, case-insensitive). Bits 10-14 hold the first letter,
+     * bits 5-9 the second and bits 0-4 the third. The value of {@link
+     * #undefined} is 0, and {@link #New} is packed as {@code "new"}. Unlike
+     * {@link #ordinal()}, the value is computed from the code itself, so it
+     * does not change when new constants are added in a future version. It
+     * fits in 2 bytes of off-heap memory, a file or a database column, and
+     * can be decoded by {@link #fromPackedShort(short)}.
+     * </p>
+     *
+     * <pre style="background-color: #EEEEEE; margin-left: 2em; margin-right: 2em; border: 1px solid black; padding: 0.5em;">
+     * <span style="color: darkgreen;">// 10766 (10 &lt;&lt; 10 | 16 &lt;&lt; 5 | 14)</span>
+     * short packed = LanguageAlpha3Code.jpn.toPackedShort();
+     *
+     * <span style="color: darkgreen;">// LanguageAlpha3Code.jpn</span>
+     * LanguageAlpha3Code lc = LanguageAlpha3Code.{@link #fromPackedShort(short) fromPackedShort}(packed);</pre>
+     *
+     * @return
+     *         The packed value in the range from 0 to 27482.
+     *
+     * @since 1.30
+     */
+    public short toPackedShort()
+    {
+        return packedValues[ordinal()];
+    }
+
+
+    /**
+     * Get a {@code LanguageAlpha3Code} that corresponds to the value returned by
+     * {@link #toPackedShort()}.
+     *
+     * <p>
+     * The value is decoded by a single lookup of a table of 32768 elements,
+     * without branching on the letters. {@code null} is returned when the
+     * sign bit is set, so a corrupt value is not taken for a constant.
+     * </p>
+     *
+     * @param packed
+     *         A value returned by {@link #toPackedShort()}.
+     *
+     * @return
+     *         A {@code LanguageAlpha3Code} instance, or {@code null} if no constant
+     *         has the packed value.
+     *
+     * @since 1.30
+     */
+    public static LanguageAlpha3Code fromPackedShort(short packed)
+    {
+        if (packed < 0)
+        {
+            return null;
+        }
+
+        return PackedTable.table[packed];
+    }
+
+
     /**
      * Get a {@code LanguageAlpha3Code} that corresponds to a given
      * <a href="http://en.wikipedia.org/wiki/ISO_639-1">ISO 639-1</a> code
@@ -6241,11 +6381,10 @@ public enum LanguageAlpha3Code
      *
      * @param caseSensitive
      *         If {@code true}, the given code should consist of lowercase letters only.
-     *         If {@code false}, this method internally canonicalizes the given code by
-     *         {@link String#toLowerCase()} and then performs search. For
-     *         example, {@code getByCode("JPN", true)} returns {@code null}, but on the
-     *         other hand, {@code getByCode("JPN", false)} returns {@link #jpn
-     *         LanguageAlpha3Code.jpn}.
+     *         If {@code false}, this method ignores the case of letters in the given
+     *         code. For example, {@code getByCode("JPN", true)} returns {@code null},
+     *         but on the other hand, {@code getByCode("JPN", false)} returns {@link
+     *         #jpn LanguageAlpha3Code.jpn}. In either case, no new string is created.
      *
      *         As an exceptional case, both {@code getByCode("New", true)} and
      *         {@code getByCode("new", true)} return {@link #New} (Newari).
@@ -6259,69 +6398,299 @@ public enum LanguageAlpha3Code
      */
     public static LanguageAlpha3Code getByCode(String code, boolean caseSensitive)
     {
-        code = canonicalize(code, caseSensitive);
+        if (code == null)
+        {
+            return null;
+        }
+
+        return getByCode(code, 0, code.length(), caseSensitive);
+    }
+
 
+    /**
+     * Get a {@code LanguageAlpha3Code} that corresponds to the given code.
+     *
+     * <p>
+     * This method is the same as {@link #getByCode(String) getByCode(String)}
+     * except that it accepts any {@code CharSequence} such as {@link CharBuffer}
+     * and {@link StringBuilder}, so the caller does not have to convert the
+     * code into a string first.
+     * </p>
+     *
+     * @param code
+     *         A character sequence holding an ISO 639-2 or ISO 639-1 code.
+     *
+     * @return
+     *         A {@code LanguageAlpha3Code} instance, or {@code null} if not found.
+     *
+     * @since 1.30
+     *
+     * @see #getByCode(CharSequence, int, int, boolean)
+     */
+    public static LanguageAlpha3Code getByCode(CharSequence code)
+    {
         if (code == null)
         {
             return null;
         }
 
-        switch (code.length())
+        return getByCode(code, 0, code.length(), true);
+    }
+
+
+    /**
+     * Get a {@code LanguageAlpha3Code} that corresponds to the code in the given
+     * range of the character sequence.
+     *
+     * <p>
+     * Only the characters from {@code start} to {@code end} are examined,
+     * so a code can be resolved from the middle of a buffer without copying
+     * it. For example, {@code getByCode("jpn-JP", 0, 3, true)}
+     * is equivalent to {@code getByCode("jpn", true)}.
+     * </p>
+     *
+     * @param code
+     *         A character sequence holding an ISO 639-2 or ISO 639-1 code.
+     *
+     * @param start
+     *         The start index of the code in {@code code} (inclusive).
+     *
+     * @param end
+     *         The end index of the code in {@code code} (exclusive).
+     *
+     * @param caseSensitive
+     *         The same as the one of {@link #getByCode(String, boolean)}.
+     *
+     * @return
+     *         A {@code LanguageAlpha3Code} instance, or {@code null} if not found.
+     *         {@code null} is also returned when {@code code} is {@code null}.
+     *
+     * @throws IndexOutOfBoundsException
+     *         {@code start} is negative, {@code end} is greater than the
+     *         length of {@code code}, or {@code start} is greater than {@code end}.
+     *
+     * @since 1.30
+     */
+    public static LanguageAlpha3Code getByCode(CharSequence code, int start, int end, boolean caseSensitive)
+    {
+        if (code == null)
+        {
+            return null;
+        }
+
+        CodeIndex.checkRange(code.length(), start, end);
+
+        switch (end - start)
         {
             case 2:
-                break;
+                LanguageCode alpha2 = LanguageCode.getByCode(code, start, end, caseSensitive);
+
+                return (alpha2 == null) ? null : alpha2.getAlpha3();
 
             case 3:
+                // A special case for Newari. "new" is registered in alpha3Table.
+                if (CodeIndex.matches(code, start, end, "New", true))
+                {
+                    return LanguageAlpha3Code.New;
+                }
+
+                return CodeIndex.get(alpha3Table,
+                        CodeIndex.index(code, start, end, false, caseSensitive));
+
             case 9:
-                return getByEnumName(code);
+                if (CodeIndex.matches(code, start, end, "undefined", caseSensitive))
+                {
+                    return LanguageAlpha3Code.undefined;
+                }
+                // FALLTHROUGH
 
             default:
                 return null;
         }
+    }
 
-        code = LanguageCode.canonicalize(code, caseSensitive);
-        LanguageCode alpha2 = LanguageCode.getByEnumName(code);
 
-        if (alpha2 == null)
+    /**
+     * Get a {@code LanguageAlpha3Code} that corresponds to the code in the given
+     * range of the character array.
+     *
+     * <p>
+     * The array is not copied. See {@link #getByCode(CharSequence, int,
+     * int, boolean)} for details.
+     * </p>
+     *
+     * @param code
+     *         A character array holding an ISO 639-2 or ISO 639-1 code.
+     *
+     * @param start
+     *         The start index of the code in {@code code} (inclusive).
+     *
+     * @param end
+     *         The end index of the code in {@code code} (exclusive).
+     *
+     * @param caseSensitive
+     *         The same as the one of {@link #getByCode(String, boolean)}.
+     *
+     * @return
+     *         A {@code LanguageAlpha3Code} instance, or {@code null} if not found.
+     *         {@code null} is also returned when {@code code} is {@code null}.
+     *
+     * @throws IndexOutOfBoundsException
+     *         {@code start} is negative, {@code end} is greater than the
+     *         length of {@code code}, or {@code start} is greater than {@code end}.
+     *
+     * @since 1.30
+     */
+    public static LanguageAlpha3Code getByCode(char[] code, int start, int end, boolean caseSensitive)
+    {
+        if (code == null)
         {
             return null;
         }
 
-        return alpha2.getAlpha3();
+        CodeIndex.checkRange(code.length, start, end);
+
+        switch (end - start)
+        {
+            case 3:
+                // A special case for Newari. "new" is registered in alpha3Table.
+                if (CodeIndex.matches(code, start, end, "New", true))
+                {
+                    return LanguageAlpha3Code.New;
+                }
+                // FALLTHROUGH
+
+            case 2:
+                return getByIndex(end - start, CodeIndex.index(code, start, end, false, caseSensitive));
+
+            case 9:
+                if (CodeIndex.matches(code, start, end, "undefined", caseSensitive))
+                {
+                    return LanguageAlpha3Code.undefined;
+                }
+                // FALLTHROUGH
+
+            default:
+                return null;
+        }
     }
 
 
-    static LanguageAlpha3Code getByEnumName(String name)
+    /**
+     * Get the {@code LanguageAlpha3Code} whose code consists of the given number of
+     * letters and has the given index computed by {@link CodeIndex}. Used
+     * by {@link CodeResolver} and by the {@code char[]} lookups. {@code null}
+     * is returned when the index is -1.
+     */
+    static LanguageAlpha3Code getByIndex(int length, int index)
     {
-        try
+        switch (length)
         {
-            return Enum.valueOf(LanguageAlpha3Code.class, name);
+            case 2:
+                LanguageCode alpha2 = LanguageCode.getByIndex(2, index);
+
+                return (alpha2 == null) ? null : alpha2.getAlpha3();
+
+            case 3:
+                return CodeIndex.get(alpha3Table, index);
+
+            default:
+                return null;
         }
-        catch (IllegalArgumentException e)
+    }
+
+
+    /**
+     * Get a {@code LanguageAlpha3Code} that corresponds to the ISO 639-2 code
+     * stored as 3 ASCII bytes at the given offset of the array.
+     *
+     * <p>
+     * The bytes are examined in place, so a code in a fixed-width record
+     * can be resolved without decoding it into a string first. The code
+     * must be lower-case (e.g. {@code "jpn"}).
+     * </p>
+     *
+     * @param code
+     *         A byte array holding the code.
+     *
+     * @param offset
+     *         The position of the first byte of the code.
+     *
+     * @return
+     *         A {@code LanguageAlpha3Code} instance, or {@code null} if not found.
+     *         {@code null} is also returned when {@code code} is {@code null}.
+     *
+     * @throws IndexOutOfBoundsException
+     *         The code does not fit in the array.
+     *
+     * @since 1.30
+     */
+    public static LanguageAlpha3Code getByCode(byte[] code, int offset)
+    {
+        if (code == null)
         {
             return null;
         }
+
+        return CodeIndex.get(alpha3Table, CodeIndex.index(code, offset, 3, false));
     }
 
 
-    private static String canonicalize(String code, boolean caseSensitive)
+    /**
+     * Get a {@code LanguageAlpha3Code} that corresponds to the ISO 639-2 code
+     * stored as 3 ASCII bytes at the given absolute position of the buffer.
+     *
+     * <p>
+     * The bytes are examined in place, so a code in a fixed-width record
+     * can be resolved without decoding it into a string first. The position
+     * and the limit of the buffer are not changed. The code must be lower-case
+     * (e.g. {@code "jpn"}).
+     * </p>
+     *
+     * @param code
+     *         A buffer holding the code.
+     *
+     * @param offset
+     *         The absolute position of the first byte of the code.
+     *
+     * @return
+     *         A {@code LanguageAlpha3Code} instance, or {@code null} if not found.
+     *         {@code null} is also returned when {@code code} is {@code null}.
+     *
+     * @throws IndexOutOfBoundsException
+     *         The code does not fit within the limit of the buffer.
+     *
+     * @since 1.30
+     */
+    public static LanguageAlpha3Code getByCode(ByteBuffer code, int offset)
     {
-        if (code == null || code.length() == 0)
+        if (code == null)
         {
             return null;
         }
 
-        if (caseSensitive == false)
-        {
-            code = code.toLowerCase();
-        }
+        return CodeIndex.get(alpha3Table, CodeIndex.index(code, offset, 3, false));
+    }
 
-        // A special case for Newari.
-        if (code.equals("new")) {
-            code = "New";
-        }
 
-        return code;
+    /**
+     * Get an unmodifiable list of all the {@code LanguageAlpha3Code} constants
+     * in the order they are declared.
+     *
+     * <p>
+     * Unlike {@link #values()}, this method does not copy the constants
+     * into a new array every time it is called. The same list instance
+     * is returned on every call.
+     * </p>
+     *
+     * @return
+     *         An unmodifiable list of all the {@code LanguageAlpha3Code} constants.
+     *
+     * @since 1.30
+     */
+    public static List<LanguageAlpha3Code> valueList()
+    {
+        return unmodifiableValues;
     }
 
 
@@ -6333,6 +6702,12 @@ public enum LanguageAlpha3Code
      * findByName}{@code (Pattern.compile(regex))}.
      * </p>
      *
+     * <p>
+     * Since the version 1.30, the result is cached in {@link FindByNameCache}.
+     * When the same regular expression is given again, a copy of the cached
+     * result is returned without compiling the regular expression.
+     * </p>
+     *
      * @param regex
      *         Regular expression for names.
      *
@@ -6355,11 +6730,22 @@ public enum LanguageAlpha3Code
             throw new IllegalArgumentException("regex is null.");
         }
 
-        // Compile the regular expression. This may throw
-        // java.util.regex.PatternSyntaxException.
-        Pattern pattern = Pattern.compile(regex);
+        List<LanguageAlpha3Code> list = FindByNameCache.get(LanguageAlpha3Code.class, regex);
+
+        if (list == null)
+        {
+            // Compile the regular expression. This may throw
+            // java.util.regex.PatternSyntaxException.
+            Pattern pattern = Pattern.compile(regex);
+
+            list = findByName(pattern);
 
-        return findByName(pattern);
+            FindByNameCache.put(LanguageAlpha3Code.class, regex, list);
+        }
+
+        // The cached list is shared, so return a copy which the caller
+        // can modify.
+        return new ArrayList<LanguageAlpha3Code>(list);
     }
 
 
@@ -6409,7 +6795,7 @@ public enum LanguageAlpha3Code
 
         List<LanguageAlpha3Code> list = new ArrayList<LanguageAlpha3Code>();
 
-        for (LanguageAlpha3Code entry : values())
+        for (LanguageAlpha3Code entry : valueTable)
         {
             // If the name matches the given pattern.
             if (pattern.matcher(entry.getName()).matches())
@@ -6420,4 +6806,143 @@ public enum LanguageAlpha3Code
 
         return list;
     }
+
+
+    /**
+     * Get a list of {@code LanguageAlpha3Code} whose name starts with the given prefix.
+     *
+     * <p>
+     * The comparison ignores case. Unlike {@link #findByName(Pattern)},
+     * this method does not use a regular expression. It searches an index
+     * of the names, which is built on the first name search. For example,
+     * {@code findByNamePrefix("ja")} returns the same constants as
+     * {@code findByName("(?i)ja.*")}.
+     * </p>
+     *
+     * @param prefix
+     *         The prefix of names. If an empty string is given, all the
+     *         constants that have a name are returned.
+     *
+     * @return
+     *         List of {@code LanguageAlpha3Code} in the order of declaration.
+     *         If nothing has matched, an empty list is returned.
+     *
+     * @throws IllegalArgumentException
+     *         {@code prefix} is {@code null}.
+     *
+     * @since 1.30
+     */
+    public static List<LanguageAlpha3Code> findByNamePrefix(String prefix)
+    {
+        return NameIndexHolder.nameIndex.findByPrefix(prefix);
+    }
+
+
+    /**
+     * Get a list of {@code LanguageAlpha3Code} whose name contains the given word.
+     *
+     * <p>
+     * A word is a run of letters and digits in a name. The comparison
+     * ignores case. For example, {@code findByNameToken("languages")} finds
+     * the constants whose name contains the word "languages", but not
+     * the constants whose name contains "languages" only as a part of
+     * a longer word. The word is looked up in an index built on the
+     * first name search.
+     * </p>
+     *
+     * @param token
+     *         A word.
+     *
+     * @return
+     *         List of {@code LanguageAlpha3Code} in the order of declaration.
+     *         If nothing has matched, an empty list is returned.
+     *
+     * @throws IllegalArgumentException
+     *         {@code token} is {@code null}.
+     *
+     * @since 1.30
+     */
+    public static List<LanguageAlpha3Code> findByNameToken(String token)
+    {
+        return NameIndexHolder.nameIndex.findByToken(token);
+    }
+
+
+    /**
+     * Get a list of {@code LanguageAlpha3Code} whose name contains the given string.
+     *
+     * <p>
+     * The comparison ignores case. This method compares the given string
+     * with the names that are lower-cased in advance, so it does not compile
+     * or run a regular expression.
+     * </p>
+     *
+     * @param substring
+     *         A string to search for. If an empty string is given, all the
+     *         constants that have a name are returned.
+     *
+     * @return
+     *         List of {@code LanguageAlpha3Code} in the order of declaration.
+     *         If nothing has matched, an empty list is returned.
+     *
+     * @throws IllegalArgumentException
+     *         {@code substring} is {@code null}.
+     *
+     * @since 1.30
+     */
+    public static List<LanguageAlpha3Code> findByNameContains(String substring)
+    {
+        return NameIndexHolder.nameIndex.findByContains(substring);
+    }
+
+
+    /**
+     * Get a list of {@code LanguageAlpha3Code} whose name is similar to the given
+     * string, in descending order of similarity.
+     *
+     * <p>
+     * This method tolerates typos, different word orders and missing words.
+     * For example, {@code findByNameFuzzy("Japanes", 1)} returns a list containing {@link #jpn}.
+     * The similarity is computed from the trigrams (sequences of three
+     * letters) shared by the given string and a name, ignoring case. The
+     * trigrams of the names are indexed on the first name search, so
+     * this method does not scan the names. This method can be called from
+     * multiple threads concurrently. It does not lock anything.
+     * </p>
+     *
+     * @param name
+     *         A name to search for, such as a free-text name received from
+     *         another system.
+     *
+     * @param limit
+     *         The maximum number of {@code LanguageAlpha3Code} instances returned.
+     *
+     * @return
+     *         List of {@code LanguageAlpha3Code}. The most similar one comes first.
+     *         Constants with the same similarity are in the order of
+     *         declaration. If no name shares a trigram with the given
+     *         string, an empty list is returned.
+     *
+     * @throws IllegalArgumentException
+     *         {@code name} is {@code null} or {@code limit} is negative.
+     *
+     * @since 1.30
+     */
+    public static List<LanguageAlpha3Code> findByNameFuzzy(String name, int limit)
+    {
+        return NameIndexHolder.nameIndex.findBySimilarity(name, limit);
+    }
+
+
+    private static NameIndex<LanguageAlpha3Code> createNameIndex()
+    {
+        String[] names = new String[valueTable.length];
+
+        for (int i = 0; i < valueTable.length; ++i)
+        {
+            names[i] = valueTable[i].getName();
+        }
+
+        return new NameIndex<LanguageAlpha3Code>(valueTable, names);
+    }
 }
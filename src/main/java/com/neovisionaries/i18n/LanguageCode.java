@@ -16,7 +16,11 @@
 package com.neovisionaries.i18n;
 
 
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Locale;
 import java.util.regex.Pattern;
@@ -2529,6 +2533,57 @@ public enum LanguageCode
     ;
 
 
+    /**
+     * All the constants in the order they are declared. Used instead of
+     * {@link #values()}, which creates a copy of the array on every call.
+     */
+    private static final LanguageCode[] valueTable = values();
+
+
+    /**
+     * An unmodifiable view of {@link #valueTable}.
+     */
+    private static final List<LanguageCode> unmodifiableValues =
+        Collections.unmodifiableList(Arrays.asList(valueTable));
+
+
+    /**
+     * Holder of the index of the names, used by {@link #findByNamePrefix(String)},
+     * {@link #findByNameToken(String)}, {@link #findByNameContains(String)} and
+     * {@link #findByNameFuzzy(String, int)}. The index is built when one of the
+     * methods is called for the first time, so loading this enum does not
+     * pay for it.
+     */
+    private static final class NameIndexHolder
+    {
+        static final NameIndex<LanguageCode> nameIndex = createNameIndex();
+    }
+
+
+    private static final LanguageCode[] alpha2Table = new LanguageCode[CodeIndex.ALPHA2_SIZE];
+    private static final Locale[] localeTable = new Locale[valueTable.length];
+
+
+    static
+    {
+        for (LanguageCode lc : valueTable)
+        {
+            if (lc.name().length() == 2)
+            {
+                alpha2Table[CodeIndex.index(lc.name(), false)] = lc;
+            }
+
+            localeTable[lc.ordinal()] = new Locale(lc.name());
+        }
+
+        // Support legacy language codes. Map three obsolete language codes
+        // { "iw", "ji", "in" } to new official ones { "he", "yi", "id" }.
+        alpha2Table[CodeIndex.index("iw", false)] = he;
+        alpha2Table[CodeIndex.index("ji", false)] = yi;
+        alpha2Table[CodeIndex.index("in", false)] = id;
+    }
+
+
     private LanguageCode()
     {
     }
@@ -2550,10 +2605,13 @@ public enum LanguageCode
      * Convert this {@code LanguageCode} instance to a {@link Locale} instance.
      *
      * <p>
-     * In most cases, this method creates a new {@code Locale} instance
-     * every time it is called, but some {@code LanguageCode} instances return
-     * their corresponding entries in {@code Locale} class. For example,
-     * {@link #ja LanguageCode.ja} always returns {@link Locale#JAPANESE}.
+     * This method does not create a new {@code Locale} instance every time
+     * it is called. Since the version 1.30, a {@code Locale} instance is
+     * created for each {@code LanguageCode} when the class is initialized,
+     * and the same instance is returned on every call. In addition, some
+     * {@code LanguageCode} instances return their corresponding entries in
+     * {@code Locale} class. For example, {@link #ja LanguageCode.ja} always
+     * returns {@link Locale#JAPANESE}.
      * </p>
      *
      * <p>
@@ -2602,7 +2660,56 @@ public enum LanguageCode
      */
     public Locale toLocale()
     {
-        return new Locale(name());
+        return localeTable[ordinal()];
+    }
+
+
+    /**
+     * Get the countries where this language is spoken.
+     *
+     * <p>
+     * The countries are those of the {@link LocaleCode}s whose language is
+     * this language, in the order of {@link CountryCode} constants. The
+     * relationships are computed once, so this method does not scan the
+     * {@code LocaleCode} constants or create a list.
+     * </p>
+     *
+     * @return
+     *         An unmodifiable list of countries. The same instance is
+     *         returned on every call. It is empty when no country is known.
+     *
+     * @since 1.30
+     *
+     * @see CountryCode#getLanguages()
+     */
+    public List<CountryCode> getCountries()
+    {
+        return CodeGraph.getCountries(this);
+    }
+
+
+    /**
+     * Get the currencies used in the countries where this language is spoken.
+     *
+     * <p>
+     * The currencies are those that {@link CurrencyCode#getByCountry(CountryCode)}
+     * returns for the countries of {@link #getCountries()}, in the order of
+     * {@link CurrencyCode} constants without duplicates.
+     * </p>
+     *
+     * <pre style="background-color: #EEEEEE; margin-left: 2em; margin-right: 2em; border: 1px solid black; padding: 0.5em;">
+     * <span style="color: darkgreen;">// [JPY]</span>
+     * List&lt;CurrencyCode&gt; currencies = LanguageCode.ja.getCurrencies();</pre>
+     *
+     * @return
+     *         An unmodifiable list of currencies. The same instance is
+     *         returned on every call.
+     *
+     * @since 1.30
+     */
+    public List<CurrencyCode> getCurrencies()
+    {
+        return CodeGraph.getCurrencies(this);
     }
 
 
@@ -2857,58 +2964,279 @@ public enum LanguageCode
      *
      * @param caseSensitive
      *         If {@code true}, the given code should consist of lowercase letters only.
-     *         If {@code false}, this method internally canonicalizes the given code by
-     *         {@link String#toLowerCase()} and then performs search. For example,
-     *         {@code getByCode("JA", true)} returns {@code null}, but on the other hand,
-     *         {@code getByCode("JA", false)} returns {@link #ja LanguageCode.ja}.
+     *         If {@code false}, this method ignores the case of letters in the given
+     *         code. For example, {@code getByCode("JA", true)} returns {@code null},
+     *         but on the other hand, {@code getByCode("JA", false)} returns {@link #ja
+     *         LanguageCode.ja}. In either case, no new string is created.
      *
      * @return
      *         A {@code LanguageCode} instance, or {@code null} if not found.
      */
     public static LanguageCode getByCode(String code, boolean caseSensitive)
     {
-        code = canonicalize(code, caseSensitive);
+        if (code == null)
+        {
+            return null;
+        }
+
+        return getByCode(code, 0, code.length(), caseSensitive);
+    }
+
+
+    /**
+     * Get a {@code LanguageCode} that corresponds to the given code.
+     *
+     * <p>
+     * This method is the same as {@link #getByCode(String) getByCode(String)}
+     * except that it accepts any {@code CharSequence} such as {@link CharBuffer}
+     * and {@link StringBuilder}, so the caller does not have to convert the
+     * code into a string first.
+     * </p>
+     *
+     * @param code
+     *         A character sequence holding an ISO 639-1 or ISO 639-2 code.
+     *
+     * @return
+     *         A {@code LanguageCode} instance, or {@code null} if not found.
+     *
+     * @since 1.30
+     *
+     * @see #getByCode(CharSequence, int, int, boolean)
+     */
+    public static LanguageCode getByCode(CharSequence code)
+    {
+        if (code == null)
+        {
+            return null;
+        }
+
+        return getByCode(code, 0, code.length(), true);
+    }
 
+
+    /**
+     * Get a {@code LanguageCode} that corresponds to the code in the given
+     * range of the character sequence.
+     *
+     * <p>
+     * Only the characters from {@code start} to {@code end} are examined,
+     * so a code can be resolved from the middle of a buffer without copying
+     * it. For example, {@code getByCode("ja-JP", 0, 2, true)}
+     * is equivalent to {@code getByCode("ja", true)}.
+     * </p>
+     *
+     * @param code
+     *         A character sequence holding an ISO 639-1 or ISO 639-2 code.
+     *
+     * @param start
+     *         The start index of the code in {@code code} (inclusive).
+     *
+     * @param end
+     *         The end index of the code in {@code code} (exclusive).
+     *
+     * @param caseSensitive
+     *         The same as the one of {@link #getByCode(String, boolean)}.
+     *
+     * @return
+     *         A {@code LanguageCode} instance, or {@code null} if not found.
+     *         {@code null} is also returned when {@code code} is {@code null}.
+     *
+     * @throws IndexOutOfBoundsException
+     *         {@code start} is negative, {@code end} is greater than the
+     *         length of {@code code}, or {@code start} is greater than {@code end}.
+     *
+     * @since 1.30
+     */
+    public static LanguageCode getByCode(CharSequence code, int start, int end, boolean caseSensitive)
+    {
         if (code == null)
         {
             return null;
         }
 
-        switch (code.length())
+        CodeIndex.checkRange(code.length(), start, end);
+
+        switch (end - start)
         {
             case 2:
-            case 9:
-                return getByEnumName(code);
+                // Legacy language codes are registered in alpha2Table, too.
+                return CodeIndex.get(alpha2Table,
+                        CodeIndex.index(code, start, end, false, caseSensitive));
 
             case 3:
-                break;
+                LanguageAlpha3Code alpha3 =
+                    LanguageAlpha3Code.getByCode(code, start, end, caseSensitive);
+
+                // LanguageAlpha3Code.getAlpha2() may return null.
+                return (alpha3 == null) ? null : alpha3.getAlpha2();
+
+            case 9:
+                if (CodeIndex.matches(code, start, end, "undefined", caseSensitive))
+                {
+                    return LanguageCode.undefined;
+                }
+                // FALLTHROUGH
 
             default:
                 return null;
         }
+    }
 
-        LanguageAlpha3Code alpha3 = LanguageAlpha3Code.getByEnumName(code);
 
-        if (alpha3 == null)
+    /**
+     * Get a {@code LanguageCode} that corresponds to the code in the given
+     * range of the character array.
+     *
+     * <p>
+     * The array is not copied. See {@link #getByCode(CharSequence, int,
+     * int, boolean)} for details.
+     * </p>
+     *
+     * @param code
+     *         A character array holding an ISO 639-1 or ISO 639-2 code.
+     *
+     * @param start
+     *         The start index of the code in {@code code} (inclusive).
+     *
+     * @param end
+     *         The end index of the code in {@code code} (exclusive).
+     *
+     * @param caseSensitive
+     *         The same as the one of {@link #getByCode(String, boolean)}.
+     *
+     * @return
+     *         A {@code LanguageCode} instance, or {@code null} if not found.
+     *         {@code null} is also returned when {@code code} is {@code null}.
+     *
+     * @throws IndexOutOfBoundsException
+     *         {@code start} is negative, {@code end} is greater than the
+     *         length of {@code code}, or {@code start} is greater than {@code end}.
+     *
+     * @since 1.30
+     */
+    public static LanguageCode getByCode(char[] code, int start, int end, boolean caseSensitive)
+    {
+        if (code == null)
         {
             return null;
         }
 
-        // LanguageAlpha3Code.getAlpha2() may return null.
-        return alpha3.getAlpha2();
+        CodeIndex.checkRange(code.length, start, end);
+
+        switch (end - start)
+        {
+            case 2:
+            case 3:
+                return getByIndex(end - start, CodeIndex.index(code, start, end, false, caseSensitive));
+
+            case 9:
+                if (CodeIndex.matches(code, start, end, "undefined", caseSensitive))
+                {
+                    return LanguageCode.undefined;
+                }
+                // FALLTHROUGH
+
+            default:
+                return null;
+        }
+    }
+
+
+    /**
+     * Get the {@code LanguageCode} whose code consists of the given number of
+     * letters and has the given index computed by {@link CodeIndex}. Used
+     * by {@link CodeResolver} and by the {@code char[]} lookups. {@code null}
+     * is returned when the index is -1.
+     */
+    static LanguageCode getByIndex(int length, int index)
+    {
+        switch (length)
+        {
+            case 2:
+                return CodeIndex.get(alpha2Table, index);
+
+            case 3:
+                LanguageAlpha3Code alpha3 = LanguageAlpha3Code.getByIndex(3, index);
+
+                // LanguageAlpha3Code.getAlpha2() may return null.
+                return (alpha3 == null) ? null : alpha3.getAlpha2();
+
+            default:
+                return null;
+        }
     }
 
 
-    static LanguageCode getByEnumName(String name)
+    /**
+     * Get a {@code LanguageCode} that corresponds to the ISO 639-1 code
+     * stored as 2 ASCII bytes at the given offset of the array.
+     *
+     * <p>
+     * The bytes are examined in place, so a code in a fixed-width record
+     * can be resolved without decoding it into a string first. The code
+     * must be lower-case (e.g. {@code "ja"}).
+     * </p>
+     *
+     * @param code
+     *         A byte array holding the code.
+     *
+     * @param offset
+     *         The position of the first byte of the code.
+     *
+     * @return
+     *         A {@code LanguageCode} instance, or {@code null} if not found.
+     *         {@code null} is also returned when {@code code} is {@code null}.
+     *
+     * @throws IndexOutOfBoundsException
+     *         The code does not fit in the array.
+     *
+     * @since 1.30
+     */
+    public static LanguageCode getByCode(byte[] code, int offset)
     {
-        try
+        if (code == null)
         {
-            return Enum.valueOf(LanguageCode.class, name);
+            return null;
         }
-        catch (IllegalArgumentException e)
+
+        return CodeIndex.get(alpha2Table, CodeIndex.index(code, offset, 2, false));
+    }
+
+
+    /**
+     * Get a {@code LanguageCode} that corresponds to the ISO 639-1 code
+     * stored as 2 ASCII bytes at the given absolute position of the buffer.
+     *
+     * <p>
+     * The bytes are examined in place, so a code in a fixed-width record
+     * can be resolved without decoding it into a string first. The position
+     * and the limit of the buffer are not changed. The code must be lower-case
+     * (e.g. {@code "ja"}).
+     * </p>
+     *
+     * @param code
+     *         A buffer holding the code.
+     *
+     * @param offset
+     *         The absolute position of the first byte of the code.
+     *
+     * @return
+     *         A {@code LanguageCode} instance, or {@code null} if not found.
+     *         {@code null} is also returned when {@code code} is {@code null}.
+     *
+     * @throws IndexOutOfBoundsException
+     *         The code does not fit within the limit of the buffer.
+     *
+     * @since 1.30
+     */
+    public static LanguageCode getByCode(ByteBuffer code, int offset)
+    {
+        if (code == null)
         {
             return null;
         }
+
+        return CodeIndex.get(alpha2Table, CodeIndex.index(code, offset, 2, false));
     }
 
 
@@ -2948,70 +3276,23 @@ public enum LanguageCode
 
 
     /**
-     * Canonicalize the given language code.
-     *
-     * <ol>
-     * <li>If the given code is {@code null} or an empty string,
-     *     {@code null} is returned.
-     * <li>Otherwise, if the given code matches one of three legacy
-     *     language code ("iw", "ji" and "in"), its official counterpart
-     *     ("he", "yi" and "id", respectively) is returned. Note that
-     *     {@code String.equals(Object)} is used for comparison if
-     *     {@code  caseSensitive} is {@code true} and that
-     *     {@code  String.equalsIgnoreCase(String)} is used if
-     *     {@code caseSensitive} is {@code false}.
-     * <li>Otherwise, if {@code caseSensitive} is {@code true},
-     *     the given code is returned as is.
-     * <li>Otherwise, {@code code.toLowercase()} is returned.
-     * </ol>
-     *
-     * @param code
-     *         ISO 639-1 code.
+     * Get an unmodifiable list of all the {@code LanguageCode} constants
+     * in the order they are declared.
      *
-     * @param caseSensitive
-     *         {@code true} if the code should be handled case-sensitively.
+     * <p>
+     * Unlike {@link #values()}, this method does not copy the constants
+     * into a new array every time it is called. The same list instance
+     * is returned on every call.
+     * </p>
      *
      * @return
-     *         Canonicalized language code.
+     *         An unmodifiable list of all the {@code LanguageCode} constants.
+     *
+     * @since 1.30
      */
-    static String canonicalize(String code, boolean caseSensitive)
+    public static List<LanguageCode> valueList()
     {
-        if (code == null || code.length() == 0)
-        {
-            return null;
-        }
-
-        // Support legacy language codes. Map three obsolete language codes
-        // { "iw", "ji", "in" } to new official ones { "he", "yi", "id" }.
-        final String[] legacy = { "iw", "ji", "in" };
-        final String[] official = { "he", "yi", "id" };
-
-        for (int i = 0; i < legacy.length; ++i)
-        {
-            if (caseSensitive)
-            {
-                if (code.equals(legacy[i]))
-                {
-                    return official[i];
-                }
-            }
-            else
-            {
-                if (code.equalsIgnoreCase(legacy[i]))
-                {
-                    return official[i];
-                }
-            }
-        }
-
-        if (caseSensitive)
-        {
-            return code;
-        }
-        else
-        {
-            return code.toLowerCase();
-        }
+        return unmodifiableValues;
     }
 
 
@@ -3023,6 +3304,12 @@ public enum LanguageCode
      * findByName}{@code (Pattern.compile(regex))}.
      * </p>
      *
+     * <p>
+     * Since the version 1.30, the result is cached in {@link FindByNameCache}.
+     * When the same regular expression is given again, a copy of the cached
+     * result is returned without compiling the regular expression.
+     * </p>
+     *
      * @param regex
      *         Regular expression for names.
      *
@@ -3045,11 +3332,22 @@ public enum LanguageCode
             throw new IllegalArgumentException("regex is null.");
         }
 
-        // Compile the regular expression. This may throw
-        // java.util.regex.PatternSyntaxException.
-        Pattern pattern = Pattern.compile(regex);
+        List<LanguageCode> list = FindByNameCache.get(LanguageCode.class, regex);
 
-        return findByName(pattern);
+        if (list == null)
+        {
+            // Compile the regular expression. This may throw
+            // java.util.regex.PatternSyntaxException.
+            Pattern pattern = Pattern.compile(regex);
+
+            list = findByName(pattern);
+
+            FindByNameCache.put(LanguageCode.class, regex, list);
+        }
+
+        // The cached list is shared, so return a copy which the caller
+        // can modify.
+        return new ArrayList<LanguageCode>(list);
     }
 
 
@@ -3097,7 +3395,7 @@ public enum LanguageCode
 
         List<LanguageCode> list = new ArrayList<LanguageCode>();
 
-        for (LanguageCode entry : values())
+        for (LanguageCode entry : valueTable)
         {
             // If the name matches the given pattern.
             if (pattern.matcher(entry.getName()).matches())
@@ -3108,4 +3406,143 @@ public enum LanguageCode
 
         return list;
     }
+
+
+    /**
+     * Get a list of {@code LanguageCode} whose name starts with the given prefix.
+     *
+     * <p>
+     * The comparison ignores case. Unlike {@link #findByName(Pattern)},
+     * this method does not use a regular expression. It searches an index
+     * of the names, which is built on the first name search. For example,
+     * {@code findByNamePrefix("ja")} returns the same constants as
+     * {@code findByName("(?i)ja.*")}.
+     * </p>
+     *
+     * @param prefix
+     *         The prefix of names. If an empty string is given, all the
+     *         constants that have a name are returned.
+     *
+     * @return
+     *         List of {@code LanguageCode} in the order of declaration.
+     *         If nothing has matched, an empty list is returned.
+     *
+     * @throws IllegalArgumentException
+     *         {@code prefix} is {@code null}.
+     *
+     * @since 1.30
+     */
+    public static List<LanguageCode> findByNamePrefix(String prefix)
+    {
+        return NameIndexHolder.nameIndex.findByPrefix(prefix);
+    }
+
+
+    /**
+     * Get a list of {@code LanguageCode} whose name contains the given word.
+     *
+     * <p>
+     * A word is a run of letters and digits in a name. The comparison
+     * ignores case. For example, {@code findByNameToken("languages")} finds
+     * the constants whose name contains the word "languages", but not
+     * the constants whose name contains "languages" only as a part of
+     * a longer word. The word is looked up in an index built on the
+     * first name search.
+     * </p>
+     *
+     * @param token
+     *         A word.
+     *
+     * @return
+     *         List of {@code LanguageCode} in the order of declaration.
+     *         If nothing has matched, an empty list is returned.
+     *
+     * @throws IllegalArgumentException
+     *         {@code token} is {@code null}.
+     *
+     * @since 1.30
+     */
+    public static List<LanguageCode> findByNameToken(String token)
+    {
+        return NameIndexHolder.nameIndex.findByToken(token);
+    }
+
+
+    /**
+     * Get a list of {@code LanguageCode} whose name contains the given string.
+     *
+     * <p>
+     * The comparison ignores case. This method compares the given string
+     * with the names that are lower-cased in advance, so it does not compile
+     * or run a regular expression.
+     * </p>
+     *
+     * @param substring
+     *         A string to search for. If an empty string is given, all the
+     *         constants that have a name are returned.
+     *
+     * @return
+     *         List of {@code LanguageCode} in the order of declaration.
+     *         If nothing has matched, an empty list is returned.
+     *
+     * @throws IllegalArgumentException
+     *         {@code substring} is {@code null}.
+     *
+     * @since 1.30
+     */
+    public static List<LanguageCode> findByNameContains(String substring)
+    {
+        return NameIndexHolder.nameIndex.findByContains(substring);
+    }
+
+
+    /**
+     * Get a list of {@code LanguageCode} whose name is similar to the given
+     * string, in descending order of similarity.
+     *
+     * <p>
+     * This method tolerates typos, different word orders and missing words.
+     * For example, {@code findByNameFuzzy("Japanes", 1)} returns a list containing {@link #ja}.
+     * The similarity is computed from the trigrams (sequences of three
+     * letters) shared by the given string and a name, ignoring case. The
+     * trigrams of the names are indexed on the first name search, so
+     * this method does not scan the names. This method can be called from
+     * multiple threads concurrently. It does not lock anything.
+     * </p>
+     *
+     * @param name
+     *         A name to search for, such as a free-text name received from
+     *         another system.
+     *
+     * @param limit
+     *         The maximum number of {@code LanguageCode} instances returned.
+     *
+     * @return
+     *         List of {@code LanguageCode}. The most similar one comes first.
+     *         Constants with the same similarity are in the order of
+     *         declaration. If no name shares a trigram with the given
+     *         string, an empty list is returned.
+     *
+     * @throws IllegalArgumentException
+     *         {@code name} is {@code null} or {@code limit} is negative.
+     *
+     * @since 1.30
+     */
+    public static List<LanguageCode> findByNameFuzzy(String name, int limit)
+    {
+        return NameIndexHolder.nameIndex.findBySimilarity(name, limit);
+    }
+
+
+    private static NameIndex<LanguageCode> createNameIndex()
+    {
+        String[] names = new String[valueTable.length];
+
+        for (int i = 0; i < valueTable.length; ++i)
+        {
+            names[i] = valueTable[i].getName();
+        }
+
+        return new NameIndex<LanguageCode>(valueTable, names);
+    }
 }
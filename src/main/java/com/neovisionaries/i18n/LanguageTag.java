@@ -0,0 +1,533 @@
+/*
+ * Copyright (C) 2021 Neo Visionaries Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.neovisionaries.i18n;
+
+
+import java.util.List;
+
+
+/**
+ * <a href="https://tools.ietf.org/html/bcp47">BCP 47</a> language tag
+ * parsed into codes.
+ *
+ * <p>
+ * {@link #parse(CharSequence, int, int)} splits a tag such as {@code
+ * "zh-Hant-TW"}, {@code "sr-Latn-RS"} or {@code "en-US-u-ca-gregory"}
+ * into subtags in place and resolves them to {@link LanguageCode},
+ * {@link LanguageAlpha3Code}, {@link ScriptCode} and {@link CountryCode}.
+ * No string is created, and an instance can be reused for many tags.
+ * </p>
+ *
+ * <pre style="background-color: #EEEEEE; margin-left: 2em; margin-right: 2em; border: 1px solid black; padding: 0.5em;">
+ * LanguageTag tag = new LanguageTag();
+ *
+ * if (tag.{@link #parse(CharSequence, int, int) parse}(<span style="color: darkred;">"zh-Hant-TW"</span>, 0, 10))
+ * {
+ *     <span style="color: darkgreen;">// LanguageCode.zh</span>
+ *     tag.{@link #getLanguage()};
+ *
+ *     <span style="color: darkgreen;">// ScriptCode.Hant</span>
+ *     tag.{@link #getScript()};
+ *
+ *     <span style="color: darkgreen;">// CountryCode.TW</span>
+ *     tag.{@link #getCountry()};
+ * }</pre>
+ *
+ * <p>
+ * The parser checks the syntax of RFC 5646 (language, extended language,
+ * script, region, variant, extension and private use subtags). Letters
+ * are case-insensitive, and {@code '_'} is accepted as a separator in
+ * addition to {@code '-'}. Grandfathered tags such as {@code "i-klingon"}
+ * are not supported. A subtag that is well-formed but not known by the
+ * enums of this library, for example a 5-letter language subtag, leaves
+ * the corresponding property {@code null}.
+ * </p>
+ *
+ * <p>
+ * An instance is not thread-safe.
+ * </p>
+ *
+ * @since 1.30
+ */
+public final class LanguageTag
+{
+    // The last component seen while parsing.
+    private static final int NONE              = 0;
+    private static final int LANGUAGE          = 1;
+    private static final int EXTLANG           = 2;
+    private static final int SCRIPT            = 3;
+    private static final int REGION            = 4;
+    private static final int VARIANT           = 5;
+    private static final int EXTENSION_START   = 6;
+    private static final int EXTENSION         = 7;
+    private static final int PRIVATE_USE_START = 8;
+    private static final int PRIVATE_USE       = 9;
+
+
+    private LanguageCode language;
+    private LanguageAlpha3Code languageAlpha3;
+    private ScriptCode script;
+    private CountryCode country;
+    private boolean region;
+    private int numericRegion;
+    private int variantsStart;
+    private int variantsEnd;
+    private int extensionsStart;
+    private int extensionsEnd;
+
+
+    /**
+     * The default constructor. All the properties are cleared.
+     */
+    public LanguageTag()
+    {
+        clear();
+    }
+
+
+    /**
+     * Parse the given language tag.
+     *
+     * @param tag
+     *         A language tag.
+     *
+     * @return
+     *         A new {@code LanguageTag} instance, or {@code null} if
+     *         {@code tag} is {@code null} or not well-formed.
+     */
+    public static LanguageTag parse(CharSequence tag)
+    {
+        if (tag == null)
+        {
+            return null;
+        }
+
+        LanguageTag result = new LanguageTag();
+
+        return result.parse(tag, 0, tag.length()) ? result : null;
+    }
+
+
+    /**
+     * Parse the language tag in the given range and set the properties
+     * of this instance. The old properties are cleared.
+     *
+     * @param tag
+     *         A character sequence holding a language tag.
+     *
+     * @param start
+     *         The start index of the tag (inclusive).
+     *
+     * @param end
+     *         The end index of the tag (exclusive).
+     *
+     * @return
+     *         {@code true} if the tag is well-formed. If {@code false} is
+     *         returned, all the properties are cleared.
+     *
+     * @throws IndexOutOfBoundsException
+     *         {@code start} is negative, {@code end} is greater than the
+     *         length of {@code tag}, or {@code start} is greater than {@code end}.
+     */
+    public boolean parse(CharSequence tag, int start, int end)
+    {
+        clear();
+
+        if (tag == null)
+        {
+            return false;
+        }
+
+        CodeIndex.checkRange(tag.length(), start, end);
+
+        int position          = NONE;
+        int extlangs          = 0;
+        boolean shortLanguage = false;
+
+        for (int s = start; ; )
+        {
+            int e       = s;
+            int letters = 0;
+            int digits  = 0;
+
+            for (; e < end; ++e)
+            {
+                char ch = tag.charAt(e);
+
+                if (ch == '-' || ch == '_')
+                {
+                    break;
+                }
+                else if (('a' <= ch && ch <= 'z') || ('A' <= ch && ch <= 'Z'))
+                {
+                    ++letters;
+                }
+                else if ('0' <= ch && ch <= '9')
+                {
+                    ++digits;
+                }
+                else
+                {
+                    return fail();
+                }
+            }
+
+            int length = e - s;
+
+            if (length == 0 || 8 < length)
+            {
+                return fail();
+            }
+
+            boolean alpha = (letters == length);
+
+            if (position == NONE)
+            {
+                if (alpha && length <= 3 && 2 <= length)
+                {
+                    setLanguage(tag, s, e);
+                    shortLanguage = true;
+                    position      = LANGUAGE;
+                }
+                else if (alpha && 5 <= length)
+                {
+                    // A registered language subtag, which has no code in this library.
+                    position = EXTLANG;
+                }
+                else if (length == 1 && isPrivateUse(tag.charAt(s)))
+                {
+                    extensionsStart = s;
+                    position        = PRIVATE_USE_START;
+                }
+                else
+                {
+                    return fail();
+                }
+            }
+            else if (position == PRIVATE_USE_START || position == PRIVATE_USE)
+            {
+                position = PRIVATE_USE;
+            }
+            else if (position == EXTENSION_START)
+            {
+                if (length < 2)
+                {
+                    return fail();
+                }
+
+                position = EXTENSION;
+            }
+            else if (length == 1)
+            {
+                // A singleton, which starts an extension or private use subtags.
+                if (position < EXTENSION_START)
+                {
+                    extensionsStart = s;
+                }
+
+                position = isPrivateUse(tag.charAt(s)) ? PRIVATE_USE_START : EXTENSION_START;
+            }
+            else if (position == EXTENSION)
+            {
+                // Another subtag of the extension.
+            }
+            else if (position <= EXTLANG && shortLanguage && alpha && length == 3 && extlangs < 3)
+            {
+                // An extended language subtag such as "yue" of "zh-yue".
+                ++extlangs;
+                position = EXTLANG;
+            }
+            else if (position <= EXTLANG && alpha && length == 4)
+            {
+                script   = ScriptCode.getByCode(tag, s, e, false);
+                position = SCRIPT;
+            }
+            else if (position <= SCRIPT && ((alpha && length == 2) || (digits == 3 && length == 3)))
+            {
+                setRegion(tag, s, e, alpha);
+                position = REGION;
+            }
+            else if (5 <= length || (length == 4 && isDigit(tag.charAt(s))))
+            {
+                if (position != VARIANT)
+                {
+                    variantsStart = s;
+                }
+
+                variantsEnd = e;
+                position    = VARIANT;
+            }
+            else
+            {
+                return fail();
+            }
+
+            if (e == end)
+            {
+                break;
+            }
+
+            s = e + 1;
+        }
+
+        if (position == EXTENSION_START || position == PRIVATE_USE_START)
+        {
+            // A singleton must be followed by at least one subtag.
+            return fail();
+        }
+
+        if (EXTENSION_START <= position)
+        {
+            extensionsEnd = end;
+        }
+
+        return true;
+    }
+
+
+    private void setLanguage(CharSequence tag, int start, int end)
+    {
+        if (end - start == 2)
+        {
+            language       = LanguageCode.getByCode(tag, start, end, false);
+            languageAlpha3 = (language == null) ? null : language.getAlpha3();
+        }
+        else
+        {
+            languageAlpha3 = LanguageAlpha3Code.getByCode(tag, start, end, false);
+            language       = (languageAlpha3 == null) ? null : languageAlpha3.getAlpha2();
+        }
+    }
+
+
+    private void setRegion(CharSequence tag, int start, int end, boolean alpha)
+    {
+        region = true;
+
+        if (alpha)
+        {
+            country = CountryCode.getByCode(tag, start, end, false);
+            return;
+        }
+
+        numericRegion = (tag.charAt(start)     - '0') * 100 +
+                        (tag.charAt(start + 1) - '0') * 10  +
+                        (tag.charAt(start + 2) - '0');
+        country       = CountryCode.getByCode(numericRegion);
+    }
+
+
+    private static boolean isPrivateUse(char ch)
+    {
+        return ch == 'x' || ch == 'X';
+    }
+
+
+    private static boolean isDigit(char ch)
+    {
+        return '0' <= ch && ch <= '9';
+    }
+
+
+    private boolean fail()
+    {
+        clear();
+
+        return false;
+    }
+
+
+    private void clear()
+    {
+        language        = null;
+        languageAlpha3  = null;
+        script          = null;
+        country         = null;
+        region          = false;
+        numericRegion   = -1;
+        variantsStart   = -1;
+        variantsEnd     = -1;
+        extensionsStart = -1;
+        extensionsEnd   = -1;
+    }
+
+
+    /**
+     * Get the language as an ISO 639-1 code.
+     *
+     * @return
+     *         The {@code LanguageCode} of the language subtag, or {@code null}
+     *         if the tag has no language subtag or the language has no
+     *         ISO 639-1 code.
+     */
+    public LanguageCode getLanguage()
+    {
+        return language;
+    }
+
+
+    /**
+     * Get the language as an ISO 639-2 code.
+     *
+     * @return
+     *         The {@code LanguageAlpha3Code} of the language subtag, or
+     *         {@code null} if the tag has no language subtag or the language
+     *         is unknown.
+     */
+    public LanguageAlpha3Code getLanguageAlpha3()
+    {
+        return languageAlpha3;
+    }
+
+
+    /**
+     * Get the script.
+     *
+     * @return
+     *         The {@code ScriptCode} of the script subtag, or {@code null}
+     *         if the tag has no script subtag or the script is unknown.
+     */
+    public ScriptCode getScript()
+    {
+        return script;
+    }
+
+
+    /**
+     * Get the country of the region subtag.
+     *
+     * @return
+     *         The {@code CountryCode} of the region subtag, or {@code null}
+     *         if the tag has no region subtag or the region is not a
+     *         country, for example {@code "419"} (Latin America).
+     */
+    public CountryCode getCountry()
+    {
+        return country;
+    }
+
+
+    /**
+     * Get the numeric region subtag.
+     *
+     * @return
+     *         The value of the region subtag if it consists of 3 digits
+     *         (UN M49 code), or -1 otherwise.
+     */
+    public int getNumericRegion()
+    {
+        return numericRegion;
+    }
+
+
+    /**
+     * Get the start index of the variant subtags.
+     *
+     * @return
+     *         The index of the first variant subtag in the parsed sequence,
+     *         or -1 if the tag has no variant subtag.
+     */
+    public int getVariantsStart()
+    {
+        return variantsStart;
+    }
+
+
+    /**
+     * Get the end index of the variant subtags.
+     *
+     * @return
+     *         The index just after the last variant subtag in the parsed
+     *         sequence, or -1 if the tag has no variant subtag.
+     */
+    public int getVariantsEnd()
+    {
+        return variantsEnd;
+    }
+
+
+    /**
+     * Get the start index of the extension and private use subtags.
+     *
+     * @return
+     *         The index of the first singleton in the parsed sequence,
+     *         or -1 if the tag has no extension or private use subtag.
+     */
+    public int getExtensionsStart()
+    {
+        return extensionsStart;
+    }
+
+
+    /**
+     * Get the end index of the extension and private use subtags.
+     *
+     * @return
+     *         The end index of the tag, or -1 if the tag has no extension
+     *         or private use subtag.
+     */
+    public int getExtensionsEnd()
+    {
+        return extensionsEnd;
+    }
+
+
+    /**
+     * Get the {@link LocaleCode} that has the language and the country
+     * of this tag. The script, variants and extensions are not considered.
+     *
+     * @return
+     *         The {@code LocaleCode}, or {@code null} if there is no
+     *         {@code LocaleCode} for the combination.
+     */
+    public LocaleCode getLocale()
+    {
+        // A region which is not a known country, e.g. "419", has no LocaleCode.
+        if (language == null || (region && country == null))
+        {
+            return null;
+        }
+
+        List<LocaleCode> candidates = LocaleCode.getByLanguage(language);
+
+        // The list is small and supports random access.
+        for (int i = 0; i < candidates.size(); ++i)
+        {
+            LocaleCode candidate = candidates.get(i);
+
+            if (candidate.getCountry() == country)
+            {
+                return candidate;
+            }
+        }
+
+        return null;
+    }
+
+
+    /**
+     * Get the interned {@link LocaleKey} that has the language, the script
+     * and the country of this tag.
+     *
+     * @return
+     *         The {@code LocaleKey}. Unknown subtags are {@code null}
+     *         in the key.
+     */
+    public LocaleKey getLocaleKey()
+    {
+        return LocaleKey.of(language, script, country);
+    }
+}
@@ -17,7 +17,10 @@ package com.neovisionaries.i18n;
 
 
 import java.lang.reflect.Field;
+import java.nio.CharBuffer;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Locale;
 
@@ -990,8 +993,112 @@ public enum LocaleCode
     ;
 
 
+    /**
+     * All the constants in the order they are declared. Used instead of
+     * {@link #values()}, which creates a copy of the array on every call.
+     */
+    private static final LocaleCode[] valueTable = values();
+
+
+    /**
+     * An unmodifiable view of {@link #valueTable}.
+     */
+    private static final List<LocaleCode> unmodifiableValues =
+        Collections.unmodifiableList(Arrays.asList(valueTable));
+
+
     private static final Locale undefinedLocale = getUndefinedLocale();
 
+
+    /**
+     * LocaleCode instances grouped by the ordinal of their language.
+     */
+    private static final LocaleCode[][] languageTable = new LocaleCode[LanguageCode.valueList().size()][];
+
+
+    /**
+     * Unmodifiable views of the elements of {@link #languageTable},
+     * returned by {@link #getByLanguage(LanguageCode)}.
+     */
+    private static final List<LocaleCode>[] languageLists = newListTable(languageTable.length);
+
+
+    /**
+     * Unmodifiable lists of LocaleCode instances grouped by the ordinal
+     * of their country, returned by {@link #getByCountry(CountryCode)}.
+     */
+    private static final List<LocaleCode>[] countryLists = newListTable(CountryCode.valueList().size());
+
+
+    /**
+     * Locale instances returned by the default implementation of
+     * {@link #toLocale()}, indexed by ordinal.
+     */
+    private static final Locale[] localeTable = new Locale[valueTable.length];
+
+
+    static
+    {
+        LocaleCode[] values = valueTable;
+        int[] counts = new int[languageTable.length];
+
+        for (LocaleCode lc : values)
+        {
+            ++counts[lc.language.ordinal()];
+
+            localeTable[lc.ordinal()] = lc.createLocale();
+        }
+
+        for (int i = 0; i < languageTable.length; ++i)
+        {
+            languageTable[i] = new LocaleCode[counts[i]];
+            counts[i] = 0;
+        }
+
+        for (LocaleCode lc : values)
+        {
+            int i = lc.language.ordinal();
+
+            languageTable[i][counts[i]++] = lc;
+        }
+
+        for (int i = 0; i < languageTable.length; ++i)
+        {
+            languageLists[i] = Collections.unmodifiableList(Arrays.asList(languageTable[i]));
+        }
+
+        for (LocaleCode lc : values)
+        {
+            if (lc.country == null)
+            {
+                continue;
+            }
+
+            int i = lc.country.ordinal();
+
+            if (countryLists[i] == null)
+            {
+                countryLists[i] = new ArrayList<LocaleCode>();
+            }
+
+            countryLists[i].add(lc);
+        }
+
+        for (int i = 0; i < countryLists.length; ++i)
+        {
+            countryLists[i] = (countryLists[i] == null) ? Collections.<LocaleCode>emptyList()
+                            : Collections.unmodifiableList(countryLists[i]);
+        }
+    }
+
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static List<LocaleCode>[] newListTable(int size)
+    {
+        return new List[size];
+    }
+
+
     private final LanguageCode language;
     private final CountryCode country;
     private final String string;
@@ -1069,11 +1176,13 @@ public enum LocaleCode
      * Convert this {@code LocaleCode} instance to a {@link Locale} instance.
      *
      * <p>
-     * In most cases, this method creates a new {@code Locale} instance
-     * every time it is called, but some {@code LocaleCode} instances
-     * return their corresponding entries in {@code Locale} class.
-     * For example, {@link #it LocaleCode.it} always returns
-     * {@link Locale#ITALIAN}.
+     * This method does not create a new {@code Locale} instance every time
+     * it is called. Since the version 1.30, a {@code Locale} instance is
+     * created for each {@code LocaleCode} when the class is initialized,
+     * and the same instance is returned on every call. In addition, some
+     * {@code LocaleCode} instances return their corresponding entries in
+     * {@code Locale} class. For example, {@link #it LocaleCode.it} always
+     * returns {@link Locale#ITALIAN}.
      * </p>
      *
      * <p>
@@ -1143,6 +1252,12 @@ public enum LocaleCode
      *         A {@code Locale} instance that matches this {@code LocaleCode}.
      */
     public Locale toLocale()
+    {
+        return localeTable[ordinal()];
+    }
+
+
+    private Locale createLocale()
     {
         if (country != null)
         {
@@ -1235,8 +1350,8 @@ public enum LocaleCode
      * @param caseSensitive
      *         If {@code true}, the <i>language</i> part of the given code must be
      *         lower-case and the <i>country</i> part, if not {@code null}, must be
-     *         upper-case. If false, this method internally canonicalizes
-     *         the given code and then performs search.
+     *         upper-case. If false, the case of letters in the given code
+     *         does not matter. In either case, no new string is created.
      *
      * @return
      *         A {@code LocaleCode} instance, or {@code null} if not found.
@@ -1248,22 +1363,186 @@ public enum LocaleCode
             return null;
         }
 
-        switch (code.length())
+        return getByCode(code, 0, code.length(), caseSensitive);
+    }
+
+
+    /**
+     * Get a {@code LocaleCode} that corresponds to the given code.
+     *
+     * <p>
+     * This method is the same as {@link #getByCode(String) getByCode(String)}
+     * except that it accepts any {@code CharSequence} such as {@link CharBuffer}
+     * and {@link StringBuilder}, so the caller does not have to convert the
+     * code into a string first.
+     * </p>
+     *
+     * @param code
+     *         A character sequence holding a locale code.
+     *
+     * @return
+     *         A {@code LocaleCode} instance, or {@code null} if not found.
+     *
+     * @since 1.30
+     *
+     * @see #getByCode(CharSequence, int, int, boolean)
+     */
+    public static LocaleCode getByCode(CharSequence code)
+    {
+        if (code == null)
+        {
+            return null;
+        }
+
+        return getByCode(code, 0, code.length(), true);
+    }
+
+
+    /**
+     * Get a {@code LocaleCode} that corresponds to the code in the given
+     * range of the character sequence.
+     *
+     * <p>
+     * Only the characters from {@code start} to {@code end} are examined,
+     * so a code can be resolved from the middle of a buffer without copying
+     * it. For example, {@code getByCode("ja-JP;q=0.8", 0, 5, true)}
+     * is equivalent to {@code getByCode("ja-JP", true)}.
+     * </p>
+     *
+     * @param code
+     *         A character sequence holding a locale code.
+     *
+     * @param start
+     *         The start index of the code in {@code code} (inclusive).
+     *
+     * @param end
+     *         The end index of the code in {@code code} (exclusive).
+     *
+     * @param caseSensitive
+     *         The same as the one of {@link #getByCode(String, boolean)}.
+     *
+     * @return
+     *         A {@code LocaleCode} instance, or {@code null} if not found.
+     *         {@code null} is also returned when {@code code} is {@code null}.
+     *
+     * @throws IndexOutOfBoundsException
+     *         {@code start} is negative, {@code end} is greater than the
+     *         length of {@code code}, or {@code start} is greater than {@code end}.
+     *
+     * @since 1.30
+     */
+    public static LocaleCode getByCode(CharSequence code, int start, int end, boolean caseSensitive)
+    {
+        if (code == null)
+        {
+            return null;
+        }
+
+        CodeIndex.checkRange(code.length(), start, end);
+
+        switch (end - start)
+        {
+            case 2:
+            case 9:
+                // The given code is regarded as a language code.
+                return getByCode(code, start, end, null, 0, 0, caseSensitive);
+
+            case 5:
+                return getByCombinedCode(code, start, end, caseSensitive, 2);
+
+            case 19:
+                return getByCombinedCode(code, start, end, caseSensitive, 9);
+
+            default:
+                return null;
+        }
+    }
+
+
+    /**
+     * Get a {@code LocaleCode} that corresponds to the code in the given
+     * range of the character array.
+     *
+     * <p>
+     * The array is not copied. See {@link #getByCode(CharSequence, int,
+     * int, boolean)} for details.
+     * </p>
+     *
+     * @param code
+     *         A character array holding a locale code.
+     *
+     * @param start
+     *         The start index of the code in {@code code} (inclusive).
+     *
+     * @param end
+     *         The end index of the code in {@code code} (exclusive).
+     *
+     * @param caseSensitive
+     *         The same as the one of {@link #getByCode(String, boolean)}.
+     *
+     * @return
+     *         A {@code LocaleCode} instance, or {@code null} if not found.
+     *         {@code null} is also returned when {@code code} is {@code null}.
+     *
+     * @throws IndexOutOfBoundsException
+     *         {@code start} is negative, {@code end} is greater than the
+     *         length of {@code code}, or {@code start} is greater than {@code end}.
+     *
+     * @since 1.30
+     */
+    public static LocaleCode getByCode(char[] code, int start, int end, boolean caseSensitive)
+    {
+        if (code == null)
+        {
+            return null;
+        }
+
+        CodeIndex.checkRange(code.length, start, end);
+
+        // The end of the language part.
+        int split;
+
+        switch (end - start)
         {
             case 2:
             case 9:
                 // The given code is regarded as a language code.
-                return getByCode(code, null, caseSensitive);
+                split = end;
+                break;
 
             case 5:
-                return getByCombinedCode(code, caseSensitive, 2);
+                split = start + 2;
+                break;
 
             case 19:
-                return getByCombinedCode(code, caseSensitive, 9);
+                split = start + 9;
+                break;
 
             default:
                 return null;
         }
+
+        if (split != end && code[split] != '_' && code[split] != '-')
+        {
+            // Bad format.
+            return null;
+        }
+
+        LanguageCode lc = LanguageCode.getByCode(code, start, split, caseSensitive);
+
+        if (lc == null)
+        {
+            return null;
+        }
+
+        if (split == end)
+        {
+            return getByCode(lc, null);
+        }
+
+        CountryCode cc = CountryCode.getByCode(code, split + 1, end, caseSensitive);
+
+        return (cc == null) ? null : getByCode(lc, cc);
     }
 
 
@@ -1359,39 +1638,23 @@ public enum LocaleCode
      * @param caseSensitive
      *         If {@code true}, the given language code must be lower-case and
      *         the given country code, if not {@code null}, must be upper-case.
-     *         If {@code false}, this method internally canonicalizes the given
-     *         codes and then performs search.
+     *         If {@code false}, the case of letters in the given codes does
+     *         not matter. In either case, no new string is created.
      *
      * @return
      *         A {@code LocaleCode}, or {@code null} if not found.
      */
     public static LocaleCode getByCode(String language, String country, boolean caseSensitive)
     {
-        // Canonicalize the given language code.
-        language = LanguageCode.canonicalize(language, caseSensitive);
-
         if (language == null)
         {
             // There is no LocaleCode whose language is not given.
             return null;
         }
 
-        // Canonicalize the given country code.
-        country = CountryCode.canonicalize(country, caseSensitive);
-
-        if (language.equals("undefined") && (country == null || country.equals("UNDEFINED")))
-        {
-            return LocaleCode.undefined;
-        }
+        int countryLength = (country == null) ? 0 : country.length();
 
-        if (country == null)
-        {
-            return getByEnumName(language);
-        }
-        else
-        {
-            return getByEnumName(language + "_" + country);
-        }
+        return getByCode(language, 0, language.length(), country, 0, countryLength, caseSensitive);
     }
 
 
@@ -1437,43 +1700,88 @@ public enum LocaleCode
     }
 
 
-    private static LocaleCode getByCombinedCode(String code, boolean caseSensitive, int splitPosition)
+    private static LocaleCode getByCombinedCode(
+            CharSequence code, int start, int end, boolean caseSensitive, int splitPosition)
     {
+        int split = start + splitPosition;
+
         // Get the character that separates the language code from the country code.
-        char separator = code.charAt(splitPosition);
+        char separator = code.charAt(split);
 
-        if (separator == '_')
+        if (separator != '_' && separator != '-')
         {
-            if (caseSensitive && splitPosition == 2)
-            {
-                // The given code can be handled as enum name.
-                return getByEnumName(code);
-            }
+            // Bad format.
+            return null;
         }
-        else if (separator != '-')
+
+        return getByCode(code, start, split, code, split + 1, end, caseSensitive);
+    }
+
+
+    private static LocaleCode getByCode(
+            CharSequence language, int languageStart, int languageEnd,
+            CharSequence country, int countryStart, int countryEnd, boolean caseSensitive)
+    {
+        // The language part must be an ISO 639-1 code or "undefined".
+        if (isAlpha2OrUndefined(languageStart, languageEnd) == false)
+        {
+            return null;
+        }
+
+        LanguageCode lc = LanguageCode.getByCode(language, languageStart, languageEnd, caseSensitive);
+
+        if (lc == null)
         {
-            // Bad format.
             return null;
         }
 
-        // Extract the language part and the country part from the given code.
-        String language = code.substring(0, splitPosition);
-        String country  = code.substring(splitPosition + 1);
+        // An empty country part is regarded as not given.
+        if (countryStart == countryEnd)
+        {
+            return getByCode(lc, null);
+        }
+
+        // The country part must be an ISO 3166-1 alpha-2 code or "UNDEFINED".
+        if (isAlpha2OrUndefined(countryStart, countryEnd) == false)
+        {
+            return null;
+        }
 
-        return getByCode(language, country, caseSensitive);
+        CountryCode cc = CountryCode.getByCode(country, countryStart, countryEnd, caseSensitive);
+
+        if (cc == null)
+        {
+            return null;
+        }
+
+        return getByCode(lc, cc);
     }
 
 
-    private static LocaleCode getByEnumName(String name)
+    private static boolean isAlpha2OrUndefined(int start, int end)
     {
-        try
+        // 9 is the length of "undefined" and "UNDEFINED".
+        return (end - start) == 2 || (end - start) == 9;
+    }
+
+
+    private static LocaleCode getByCode(LanguageCode language, CountryCode country)
+    {
+        if (language == LanguageCode.undefined &&
+            (country == null || country == CountryCode.UNDEFINED))
         {
-            return Enum.valueOf(LocaleCode.class, name);
+            return LocaleCode.undefined;
         }
-        catch (IllegalArgumentException e)
+
+        for (LocaleCode lc : languageTable[language.ordinal()])
         {
-            return null;
+            if (lc.country == country)
+            {
+                return lc;
+            }
         }
+
+        return null;
     }
 
 
@@ -1494,6 +1802,8 @@ public enum LocaleCode
      *         List of {@code LocaleCode} instances. If there is no {@code LocaleCode}
      *         instance whose language matches the given one, the size of the returned
      *         list is zero.
+     *         Since the version 1.30, the returned list is unmodifiable
+     *         and the same instance is returned for the same language.
      *
      * @since 1.3
      */
@@ -1518,6 +1828,8 @@ public enum LocaleCode
      *         List of {@code LocaleCode} instances. If there is no {@code LocaleCode}
      *         instance whose language matches the given one, the size of the returned
      *         list is zero.
+     *         Since the version 1.30, the returned list is unmodifiable
+     *         and the same instance is returned for the same language.
      *
      * @since 1.13
      */
@@ -1547,6 +1859,8 @@ public enum LocaleCode
      *         List of {@code LocaleCode} instances. If there is no {@code LocaleCode}
      *         instance whose language matches the given one, the size of the returned
      *         list is zero.
+     *         Since the version 1.30, the returned list is unmodifiable
+     *         and the same instance is returned for the same language.
      *
      * @since 1.3
      */
@@ -1566,27 +1880,19 @@ public enum LocaleCode
      *         List of {@code LocaleCode} instances. If there is no {@code LocaleCode}
      *         instance whose language matches the given one, the size of the returned
      *         list is zero.
+     *         Since the version 1.30, the returned list is unmodifiable
+     *         and the same instance is returned for the same language.
      *
      * @since 1.3
      */
     public static List<LocaleCode> getByLanguage(LanguageCode language)
     {
-        List<LocaleCode> list = new ArrayList<LocaleCode>();
-
         if (language == null)
         {
-            return list;
+            return Collections.emptyList();
         }
 
-        for (LocaleCode code : values())
-        {
-            if (code.getLanguage() == language)
-            {
-                list.add(code);
-            }
-        }
-
-        return list;
+        return languageLists[language.ordinal()];
     }
 
 
@@ -1607,6 +1913,8 @@ public enum LocaleCode
      *         List of {@code LocaleCode} instances. If there is no {@code LocaleCode}
      *         instance whose country matches the given one, the size of the returned
      *         list is zero.
+     *         Since the version 1.30, the returned list is unmodifiable
+     *         and the same instance is returned for the same country.
      *
      * @since 1.3
      */
@@ -1631,6 +1939,8 @@ public enum LocaleCode
      *         List of {@code LocaleCode} instances. If there is no {@code LocaleCode}
      *         instance whose country matches the given one, the size of the returned
      *         list is zero.
+     *         Since the version 1.30, the returned list is unmodifiable
+     *         and the same instance is returned for the same country.
      *
      * @since 1.13
      */
@@ -1661,6 +1971,8 @@ public enum LocaleCode
      *         List of {@code LocaleCode} instances. If there is no {@code LocaleCode}
      *         instance whose country matches the given one, the size of the returned
      *         list is zero.
+     *         Since the version 1.30, the returned list is unmodifiable
+     *         and the same instance is returned for the same country.
      *
      * @since 1.3
      */
@@ -1680,27 +1992,40 @@ public enum LocaleCode
      *         List of {@code LocaleCode} instances. If there is no {@code LocaleCode}
      *         instance whose country matches the given one, the size of the returned
      *         list is zero.
+     *         Since the version 1.30, the returned list is unmodifiable
+     *         and the same instance is returned for the same country.
      *
      * @since 1.3
      */
     public static List<LocaleCode> getByCountry(CountryCode country)
     {
-        List<LocaleCode> list = new ArrayList<LocaleCode>();
-
         if (country == null)
         {
-            return list;
+            return Collections.emptyList();
         }
 
-        for (LocaleCode code : values())
-        {
-            if (code.getCountry() == country)
-            {
-                list.add(code);
-            }
-        }
+        return countryLists[country.ordinal()];
+    }
 
-        return list;
+
+    /**
+     * Get an unmodifiable list of all the {@code LocaleCode} constants
+     * in the order they are declared.
+     *
+     * <p>
+     * Unlike {@link #values()}, this method does not copy the constants
+     * into a new array every time it is called. The same list instance
+     * is returned on every call.
+     * </p>
+     *
+     * @return
+     *         An unmodifiable list of all the {@code LocaleCode} constants.
+     *
+     * @since 1.30
+     */
+    public static List<LocaleCode> valueList()
+    {
+        return unmodifiableValues;
     }
 
 
@@ -0,0 +1,351 @@
+/*
+ * Copyright (C) 2021 Neo Visionaries Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.neovisionaries.i18n;
+
+
+import java.io.Serializable;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+
+/**
+ * Interned combination of a language, a script and a country.
+ *
+ * <p>
+ * Unlike {@link LocaleCode}, which is a closed set of language-country
+ * pairs, any combination can be represented, for example {@link
+ * LanguageCode#en en} + {@link ScriptCode#Latn Latn} + {@link CountryCode#NG
+ * NG}. Instances are interned: {@link #of(LanguageCode, ScriptCode,
+ * CountryCode)} returns the same instance for the same combination, so
+ * keys can be compared by {@code ==} and used as keys of {@code
+ * IdentityHashMap}.
+ * </p>
+ *
+ * <pre style="background-color: #EEEEEE; margin-left: 2em; margin-right: 2em; border: 1px solid black; padding: 0.5em;">
+ * LocaleKey key = LocaleKey.{@link #of(LanguageCode, ScriptCode, CountryCode)
+ * of}(LanguageCode.en, ScriptCode.Latn, CountryCode.NG);
+ *
+ * <span style="color: darkgreen;">// true</span>
+ * key == LocaleKey.of(LanguageCode.en, ScriptCode.Latn, CountryCode.NG);
+ *
+ * <span style="color: darkgreen;">// "en-Latn-NG"</span>
+ * key.toString();</pre>
+ *
+ * <p>
+ * The three ordinals are packed into an {@code int} (see {@link #toPacked()}).
+ * The intern table is indexed by the packed components and filled by
+ * compare-and-set, so neither lookups nor insertions take a lock. Each row
+ * of the table is allocated when a combination of a language and a script
+ * is used for the first time.
+ * </p>
+ *
+ * @since 1.30
+ */
+public final class LocaleKey implements Comparable<LocaleKey>, Serializable
+{
+    private static final long serialVersionUID = 1L;
+
+
+    // Each component is stored as (ordinal + 1) in 10 bits. 0 means null.
+    private static final int BITS           = 10;
+    private static final int MASK           = (1 << BITS) - 1;
+    private static final int LANGUAGE_SHIFT = BITS * 2;
+    private static final int SCRIPT_SHIFT   = BITS;
+    private static final int SCRIPT_SIZE    = ScriptCode.valueList().size() + 1;
+    private static final int COUNTRY_SIZE   = CountryCode.valueList().size() + 1;
+
+
+    /**
+     * Rows of interned keys indexed by language and script. Each row is
+     * indexed by country.
+     */
+    private static final AtomicReferenceArray<AtomicReferenceArray<LocaleKey>> table =
+        new AtomicReferenceArray<AtomicReferenceArray<LocaleKey>>(
+            (LanguageCode.valueList().size() + 1) * SCRIPT_SIZE);
+
+
+    private final LanguageCode language;
+    private final ScriptCode script;
+    private final CountryCode country;
+    private final int packed;
+
+
+    private LocaleKey(LanguageCode language, ScriptCode script, CountryCode country)
+    {
+        this.language = language;
+        this.script   = script;
+        this.country  = country;
+        this.packed   = (index(language) << LANGUAGE_SHIFT) |
+                        (index(script)   << SCRIPT_SHIFT)   |
+                         index(country);
+    }
+
+
+    private static int index(Enum<?> code)
+    {
+        return (code == null) ? 0 : code.ordinal() + 1;
+    }
+
+
+    /**
+     * Get the {@code LocaleKey} for the given combination.
+     *
+     * @param language
+     *         A language, or {@code null}.
+     *
+     * @param script
+     *         A script, or {@code null}.
+     *
+     * @param country
+     *         A country, or {@code null}.
+     *
+     * @return
+     *         The interned {@code LocaleKey}. The same instance is returned
+     *         for the same combination.
+     */
+    public static LocaleKey of(LanguageCode language, ScriptCode script, CountryCode country)
+    {
+        int rowIndex = index(language) * SCRIPT_SIZE + index(script);
+        AtomicReferenceArray<LocaleKey> row = table.get(rowIndex);
+
+        if (row == null)
+        {
+            // Another thread may set a row first. Use the one set.
+            table.compareAndSet(rowIndex, null, new AtomicReferenceArray<LocaleKey>(COUNTRY_SIZE));
+            row = table.get(rowIndex);
+        }
+
+        int column    = index(country);
+        LocaleKey key = row.get(column);
+
+        if (key == null)
+        {
+            row.compareAndSet(column, null, new LocaleKey(language, script, country));
+            key = row.get(column);
+        }
+
+        return key;
+    }
+
+
+    /**
+     * Get the {@code LocaleKey} for the given language and country.
+     *
+     * <p>
+     * This method is an alias of {@link #of(LanguageCode, ScriptCode, CountryCode)
+     * of}{@code (language, null, country)}.
+     * </p>
+     *
+     * @param language
+     *         A language, or {@code null}.
+     *
+     * @param country
+     *         A country, or {@code null}.
+     *
+     * @return
+     *         The interned {@code LocaleKey}.
+     */
+    public static LocaleKey of(LanguageCode language, CountryCode country)
+    {
+        return of(language, null, country);
+    }
+
+
+    /**
+     * Get the {@code LocaleKey} for the language and the country of the
+     * given {@code LocaleCode}.
+     *
+     * @param locale
+     *         A {@code LocaleCode}.
+     *
+     * @return
+     *         The interned {@code LocaleKey}, or {@code null} if {@code
+     *         null} is given.
+     */
+    public static LocaleKey of(LocaleCode locale)
+    {
+        if (locale == null)
+        {
+            return null;
+        }
+
+        return of(locale.getLanguage(), null, locale.getCountry());
+    }
+
+
+    /**
+     * Get the {@code LocaleKey} for the value returned by {@link #toPacked()}.
+     *
+     * @param packed
+     *         A packed value.
+     *
+     * @return
+     *         The interned {@code LocaleKey}.
+     *
+     * @throws IllegalArgumentException
+     *         {@code packed} is not a valid packed value.
+     */
+    public static LocaleKey fromPacked(int packed)
+    {
+        int language = (packed >>> LANGUAGE_SHIFT) & MASK;
+        int script   = (packed >>> SCRIPT_SHIFT)   & MASK;
+        int country  =  packed                     & MASK;
+
+        if ((packed >>> (BITS * 3)) != 0 ||
+            LanguageCode.valueList().size() < language ||
+            ScriptCode.valueList().size()   < script   ||
+            CountryCode.valueList().size()  < country)
+        {
+            throw new IllegalArgumentException("packed is not a valid packed value: " + packed);
+        }
+
+        return of(
+            (language == 0) ? null : LanguageCode.valueList().get(language - 1),
+            (script   == 0) ? null : ScriptCode.valueList().get(script - 1),
+            (country  == 0) ? null : CountryCode.valueList().get(country - 1));
+    }
+
+
+    /**
+     * Get the language.
+     *
+     * @return
+     *         The language, or {@code null}.
+     */
+    public LanguageCode getLanguage()
+    {
+        return language;
+    }
+
+
+    /**
+     * Get the script.
+     *
+     * @return
+     *         The script, or {@code null}.
+     */
+    public ScriptCode getScript()
+    {
+        return script;
+    }
+
+
+    /**
+     * Get the country.
+     *
+     * @return
+     *         The country, or {@code null}.
+     */
+    public CountryCode getCountry()
+    {
+        return country;
+    }
+
+
+    /**
+     * Get the packed value of this key.
+     *
+     * <p>
+     * Bits 20-29 hold the ordinal of the language, bits 10-19 the ordinal
+     * of the script, and bits 0-9 the ordinal of the country, each plus 1.
+     * 0 means that the component is {@code null}. Because the value depends
+     * on ordinals, it should be read by the same version of this library.
+     * </p>
+     *
+     * @return
+     *         The packed value.
+     */
+    public int toPacked()
+    {
+        return packed;
+    }
+
+
+    /**
+     * Get the {@code LocaleCode} that has the same language and country.
+     *
+     * @return
+     *         The {@code LocaleCode}, or {@code null} if this key has a script
+     *         or there is no {@code LocaleCode} for the combination.
+     */
+    public LocaleCode toLocaleCode()
+    {
+        if (language == null || script != null)
+        {
+            return null;
+        }
+
+        for (LocaleCode locale : LocaleCode.getByLanguage(language))
+        {
+            if (locale.getCountry() == country)
+            {
+                return locale;
+            }
+        }
+
+        return null;
+    }
+
+
+    /**
+     * Compare by the packed values.
+     */
+    public int compareTo(LocaleKey other)
+    {
+        return (packed < other.packed) ? -1 : (packed == other.packed) ? 0 : 1;
+    }
+
+
+    @Override
+    public int hashCode()
+    {
+        return packed;
+    }
+
+
+    /**
+     * Get the language tag of this key, such as {@code "en-Latn-NG"}.
+     * {@code "und"} is used when the language is {@code null}.
+     *
+     * @return
+     *         The language tag.
+     */
+    @Override
+    public String toString()
+    {
+        StringBuilder sb = new StringBuilder();
+
+        sb.append((language == null) ? "und" : language.name());
+
+        if (script != null)
+        {
+            sb.append('-').append(script.name());
+        }
+
+        if (country != null)
+        {
+            sb.append('-').append(country.name());
+        }
+
+        return sb.toString();
+    }
+
+
+    private Object readResolve()
+    {
+        // Keep the instances interned after deserialization.
+        return of(language, script, country);
+    }
+}
@@ -0,0 +1,411 @@
+/*
+ * Copyright (C) 2021 Neo Visionaries Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.neovisionaries.i18n;
+
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+
+/**
+ * Negotiator that chooses a supported {@link LocaleCode} for the value
+ * of an HTTP {@code Accept-Language} header.
+ *
+ * <pre style="background-color: #EEEEEE; margin-left: 2em; margin-right: 2em; border: 1px solid black; padding: 0.5em;">
+ * LocaleNegotiator negotiator = new LocaleNegotiator(
+ *     Arrays.asList(LocaleCode.en, LocaleCode.ja, LocaleCode.zh));
+ *
+ * <span style="color: darkgreen;">// LocaleCode.zh (zh-TW falls back to zh)</span>
+ * LocaleCode locale = negotiator.{@link #negotiate(CharSequence)
+ * negotiate}(<span style="color: darkred;">"zh-TW,ja;q=0.8,en;q=0.5"</span>);</pre>
+ *
+ * <p>
+ * The header is parsed in one pass without regular expressions or substrings.
+ * Each language range is looked up by {@link LocaleCode#getByCode(CharSequence,
+ * int, int, boolean)} in place, and its quality value is parsed as an integer
+ * in thousandths. The range with the highest quality value that matches a
+ * supported locale wins, and the earlier one wins when quality values are
+ * equal. Ranges with {@code q=0} and ranges with a malformed quality value
+ * are ignored.
+ * </p>
+ *
+ * <p>
+ * A range matches a supported locale as follows.
+ * </p>
+ *
+ * <ol>
+ * <li>If the range itself is a supported locale, it matches.
+ * <li>Otherwise, the language of the range ({@link LocaleCode#getLanguage()},
+ *     or the first subtag when the range is not a {@code LocaleCode}, for
+ *     example {@code "zh"} of {@code "zh-Hant-TW"}) is used. The supported
+ *     locale that has the language and no country matches. If there is no
+ *     such locale, the first supported locale that has the language matches.
+ * <li>{@code "*"} matches the first supported locale.
+ * </ol>
+ *
+ * <p>
+ * Results are cached per distinct header value in a bounded LRU cache, so
+ * the same header is parsed only once. Any {@code CharSequence} is looked up
+ * by its content, so a header given as a view of a request buffer hits the
+ * cache as well as a {@code String}. Headers longer than {@link
+ * #MAX_CACHED_LENGTH} characters are not cached. An instance is thread-safe.
+ * Lookups in the cache do not take a lock nor write to memory shared by the
+ * threads, and a full cache evicts entries in batches, so that the cache
+ * stays cheap when it is used on every request.
+ * </p>
+ *
+ * @since 1.30
+ */
+public final class LocaleNegotiator
+{
+    /**
+     * The default maximum number of cached header values (256).
+     */
+    public static final int DEFAULT_CACHE_SIZE = 256;
+
+
+    /**
+     * The maximum length of a header value to be cached (256).
+     */
+    public static final int MAX_CACHED_LENGTH = 256;
+
+
+    private final List<LocaleCode> supportedLocales;
+    private final boolean[] supported = new boolean[LocaleCode.valueList().size()];
+    private final LocaleCode[] languageTable = new LocaleCode[LanguageCode.valueList().size()];
+
+
+    /**
+     * Results keyed by header value, or {@code null} when the cache is
+     * disabled. The value of an entry is {@code null} when no supported
+     * locale matches the header.
+     */
+    private final LruCache<String, LocaleCode> cache;
+
+
+    /**
+     * Create a negotiator with the default cache size.
+     *
+     * @param supportedLocales
+     *         Supported locales in the order of preference.
+     *
+     * @throws IllegalArgumentException
+     *         {@code supportedLocales} is {@code null} or empty, or
+     *         contains {@code null}.
+     */
+    public LocaleNegotiator(Collection<LocaleCode> supportedLocales)
+    {
+        this(supportedLocales, DEFAULT_CACHE_SIZE);
+    }
+
+
+    /**
+     * Create a negotiator.
+     *
+     * @param supportedLocales
+     *         Supported locales in the order of preference.
+     *
+     * @param cacheSize
+     *         The maximum number of cached header values. 0 disables the cache.
+     *
+     * @throws IllegalArgumentException
+     *         {@code supportedLocales} is {@code null} or empty, or
+     *         contains {@code null}, or {@code cacheSize} is negative.
+     */
+    public LocaleNegotiator(Collection<LocaleCode> supportedLocales, int cacheSize)
+    {
+        if (supportedLocales == null || supportedLocales.isEmpty())
+        {
+            throw new IllegalArgumentException("supportedLocales is null or empty.");
+        }
+
+        if (cacheSize < 0)
+        {
+            throw new IllegalArgumentException("cacheSize is negative.");
+        }
+
+        List<LocaleCode> list = new ArrayList<LocaleCode>(supportedLocales);
+
+        for (LocaleCode locale : list)
+        {
+            if (locale == null)
+            {
+                throw new IllegalArgumentException("supportedLocales contains null.");
+            }
+
+            supported[locale.ordinal()] = true;
+
+            int language       = locale.getLanguage().ordinal();
+            LocaleCode current = languageTable[language];
+
+            // The first locale without a country is preferred as a fallback,
+            // and the first locale with the language comes next.
+            if (current == null || (current.getCountry() != null && locale.getCountry() == null))
+            {
+                languageTable[language] = locale;
+            }
+        }
+
+        this.supportedLocales = Collections.unmodifiableList(list);
+        this.cache            = (cacheSize == 0) ? null : new LruCache<String, LocaleCode>(cacheSize);
+    }
+
+
+    /**
+     * Get the supported locales.
+     *
+     * @return
+     *         An unmodifiable list of the supported locales.
+     */
+    public List<LocaleCode> getSupportedLocales()
+    {
+        return supportedLocales;
+    }
+
+
+    /**
+     * Choose the supported locale that best matches the given
+     * {@code Accept-Language} header value.
+     *
+     * @param acceptLanguage
+     *         The value of an {@code Accept-Language} header.
+     *
+     * @return
+     *         The best matching supported locale, or {@code null} if no
+     *         range matches or if {@code null} is given.
+     */
+    public LocaleCode negotiate(CharSequence acceptLanguage)
+    {
+        if (acceptLanguage == null)
+        {
+            return null;
+        }
+
+        if (cache == null || MAX_CACHED_LENGTH < acceptLanguage.length())
+        {
+            return parse(acceptLanguage);
+        }
+
+        // The key is a copy of the content, because a CharSequence other than
+        // a String may be a view of a buffer that is reused. toString() of a
+        // String returns the String itself.
+        String key = acceptLanguage.toString();
+        LruCache.Entry<LocaleCode> entry = cache.get(key);
+
+        if (entry != null)
+        {
+            return entry.value;
+        }
+
+        LocaleCode locale = parse(key);
+
+        cache.put(key, locale);
+
+        return locale;
+    }
+
+
+    /**
+     * Choose the supported locale that best matches the given
+     * {@code Accept-Language} header value, or return the default.
+     *
+     * @param acceptLanguage
+     *         The value of an {@code Accept-Language} header.
+     *
+     * @param defaultLocale
+     *         The locale to return when no range matches.
+     *
+     * @return
+     *         The best matching supported locale, or {@code defaultLocale}.
+     */
+    public LocaleCode negotiate(CharSequence acceptLanguage, LocaleCode defaultLocale)
+    {
+        LocaleCode locale = negotiate(acceptLanguage);
+
+        return (locale != null) ? locale : defaultLocale;
+    }
+
+
+    private LocaleCode parse(CharSequence header)
+    {
+        LocaleCode best = null;
+        int bestQuality = 0;
+        int length      = header.length();
+
+        for (int start = 0; start < length && bestQuality < 1000; )
+        {
+            // The range and its parameters end at the next comma.
+            int end        = indexOf(header, ',', start, length);
+            int semicolon  = indexOf(header, ';', start, end);
+            int rangeEnd   = trimEnd(header, start, semicolon);
+            int rangeStart = trimStart(header, start, rangeEnd);
+            int quality    = 1000;
+
+            for (int p = semicolon; p < end; )
+            {
+                int next = indexOf(header, ';', p + 1, end);
+                int ps   = trimStart(header, p + 1, next);
+                int pe   = trimEnd(header, ps, next);
+
+                if (2 <= pe - ps && (header.charAt(ps) | 0x20) == 'q' && header.charAt(ps + 1) == '=')
+                {
+                    quality = parseQuality(header, ps + 2, pe);
+                }
+
+                p = next;
+            }
+
+            if (rangeStart < rangeEnd && bestQuality < quality)
+            {
+                LocaleCode locale = match(header, rangeStart, rangeEnd);
+
+                if (locale != null)
+                {
+                    best        = locale;
+                    bestQuality = quality;
+                }
+            }
+
+            start = end + 1;
+        }
+
+        return best;
+    }
+
+
+    private LocaleCode match(CharSequence header, int start, int end)
+    {
+        if (end - start == 1 && header.charAt(start) == '*')
+        {
+            return supportedLocales.get(0);
+        }
+
+        LocaleCode locale = LocaleCode.getByCode(header, start, end, false);
+
+        if (locale != null && supported[locale.ordinal()])
+        {
+            return locale;
+        }
+
+        // Fall back to the language, e.g. from "zh-TW" to "zh".
+        LanguageCode language;
+
+        if (locale != null)
+        {
+            language = locale.getLanguage();
+        }
+        else
+        {
+            int subtagEnd = indexOf(header, '-', start, end);
+
+            language = LanguageCode.getByCode(header, start, subtagEnd, false);
+        }
+
+        return (language == null) ? null : languageTable[language.ordinal()];
+    }
+
+
+    /**
+     * Parse a quality value into thousandths.
+     *
+     * @return
+     *         0 to 1000, or -1 if the value is malformed.
+     */
+    private static int parseQuality(CharSequence s, int start, int end)
+    {
+        if (start == end || 5 < end - start)
+        {
+            return -1;
+        }
+
+        char ch = s.charAt(start);
+
+        if (ch != '0' && ch != '1')
+        {
+            return -1;
+        }
+
+        int quality = (ch - '0') * 1000;
+
+        if (start + 1 == end)
+        {
+            return quality;
+        }
+
+        if (s.charAt(start + 1) != '.')
+        {
+            return -1;
+        }
+
+        for (int i = start + 2, scale = 100; i < end; ++i, scale /= 10)
+        {
+            ch = s.charAt(i);
+
+            if (ch < '0' || '9' < ch)
+            {
+                return -1;
+            }
+
+            quality += (ch - '0') * scale;
+        }
+
+        return (1000 < quality) ? -1 : quality;
+    }
+
+
+    private static int indexOf(CharSequence s, char target, int start, int end)
+    {
+        for (int i = start; i < end; ++i)
+        {
+            if (s.charAt(i) == target)
+            {
+                return i;
+            }
+        }
+
+        return end;
+    }
+
+
+    private static int trimStart(CharSequence s, int start, int end)
+    {
+        while (start < end && isWhitespace(s.charAt(start)))
+        {
+            ++start;
+        }
+
+        return start;
+    }
+
+
+    private static int trimEnd(CharSequence s, int start, int end)
+    {
+        while (start < end && isWhitespace(s.charAt(end - 1)))
+        {
+            --end;
+        }
+
+        return end;
+    }
+
+
+    private static boolean isWhitespace(char ch)
+    {
+        return ch == ' ' || ch == '\t';
+    }
+}
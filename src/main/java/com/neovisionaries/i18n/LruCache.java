@@ -0,0 +1,279 @@
+/*
+ * Copyright (C) 2021 Neo Visionaries Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.neovisionaries.i18n;
+
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+
+/**
+ * Bounded cache that evicts approximately least recently used entries.
+ * Used by {@link FindByNameCache} and {@link LocaleNegotiator}.
+ *
+ * <p>
+ * Entries are held in a {@link ConcurrentHashMap}, so lookups do not take
+ * a lock. The clock that orders the entries advances only when an entry is
+ * added. A lookup stamps the entry as used after the latest addition, and
+ * skips the write when the entry already has the stamp. So a hit reads the
+ * clock but never writes to memory shared by all the threads, and entries
+ * used by many threads are not written on every hit. Entries used between
+ * two additions are regarded as equally recent.
+ * </p>
+ *
+ * <p>
+ * When the cache grows beyond the maximum size, the least recently used
+ * entries are evicted in a batch that brings the size down to 7/8 of the
+ * maximum, so the scan of the entries is paid once per about {@code
+ * maxSize / 8} additions rather than on every addition. A thread that finds
+ * another thread evicting does not wait for it, so the size may exceed the
+ * maximum briefly while entries are being added by multiple threads.
+ * </p>
+ *
+ * @param <K>
+ *         The type of keys.
+ *
+ * @param <V>
+ *         The type of values. {@code null} can be cached.
+ */
+final class LruCache<K, V>
+{
+    /**
+     * A cached value and the time when it was used last.
+     */
+    static final class Entry<V>
+    {
+        final V value;
+        volatile long lastUsed;
+
+
+        Entry(V value, long lastUsed)
+        {
+            this.value    = value;
+            this.lastUsed = lastUsed;
+        }
+    }
+
+
+    private final Map<K, Entry<V>> map = new ConcurrentHashMap<K, Entry<V>>();
+    private final AtomicLong evictionCount = new AtomicLong();
+    private final ReentrantLock evictionLock = new ReentrantLock();
+
+
+    /**
+     * Advanced by 2 per addition. An added entry is stamped with the even
+     * value, and a used entry with the odd value after it, so an entry used
+     * after an addition is more recent than the added entry.
+     */
+    private final AtomicLong clock = new AtomicLong();
+    private volatile int maxSize;
+
+
+    LruCache(int maxSize)
+    {
+        this.maxSize = maxSize;
+    }
+
+
+    /**
+     * Get the entry of the given key.
+     *
+     * @return
+     *         The entry, or {@code null} if not cached. The value of
+     *         the entry may be {@code null}.
+     */
+    Entry<V> get(K key)
+    {
+        Entry<V> entry = map.get(key);
+
+        if (entry != null)
+        {
+            long now = clock.get() + 1;
+
+            if (entry.lastUsed != now)
+            {
+                entry.lastUsed = now;
+            }
+        }
+
+        return entry;
+    }
+
+
+    /**
+     * Cache the value. Nothing is cached when the maximum size is 0.
+     */
+    void put(K key, V value)
+    {
+        int max = maxSize;
+
+        if (max == 0)
+        {
+            return;
+        }
+
+        map.put(key, new Entry<V>(value, clock.addAndGet(2)));
+
+        // A thread that fails to take the lock leaves its entry to the thread
+        // holding it, which checks the size again after releasing the lock.
+        while (max < map.size() && evictionLock.tryLock())
+        {
+            try
+            {
+                evict(max - max / 8);
+            }
+            finally
+            {
+                evictionLock.unlock();
+            }
+        }
+    }
+
+
+    /**
+     * Evict the least recently used entries until at most {@code target}
+     * entries are left. Must be called with {@link #evictionLock} held.
+     */
+    private void evict(int target)
+    {
+        long[] stamps = new long[map.size()];
+        int count     = 0;
+
+        for (Entry<V> entry : map.values())
+        {
+            // Entries may be added while iterating.
+            if (count == stamps.length)
+            {
+                break;
+            }
+
+            stamps[count++] = entry.lastUsed;
+        }
+
+        int excess = count - target;
+
+        if (excess <= 0)
+        {
+            return;
+        }
+
+        Arrays.sort(stamps, 0, count);
+
+        // Entries older than the threshold are all evicted, and entries
+        // stamped with the threshold are evicted until enough are gone.
+        long threshold = stamps[excess - 1];
+        int ties       = excess - lowerBound(stamps, count, threshold);
+
+        for (Iterator<Entry<V>> it = map.values().iterator(); it.hasNext(); )
+        {
+            long lastUsed = it.next().lastUsed;
+
+            if (lastUsed < threshold || (lastUsed == threshold && 0 < ties--))
+            {
+                it.remove();
+                evictionCount.incrementAndGet();
+            }
+        }
+    }
+
+
+    /**
+     * Get the index of the first element that is equal to the value
+     * in the first {@code length} elements of the sorted array.
+     */
+    private static int lowerBound(long[] sorted, int length, long value)
+    {
+        int low  = 0;
+        int high = length;
+
+        while (low < high)
+        {
+            int middle = (low + high) >>> 1;
+
+            if (sorted[middle] < value)
+            {
+                low = middle + 1;
+            }
+            else
+            {
+                high = middle;
+            }
+        }
+
+        return low;
+    }
+
+
+    int getMaxSize()
+    {
+        return maxSize;
+    }
+
+
+    /**
+     * Set the maximum size and evict entries beyond it.
+     */
+    void setMaxSize(int maxSize)
+    {
+        this.maxSize = maxSize;
+
+        evictionLock.lock();
+
+        try
+        {
+            evict(maxSize);
+        }
+        finally
+        {
+            evictionLock.unlock();
+        }
+    }
+
+
+    int size()
+    {
+        return map.size();
+    }
+
+
+    long getEvictionCount()
+    {
+        return evictionCount.get();
+    }
+
+
+    /**
+     * Remove all the entries and reset the eviction count to 0.
+     */
+    void clear()
+    {
+        evictionLock.lock();
+
+        try
+        {
+            map.clear();
+            evictionCount.set(0);
+        }
+        finally
+        {
+            evictionLock.unlock();
+        }
+    }
+}
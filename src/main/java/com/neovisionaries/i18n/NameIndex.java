@@ -0,0 +1,694 @@
+/*
+ * Copyright (C) 2021 Neo Visionaries Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.neovisionaries.i18n;
+
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+
+/**
+ * Index of the names of enum constants.
+ *
+ * <p>
+ * Names are lower-cased once when the index is built, so searches
+ * ignore case without compiling or running a regular expression.
+ * </p>
+ *
+ * <ul>
+ * <li>Prefix search runs a binary search on the names sorted in
+ *     lexicographical order. Names that share a prefix are adjacent
+ *     in the sorted array, so the array works as a flattened prefix
+ *     trie.
+ * <li>Token search runs a binary search on the sorted list of the
+ *     words that appear in the names (an inverted index). A word is
+ *     a run of letters and digits.
+ * <li>Substring search looks up the character sequences (up to three
+ *     characters) of the given string in an inverted index of the
+ *     sequences that appear in the names. Only the names that contain
+ *     the rarest sequence are examined.
+ * <li>Fuzzy search looks up the trigrams (sequences of three characters)
+ *     of the given string in an inverted index and ranks names by the
+ *     ratio of shared trigrams. Typos and missing words lower the ratio
+ *     only a little, so similar names are found.
+ * </ul>
+ *
+ * <p>
+ * Every search returns a new list. Except for fuzzy search, the elements
+ * are in the order of declaration, like {@code findByName(Pattern)}
+ * methods do.
+ * </p>
+ *
+ * <p>
+ * An index is not modified after it is built, so it can be used by
+ * multiple threads without synchronization.
+ * </p>
+ *
+ * @param <E>
+ *         The enum type.
+ *
+ * @since 1.30
+ */
+final class NameIndex<E extends Enum<E>>
+{
+    /**
+     * The maximum length of the character sequences used by substring search.
+     */
+    private static final int SEQUENCE_LENGTH = 3;
+
+
+    /**
+     * The constants indexed by ordinal.
+     */
+    private final E[] constants;
+
+
+    /**
+     * Lower-cased names indexed by ordinal. An element is {@code null}
+     * if the corresponding constant does not have a name.
+     */
+    private final String[] names;
+
+
+    /**
+     * Lower-cased names sorted in lexicographical order.
+     */
+    private final String[] sortedNames;
+
+
+    /**
+     * The ordinals of the constants in the same order as {@link #sortedNames}.
+     */
+    private final int[] sortedOrdinals;
+
+
+    /**
+     * Lower-cased words that appear in the names, sorted in
+     * lexicographical order.
+     */
+    private final String[] tokens;
+
+
+    /**
+     * The ordinals of the constants whose name contains the word.
+     * The elements are in the same order as {@link #tokens} and each
+     * array is sorted in ascending order.
+     */
+    private final int[][] postings;
+
+
+    /**
+     * Trigrams that appear in the names, sorted in ascending order.
+     * See {@link #trigrams(String)} for the encoding.
+     */
+    private final long[] trigramKeys;
+
+
+    /**
+     * The ordinals of the constants whose name contains the trigram.
+     * The elements are in the same order as {@link #trigramKeys}.
+     */
+    private final int[][] trigramPostings;
+
+
+    /**
+     * The number of distinct trigrams in each name, indexed by ordinal.
+     */
+    private final int[] trigramCounts;
+
+
+    /**
+     * Sequences of 1 to {@link #SEQUENCE_LENGTH} characters that appear in
+     * the names, sorted in ascending order. See {@link #sequence(String, int,
+     * int)} for the encoding. Unlike trigrams, names are not split into
+     * words, so a sequence may contain spaces and punctuation.
+     */
+    private final long[] sequenceKeys;
+
+
+    /**
+     * The ordinals of the constants whose name contains the sequence.
+     * The elements are in the same order as {@link #sequenceKeys} and
+     * each array is sorted in ascending order.
+     */
+    private final int[][] sequencePostings;
+
+
+    /**
+     * Build an index.
+     *
+     * @param constants
+     *         The constants indexed by ordinal.
+     *
+     * @param names
+     *         The names of the constants indexed by ordinal.
+     *         An element may be {@code null}.
+     */
+    NameIndex(E[] constants, String[] names)
+    {
+        this.constants = constants;
+        this.names     = new String[names.length];
+
+        // Lower-cased names and the ordinals of the constants that have them.
+        Map<String, List<Integer>> sorted = new TreeMap<String, List<Integer>>();
+        int count = 0;
+
+        for (int i = 0; i < names.length; ++i)
+        {
+            if (names[i] != null)
+            {
+                this.names[i] = names[i].toLowerCase(Locale.ENGLISH);
+                add(sorted, this.names[i], i);
+                ++count;
+            }
+        }
+
+        sortedNames    = new String[count];
+        sortedOrdinals = new int[count];
+
+        int position = 0;
+
+        for (Map.Entry<String, List<Integer>> entry : sorted.entrySet())
+        {
+            // Constants with the same name keep the order of declaration.
+            for (Integer ordinal : entry.getValue())
+            {
+                sortedNames[position]    = entry.getKey();
+                sortedOrdinals[position] = ordinal;
+                ++position;
+            }
+        }
+
+        // Build the inverted index.
+        Map<String, List<Integer>> inverted = new TreeMap<String, List<Integer>>();
+
+        for (int i = 0; i < this.names.length; ++i)
+        {
+            if (this.names[i] != null)
+            {
+                addTokens(inverted, this.names[i], i);
+            }
+        }
+
+        tokens   = new String[inverted.size()];
+        postings = new int[inverted.size()][];
+
+        position = 0;
+
+        for (Map.Entry<String, List<Integer>> entry : inverted.entrySet())
+        {
+            List<Integer> ordinals = entry.getValue();
+
+            tokens[position]   = entry.getKey();
+            postings[position] = new int[ordinals.size()];
+
+            for (int i = 0; i < ordinals.size(); ++i)
+            {
+                postings[position][i] = ordinals.get(i);
+            }
+
+            ++position;
+        }
+
+        // Build the trigram index.
+        Map<Long, List<Integer>> grams = new TreeMap<Long, List<Integer>>();
+        trigramCounts = new int[names.length];
+
+        for (int i = 0; i < this.names.length; ++i)
+        {
+            if (this.names[i] == null)
+            {
+                continue;
+            }
+
+            long[] keys = trigrams(this.names[i]);
+
+            for (long key : keys)
+            {
+                List<Integer> list = grams.get(key);
+
+                if (list == null)
+                {
+                    list = new ArrayList<Integer>();
+                    grams.put(key, list);
+                }
+
+                list.add(i);
+            }
+
+            trigramCounts[i] = keys.length;
+        }
+
+        trigramKeys     = new long[grams.size()];
+        trigramPostings = new int[grams.size()][];
+
+        position = 0;
+
+        for (Map.Entry<Long, List<Integer>> entry : grams.entrySet())
+        {
+            List<Integer> ordinals = entry.getValue();
+
+            trigramKeys[position]     = entry.getKey();
+            trigramPostings[position] = new int[ordinals.size()];
+
+            for (int i = 0; i < ordinals.size(); ++i)
+            {
+                trigramPostings[position][i] = ordinals.get(i);
+            }
+
+            ++position;
+        }
+
+        // Build the index of character sequences for substring search.
+        Map<Long, List<Integer>> sequences = new TreeMap<Long, List<Integer>>();
+
+        for (int i = 0; i < this.names.length; ++i)
+        {
+            String name = this.names[i];
+
+            if (name == null)
+            {
+                continue;
+            }
+
+            for (int start = 0; start < name.length(); ++start)
+            {
+                int last = Math.min(start + SEQUENCE_LENGTH, name.length());
+
+                for (int end = start + 1; end <= last; ++end)
+                {
+                    add(sequences, sequence(name, start, end), i);
+                }
+            }
+        }
+
+        sequenceKeys     = new long[sequences.size()];
+        sequencePostings = new int[sequences.size()][];
+
+        position = 0;
+
+        for (Map.Entry<Long, List<Integer>> entry : sequences.entrySet())
+        {
+            List<Integer> ordinals = entry.getValue();
+
+            sequenceKeys[position]     = entry.getKey();
+            sequencePostings[position] = new int[ordinals.size()];
+
+            for (int i = 0; i < ordinals.size(); ++i)
+            {
+                sequencePostings[position][i] = ordinals.get(i);
+            }
+
+            ++position;
+        }
+    }
+
+
+    private static <K> void add(Map<K, List<Integer>> map, K key, int ordinal)
+    {
+        List<Integer> list = map.get(key);
+
+        if (list == null)
+        {
+            list = new ArrayList<Integer>();
+            map.put(key, list);
+        }
+
+        // Ordinals are added in ascending order. Skip duplicates.
+        if (list.isEmpty() || list.get(list.size() - 1) != ordinal)
+        {
+            list.add(ordinal);
+        }
+    }
+
+
+    private static void addTokens(Map<String, List<Integer>> map, String name, int ordinal)
+    {
+        int length = name.length();
+        int start  = -1;
+
+        for (int i = 0; i <= length; ++i)
+        {
+            boolean inWord = (i < length) && Character.isLetterOrDigit(name.charAt(i));
+
+            if (inWord && start < 0)
+            {
+                start = i;
+            }
+            else if (inWord == false && 0 <= start)
+            {
+                add(map, name.substring(start, i), ordinal);
+                start = -1;
+            }
+        }
+    }
+
+
+    /**
+     * Find constants whose name starts with the given prefix (case insensitive).
+     *
+     * @throws IllegalArgumentException
+     *         {@code prefix} is {@code null}.
+     */
+    List<E> findByPrefix(String prefix)
+    {
+        if (prefix == null)
+        {
+            throw new IllegalArgumentException("prefix is null.");
+        }
+
+        String key = prefix.toLowerCase(Locale.ENGLISH);
+
+        // The first name which is not less than the prefix.
+        int from = Arrays.binarySearch(sortedNames, key);
+
+        if (from < 0)
+        {
+            from = -(from + 1);
+        }
+        else
+        {
+            // binarySearch() may find any of equal names.
+            while (0 < from && sortedNames[from - 1].equals(key))
+            {
+                --from;
+            }
+        }
+
+        int to = from;
+
+        while (to < sortedNames.length && sortedNames[to].startsWith(key))
+        {
+            ++to;
+        }
+
+        // Return the constants in the order of declaration.
+        int[] ordinals = new int[to - from];
+        System.arraycopy(sortedOrdinals, from, ordinals, 0, ordinals.length);
+        Arrays.sort(ordinals);
+
+        return toList(ordinals, ordinals.length);
+    }
+
+
+    /**
+     * Find constants whose name contains the given word (case insensitive).
+     *
+     * @throws IllegalArgumentException
+     *         {@code token} is {@code null}.
+     */
+    List<E> findByToken(String token)
+    {
+        if (token == null)
+        {
+            throw new IllegalArgumentException("token is null.");
+        }
+
+        int position = Arrays.binarySearch(tokens, token.toLowerCase(Locale.ENGLISH));
+
+        if (position < 0)
+        {
+            return new ArrayList<E>();
+        }
+
+        return toList(postings[position], postings[position].length);
+    }
+
+
+    /**
+     * Find constants whose name contains the given string (case insensitive).
+     *
+     * @throws IllegalArgumentException
+     *         {@code substring} is {@code null}.
+     */
+    List<E> findByContains(String substring)
+    {
+        if (substring == null)
+        {
+            throw new IllegalArgumentException("substring is null.");
+        }
+
+        String key = substring.toLowerCase(Locale.ENGLISH);
+        int length = key.length();
+        List<E> list = new ArrayList<E>();
+
+        if (length == 0)
+        {
+            // Every name contains the empty string.
+            for (int i = 0; i < names.length; ++i)
+            {
+                if (names[i] != null)
+                {
+                    list.add(constants[i]);
+                }
+            }
+
+            return list;
+        }
+
+        // The postings of the sequence that the fewest names contain.
+        int[] candidates = null;
+        int n = Math.min(length, SEQUENCE_LENGTH);
+
+        for (int start = 0; start + n <= length; ++start)
+        {
+            int position = Arrays.binarySearch(sequenceKeys, sequence(key, start, start + n));
+
+            if (position < 0)
+            {
+                // No name contains the sequence.
+                return list;
+            }
+
+            if (candidates == null || sequencePostings[position].length < candidates.length)
+            {
+                candidates = sequencePostings[position];
+            }
+        }
+
+        if (length <= SEQUENCE_LENGTH)
+        {
+            // The sequence is the whole string.
+            return toList(candidates, candidates.length);
+        }
+
+        for (int ordinal : candidates)
+        {
+            if (names[ordinal].indexOf(key) >= 0)
+            {
+                list.add(constants[ordinal]);
+            }
+        }
+
+        return list;
+    }
+
+
+    /**
+     * Find constants whose name is similar to the given string (case
+     * insensitive), in descending order of similarity.
+     *
+     * <p>
+     * The similarity is the number of trigrams shared by the two strings
+     * divided by the number of distinct trigrams in either of them.
+     * Constants that do not share any trigram are not returned. Constants
+     * with the same similarity are in the order of declaration.
+     * </p>
+     *
+     * @throws IllegalArgumentException
+     *         {@code name} is {@code null} or {@code limit} is negative.
+     */
+    List<E> findBySimilarity(String name, int limit)
+    {
+        if (name == null)
+        {
+            throw new IllegalArgumentException("name is null.");
+        }
+
+        if (limit < 0)
+        {
+            throw new IllegalArgumentException("limit is negative.");
+        }
+
+        long[] query = trigrams(name.toLowerCase(Locale.ENGLISH));
+
+        if (limit == 0 || query.length == 0)
+        {
+            return new ArrayList<E>();
+        }
+
+        // The number of trigrams shared with the query, indexed by ordinal.
+        int[] shared = new int[constants.length];
+
+        for (long key : query)
+        {
+            int position = Arrays.binarySearch(trigramKeys, key);
+
+            if (position < 0)
+            {
+                continue;
+            }
+
+            for (int ordinal : trigramPostings[position])
+            {
+                ++shared[ordinal];
+            }
+        }
+
+        // The best candidates in descending order of similarity.
+        int[] best = new int[limit];
+        double[] scores = new double[limit];
+        int count = 0;
+
+        for (int ordinal = 0; ordinal < shared.length; ++ordinal)
+        {
+            if (shared[ordinal] == 0)
+            {
+                continue;
+            }
+
+            double score = (double)shared[ordinal] /
+                    (query.length + trigramCounts[ordinal] - shared[ordinal]);
+
+            if (count == limit && score <= scores[count - 1])
+            {
+                continue;
+            }
+
+            // Insertion into the sorted candidates. The last one is
+            // dropped when there is no room.
+            int i = (count < limit) ? count++ : count - 1;
+
+            for (; 0 < i && scores[i - 1] < score; --i)
+            {
+                best[i]   = best[i - 1];
+                scores[i] = scores[i - 1];
+            }
+
+            best[i]   = ordinal;
+            scores[i] = score;
+        }
+
+        return toList(best, count);
+    }
+
+
+    /**
+     * Get the distinct trigrams of the given lower-cased string in
+     * ascending order.
+     *
+     * <p>
+     * The string is split into words (runs of letters and digits) and
+     * each word is padded with two spaces at the beginning and one space
+     * at the end. For example, the trigrams of {@code "viet nam"} are
+     * "&nbsp;&nbsp;v", "&nbsp;vi", "vie", "iet", "et&nbsp;", "&nbsp;&nbsp;n",
+     * "&nbsp;na", "nam" and "am&nbsp;". Each trigram is encoded into a
+     * {@code long} value by packing the three characters.
+     * </p>
+     */
+    static long[] trigrams(String string)
+    {
+        int length = string.length();
+
+        // Each word of n characters has n + 1 trigrams.
+        long[] keys = new long[length * 2 + 1];
+        int count = 0;
+        char c0 = ' ';
+        char c1 = ' ';
+
+        for (int i = 0; i <= length; ++i)
+        {
+            char ch = (i < length) ? string.charAt(i) : ' ';
+
+            if (Character.isLetterOrDigit(ch) == false)
+            {
+                // The end of a word.
+                if (c1 != ' ')
+                {
+                    keys[count++] = pack(c0, c1, ' ');
+                }
+
+                c0 = ' ';
+                c1 = ' ';
+                continue;
+            }
+
+            keys[count++] = pack(c0, c1, ch);
+            c0 = c1;
+            c1 = ch;
+        }
+
+        Arrays.sort(keys, 0, count);
+
+        // Remove duplicates.
+        int distinct = 0;
+
+        for (int i = 0; i < count; ++i)
+        {
+            if (distinct == 0 || keys[distinct - 1] != keys[i])
+            {
+                keys[distinct++] = keys[i];
+            }
+        }
+
+        long[] result = new long[distinct];
+        System.arraycopy(keys, 0, result, 0, distinct);
+
+        return result;
+    }
+
+
+    private static long pack(char c0, char c1, char c2)
+    {
+        return ((long)c0 << 32) | ((long)c1 << 16) | c2;
+    }
+
+
+    /**
+     * Encode the characters in the given range (1 to {@link
+     * #SEQUENCE_LENGTH} characters) into a {@code long} value in the
+     * same way as {@link #pack(char, char, char)}. Unused leading
+     * positions are 0, so sequences of different lengths do not collide.
+     */
+    private static long sequence(String string, int start, int end)
+    {
+        long key = 0;
+
+        for (int i = start; i < end; ++i)
+        {
+            key = (key << 16) | string.charAt(i);
+        }
+
+        return key;
+    }
+
+
+    private List<E> toList(int[] ordinals, int count)
+    {
+        List<E> list = new ArrayList<E>(count);
+
+        for (int i = 0; i < count; ++i)
+        {
+            list.add(constants[ordinals[i]]);
+        }
+
+        return list;
+    }
+}
@@ -16,10 +16,12 @@
 package com.neovisionaries.i18n;
 
 
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
-import java.util.Map;
 import java.util.regex.Pattern;
 
 
@@ -1026,20 +1028,76 @@ public enum ScriptCode
 
 
     /**
-     * Map to look up ScriptCode by numeric code.
+     * All the constants in the order they are declared. Used instead of
+     * {@link #values()}, which creates a copy of the array on every call.
      */
-    private static final Map<Integer, ScriptCode> numericMap = new HashMap<Integer, ScriptCode>();
+    private static final ScriptCode[] valueTable = values();
+
+
+    /**
+     * An unmodifiable view of {@link #valueTable}.
+     */
+    private static final List<ScriptCode> unmodifiableValues =
+        Collections.unmodifiableList(Arrays.asList(valueTable));
+
+
+    /**
+     * Holder of the index of the names, used by {@link #findByNamePrefix(String)},
+     * {@link #findByNameToken(String)}, {@link #findByNameContains(String)} and
+     * {@link #findByNameFuzzy(String, int)}. The index is built when one of the
+     * methods is called for the first time, so loading this enum does not
+     * pay for it.
+     */
+    private static final class NameIndexHolder
+    {
+        static final NameIndex<ScriptCode> nameIndex = createNameIndex();
+    }
+
+
+    /**
+     * Indexes of alpha-4 codes in ascending order.
+     */
+    private static final int[] alpha4Indexes;
+
+
+    /**
+     * ScriptCode instances in the same order as alpha4Indexes.
+     */
+    private static final ScriptCode[] alpha4Table;
+
+
+    /**
+     * Table to look up ScriptCode by numeric code.
+     */
+    private static final ScriptCode[] numericTable = new ScriptCode[CodeIndex.NUMERIC_SIZE];
 
 
     static
     {
-        for (ScriptCode sc : values())
+        ScriptCode[] values = valueTable;
+
+        // All the entries except Undefined have an alpha-4 code.
+        alpha4Indexes = new int[values.length - 1];
+        alpha4Table   = new ScriptCode[values.length - 1];
+
+        int count = 0;
+
+        for (ScriptCode sc : values)
         {
+            if (sc.name().length() == 4)
+            {
+                alpha4Indexes[count] = index(sc.name(), 0, 4, true);
+                alpha4Table[count]   = sc;
+                ++count;
+            }
+
             if (sc.getNumeric() != -1)
             {
-                numericMap.put(sc.getNumeric(), sc);
+                numericTable[sc.getNumeric()] = sc;
             }
         }
+
+        CodeIndex.sort(alpha4Indexes, alpha4Table);
     }
 
 
@@ -1147,7 +1205,7 @@ public enum ScriptCode
      *         whether letters are capital or small does not matter.
      *         For example, {@code getByCode("JPAN", true)} returns
      *         {@code null} but {@code getByCode("JPAN", false)} returns
-     *         {@link #Jpan}.
+     *         {@link #Jpan}. In either case, no new string is created.
      *
      * @return
      *         A {@code ScriptCode} instance, or {@code null} if not found.
@@ -1159,113 +1217,331 @@ public enum ScriptCode
             return null;
         }
 
-        switch (code.length())
+        return getByCode(code, 0, code.length(), caseSensitive);
+    }
+
+
+    /**
+     * Get a {@code ScriptCode} that corresponds to the given code.
+     *
+     * <p>
+     * This method is the same as {@link #getByCode(String) getByCode(String)}
+     * except that it accepts any {@code CharSequence} such as {@link CharBuffer}
+     * and {@link StringBuilder}, so the caller does not have to convert the
+     * code into a string first.
+     * </p>
+     *
+     * @param code
+     *         A character sequence holding an ISO 15924 alpha-4 code.
+     *
+     * @return
+     *         A {@code ScriptCode} instance, or {@code null} if not found.
+     *
+     * @since 1.30
+     *
+     * @see #getByCode(CharSequence, int, int, boolean)
+     */
+    public static ScriptCode getByCode(CharSequence code)
+    {
+        if (code == null)
+        {
+            return null;
+        }
+
+        return getByCode(code, 0, code.length(), true);
+    }
+
+
+    /**
+     * Get a {@code ScriptCode} that corresponds to the code in the given
+     * range of the character sequence.
+     *
+     * <p>
+     * Only the characters from {@code start} to {@code end} are examined,
+     * so a code can be resolved from the middle of a buffer without copying
+     * it. For example, {@code getByCode("ja-Jpan-JP", 3, 7, true)}
+     * is equivalent to {@code getByCode("Jpan", true)}.
+     * </p>
+     *
+     * @param code
+     *         A character sequence holding an ISO 15924 alpha-4 code.
+     *
+     * @param start
+     *         The start index of the code in {@code code} (inclusive).
+     *
+     * @param end
+     *         The end index of the code in {@code code} (exclusive).
+     *
+     * @param caseSensitive
+     *         The same as the one of {@link #getByCode(String, boolean)}.
+     *
+     * @return
+     *         A {@code ScriptCode} instance, or {@code null} if not found.
+     *         {@code null} is also returned when {@code code} is {@code null}.
+     *
+     * @throws IndexOutOfBoundsException
+     *         {@code start} is negative, {@code end} is greater than the
+     *         length of {@code code}, or {@code start} is greater than {@code end}.
+     *
+     * @since 1.30
+     */
+    public static ScriptCode getByCode(CharSequence code, int start, int end, boolean caseSensitive)
+    {
+        if (code == null)
+        {
+            return null;
+        }
+
+        CodeIndex.checkRange(code.length(), start, end);
+
+        switch (end - start)
         {
             case 4:
+                return CodeIndex.find(alpha4Indexes, alpha4Table,
+                        index(code, start, end, caseSensitive));
+
             case 9:
-                break;
+                if (CodeIndex.matches(code, start, end, "Undefined", caseSensitive))
+                {
+                    return ScriptCode.Undefined;
+                }
+                // FALLTHROUGH
 
             default:
                 return null;
         }
+    }
 
-        code = canonicalize(code, caseSensitive);
 
-        try
+    /**
+     * Get a {@code ScriptCode} that corresponds to the code in the given
+     * range of the character array.
+     *
+     * <p>
+     * The array is not copied. See {@link #getByCode(CharSequence, int,
+     * int, boolean)} for details.
+     * </p>
+     *
+     * @param code
+     *         A character array holding an ISO 15924 alpha-4 code.
+     *
+     * @param start
+     *         The start index of the code in {@code code} (inclusive).
+     *
+     * @param end
+     *         The end index of the code in {@code code} (exclusive).
+     *
+     * @param caseSensitive
+     *         The same as the one of {@link #getByCode(String, boolean)}.
+     *
+     * @return
+     *         A {@code ScriptCode} instance, or {@code null} if not found.
+     *         {@code null} is also returned when {@code code} is {@code null}.
+     *
+     * @throws IndexOutOfBoundsException
+     *         {@code start} is negative, {@code end} is greater than the
+     *         length of {@code code}, or {@code start} is greater than {@code end}.
+     *
+     * @since 1.30
+     */
+    public static ScriptCode getByCode(char[] code, int start, int end, boolean caseSensitive)
+    {
+        if (code == null)
         {
-            return Enum.valueOf(ScriptCode.class, code);
+            return null;
         }
-        catch (IllegalArgumentException e)
+
+        CodeIndex.checkRange(code.length, start, end);
+
+        switch (end - start)
         {
-            return null;
+            case 4:
+                return getByIndex(4, index(
+                        CodeIndex.index(code, start, start + 1, true, caseSensitive),
+                        CodeIndex.index(code, start + 1, end, false, caseSensitive)));
+
+            case 9:
+                if (CodeIndex.matches(code, start, end, "Undefined", caseSensitive))
+                {
+                    return ScriptCode.Undefined;
+                }
+                // FALLTHROUGH
+
+            default:
+                return null;
         }
     }
 
 
     /**
-     * Get a {@code ScriptCode} instance that corresponds to the given
-     * ISO 15924 numeric code.
+     * Get the {@code ScriptCode} whose code consists of the given number of
+     * letters and has the given index computed by {@link CodeIndex}. Used
+     * by {@link CodeResolver} and by the {@code char[]} lookups. {@code null}
+     * is returned when the index is -1.
+     */
+    static ScriptCode getByIndex(int length, int index)
+    {
+        switch (length)
+        {
+            case 4:
+                // The index of an alpha-4 code computed by index(CharSequence,
+                // int, int, boolean) is the same as the base-26 index.
+                return CodeIndex.find(alpha4Indexes, alpha4Table, index);
+
+            default:
+                return null;
+        }
+    }
+
+
+    /**
+     * Get a {@code ScriptCode} that corresponds to the ISO 15924 alpha-4 code
+     * stored as 4 ASCII bytes at the given offset of the array.
+     *
+     * <p>
+     * The bytes are examined in place, so a code in a fixed-width record
+     * can be resolved without decoding it into a string first. The code
+     * must be capitalized (e.g. {@code "Jpan"}).
+     * </p>
      *
      * @param code
-     *         ISO 15924 numeric code.
+     *         A byte array holding the code.
+     *
+     * @param offset
+     *         The position of the first byte of the code.
      *
      * @return
      *         A {@code ScriptCode} instance, or {@code null} if not found.
-     *         If 0 or a negative value is given, {@code null} is returned.
+     *         {@code null} is also returned when {@code code} is {@code null}.
+     *
+     * @throws IndexOutOfBoundsException
+     *         The code does not fit in the array.
+     *
+     * @since 1.30
      */
-    public static ScriptCode getByCode(int code)
+    public static ScriptCode getByCode(byte[] code, int offset)
     {
-        if (code <= 0)
+        if (code == null)
         {
             return null;
         }
 
-        return numericMap.get(code);
+        CodeIndex.checkRange(code.length, offset, offset + 4);
+
+        return CodeIndex.find(alpha4Indexes, alpha4Table, index(
+                CodeIndex.index(code, offset, 1, true),
+                CodeIndex.index(code, offset + 1, 3, false)));
     }
 
 
-    private static String canonicalize(String code, boolean caseSensitive)
+    /**
+     * Get a {@code ScriptCode} that corresponds to the ISO 15924 alpha-4 code
+     * stored as 4 ASCII bytes at the given absolute position of the buffer.
+     *
+     * <p>
+     * The bytes are examined in place, so a code in a fixed-width record
+     * can be resolved without decoding it into a string first. The position
+     * and the limit of the buffer are not changed. The code must be capitalized
+     * (e.g. {@code "Jpan"}).
+     * </p>
+     *
+     * @param code
+     *         A buffer holding the code.
+     *
+     * @param offset
+     *         The absolute position of the first byte of the code.
+     *
+     * @return
+     *         A {@code ScriptCode} instance, or {@code null} if not found.
+     *         {@code null} is also returned when {@code code} is {@code null}.
+     *
+     * @throws IndexOutOfBoundsException
+     *         The code does not fit within the limit of the buffer.
+     *
+     * @since 1.30
+     */
+    public static ScriptCode getByCode(ByteBuffer code, int offset)
     {
-        if (code == null || code.length() == 0)
+        if (code == null)
         {
             return null;
         }
 
-        if (caseSensitive)
-        {
-            return code;
-        }
+        CodeIndex.checkRange(code.limit(), offset, offset + 4);
 
-        // A new instance is assigned to this variable
-        // if modification is needed.
-        StringBuilder sb = null;
+        return CodeIndex.find(alpha4Indexes, alpha4Table, index(
+                CodeIndex.index(code, offset, 1, true),
+                CodeIndex.index(code, offset + 1, 3, false)));
+    }
 
-        for (int i = 0; i < code.length(); ++i)
-        {
-            char ch = code.charAt(i);
 
-            // The first letter.
-            if (i == 0)
-            {
-                if (Character.isUpperCase(ch) == false)
-                {
-                    // Modification is needed.
-                    sb = new StringBuilder();
-                    sb.append(Character.toUpperCase(ch));
-                }
-            }
-            // The second and subsequent letters.
-            else
-            {
-                if (sb == null)
-                {
-                    if (Character.isLowerCase(ch) == false)
-                    {
-                        // Modification is needed.
-                        sb = new StringBuilder();
+    /**
+     * Compute the index of an alpha-4 code whose first letter is
+     * capital and the other letters are small (e.g. "Jpan").
+     */
+    private static int index(CharSequence code, int start, int end, boolean caseSensitive)
+    {
+        return index(
+                CodeIndex.index(code, start, start + 1, true, caseSensitive),
+                CodeIndex.index(code, start + 1, end, false, caseSensitive));
+    }
 
-                        // Copy all the previous letters so far.
-                        sb.append(code.substring(0, i));
 
-                        // Lower the current letter.
-                        sb.append(Character.toLowerCase(ch));
-                    }
-                }
-                else
-                {
-                    sb.append(Character.toLowerCase(ch));
-                }
-            }
-        }
-
-        if (sb == null)
+    /**
+     * Combine the index of the first letter and the index of the
+     * other letters of an alpha-4 code.
+     */
+    private static int index(int first, int rest)
+    {
+        if (first < 0 || rest < 0)
         {
-            return code;
+            return -1;
         }
-        else
+
+        return first * CodeIndex.ALPHA3_SIZE + rest;
+    }
+
+
+    /**
+     * Get a {@code ScriptCode} instance that corresponds to the given
+     * ISO 15924 numeric code.
+     *
+     * @param code
+     *         ISO 15924 numeric code.
+     *
+     * @return
+     *         A {@code ScriptCode} instance, or {@code null} if not found.
+     *         If 0 or a negative value is given, {@code null} is returned.
+     */
+    public static ScriptCode getByCode(int code)
+    {
+        if (code <= 0 || numericTable.length <= code)
         {
-            return sb.toString();
+            return null;
         }
+
+        return numericTable[code];
+    }
+
+
+    /**
+     * Get an unmodifiable list of all the {@code ScriptCode} constants
+     * in the order they are declared.
+     *
+     * <p>
+     * Unlike {@link #values()}, this method does not copy the constants
+     * into a new array every time it is called. The same list instance
+     * is returned on every call.
+     * </p>
+     *
+     * @return
+     *         An unmodifiable list of all the {@code ScriptCode} constants.
+     *
+     * @since 1.30
+     */
+    public static List<ScriptCode> valueList()
+    {
+        return unmodifiableValues;
     }
 
 
@@ -1277,6 +1553,12 @@ public enum ScriptCode
      * findByName}{@code (Pattern.compile(regex))}.
      * </p>
      *
+     * <p>
+     * Since the version 1.30, the result is cached in {@link FindByNameCache}.
+     * When the same regular expression is given again, a copy of the cached
+     * result is returned without compiling the regular expression.
+     * </p>
+     *
      * @param regex
      *         Regular expression for names.
      *
@@ -1299,11 +1581,22 @@ public enum ScriptCode
             throw new IllegalArgumentException("regex is null.");
         }
 
-        // Compile the regular expression. This may throw
-        // java.util.regex.PatternSyntaxException.
-        Pattern pattern = Pattern.compile(regex);
+        List<ScriptCode> list = FindByNameCache.get(ScriptCode.class, regex);
+
+        if (list == null)
+        {
+            // Compile the regular expression. This may throw
+            // java.util.regex.PatternSyntaxException.
+            Pattern pattern = Pattern.compile(regex);
+
+            list = findByName(pattern);
+
+            FindByNameCache.put(ScriptCode.class, regex, list);
+        }
 
-        return findByName(pattern);
+        // The cached list is shared, so return a copy which the caller
+        // can modify.
+        return new ArrayList<ScriptCode>(list);
     }
 
 
@@ -1349,7 +1642,7 @@ public enum ScriptCode
 
         List<ScriptCode> list = new ArrayList<ScriptCode>();
 
-        for (ScriptCode entry : values())
+        for (ScriptCode entry : valueTable)
         {
             // If the name matches the given pattern.
             if (pattern.matcher(entry.getName()).matches())
@@ -1360,4 +1653,143 @@ public enum ScriptCode
 
         return list;
     }
+
+
+    /**
+     * Get a list of {@code ScriptCode} whose name starts with the given prefix.
+     *
+     * <p>
+     * The comparison ignores case. Unlike {@link #findByName(Pattern)},
+     * this method does not use a regular expression. It searches an index
+     * of the names, which is built on the first name search. For example,
+     * {@code findByNamePrefix("han")} returns the same constants as
+     * {@code findByName("(?i)han.*")}.
+     * </p>
+     *
+     * @param prefix
+     *         The prefix of names. If an empty string is given, all the
+     *         constants that have a name are returned.
+     *
+     * @return
+     *         List of {@code ScriptCode} in the order of declaration.
+     *         If nothing has matched, an empty list is returned.
+     *
+     * @throws IllegalArgumentException
+     *         {@code prefix} is {@code null}.
+     *
+     * @since 1.30
+     */
+    public static List<ScriptCode> findByNamePrefix(String prefix)
+    {
+        return NameIndexHolder.nameIndex.findByPrefix(prefix);
+    }
+
+
+    /**
+     * Get a list of {@code ScriptCode} whose name contains the given word.
+     *
+     * <p>
+     * A word is a run of letters and digits in a name. The comparison
+     * ignores case. For example, {@code findByNameToken("han")} finds
+     * the constants whose name contains the word "han", but not
+     * the constants whose name contains "han" only as a part of
+     * a longer word. The word is looked up in an index built on the
+     * first name search.
+     * </p>
+     *
+     * @param token
+     *         A word.
+     *
+     * @return
+     *         List of {@code ScriptCode} in the order of declaration.
+     *         If nothing has matched, an empty list is returned.
+     *
+     * @throws IllegalArgumentException
+     *         {@code token} is {@code null}.
+     *
+     * @since 1.30
+     */
+    public static List<ScriptCode> findByNameToken(String token)
+    {
+        return NameIndexHolder.nameIndex.findByToken(token);
+    }
+
+
+    /**
+     * Get a list of {@code ScriptCode} whose name contains the given string.
+     *
+     * <p>
+     * The comparison ignores case. This method compares the given string
+     * with the names that are lower-cased in advance, so it does not compile
+     * or run a regular expression.
+     * </p>
+     *
+     * @param substring
+     *         A string to search for. If an empty string is given, all the
+     *         constants that have a name are returned.
+     *
+     * @return
+     *         List of {@code ScriptCode} in the order of declaration.
+     *         If nothing has matched, an empty list is returned.
+     *
+     * @throws IllegalArgumentException
+     *         {@code substring} is {@code null}.
+     *
+     * @since 1.30
+     */
+    public static List<ScriptCode> findByNameContains(String substring)
+    {
+        return NameIndexHolder.nameIndex.findByContains(substring);
+    }
+
+
+    /**
+     * Get a list of {@code ScriptCode} whose name is similar to the given
+     * string, in descending order of similarity.
+     *
+     * <p>
+     * This method tolerates typos, different word orders and missing words.
+     * For example, {@code findByNameFuzzy("Cyrilic", 1)} returns a list containing {@link #Cyrl}.
+     * The similarity is computed from the trigrams (sequences of three
+     * letters) shared by the given string and a name, ignoring case. The
+     * trigrams of the names are indexed on the first name search, so
+     * this method does not scan the names. This method can be called from
+     * multiple threads concurrently. It does not lock anything.
+     * </p>
+     *
+     * @param name
+     *         A name to search for, such as a free-text name received from
+     *         another system.
+     *
+     * @param limit
+     *         The maximum number of {@code ScriptCode} instances returned.
+     *
+     * @return
+     *         List of {@code ScriptCode}. The most similar one comes first.
+     *         Constants with the same similarity are in the order of
+     *         declaration. If no name shares a trigram with the given
+     *         string, an empty list is returned.
+     *
+     * @throws IllegalArgumentException
+     *         {@code name} is {@code null} or {@code limit} is negative.
+     *
+     * @since 1.30
+     */
+    public static List<ScriptCode> findByNameFuzzy(String name, int limit)
+    {
+        return NameIndexHolder.nameIndex.findBySimilarity(name, limit);
+    }
+
+
+    private static NameIndex<ScriptCode> createNameIndex()
+    {
+        String[] names = new String[valueTable.length];
+
+        for (int i = 0; i < valueTable.length; ++i)
+        {
+            names[i] = valueTable[i].getName();
+        }
+
+        return new NameIndex<ScriptCode>(valueTable, names);
+    }
 }
@@ -0,0 +1,130 @@
+/*
+ * Copyright (C) 2021 Neo Visionaries Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.neovisionaries.i18n;
+
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.junit.Test;
+
+
+public class BulkNormalizerTest
+{
+    @Test
+    public void test1()
+    {
+        CharSequence[] codes = { "jp", "Jpn", null, "xx", new StringBuilder("us") };
+
+        BulkNormalizer.Result<CountryCode> result = BulkNormalizer.COUNTRY.normalize(codes);
+        CountryCode[] values = result.getValues();
+
+        assertSame(CountryCode.JP, values[0]);
+        assertSame(CountryCode.JP, values[1]);
+        assertNull(values[2]);
+        assertNull(values[3]);
+        assertSame(CountryCode.US, values[4]);
+        assertEquals(1, result.getChunkCount());
+        assertEquals(2, result.getMissCount());
+    }
+
+
+    @Test
+    public void test2() throws InterruptedException
+    {
+        CurrencyCode[] currencies = CurrencyCode.values();
+        CharSequence[] codes = new CharSequence[10007];
+
+        for (int i = 0; i < codes.length; ++i)
+        {
+            // Every 10th code is invalid.
+            codes[i] = (i % 10 == 0) ? "???" : currencies[i % currencies.length].name().toLowerCase();
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        try
+        {
+            BulkNormalizer.Result<CurrencyCode> result =
+                BulkNormalizer.CURRENCY.normalize(codes, executor, 1000);
+
+            assertEquals(11, result.getChunkCount());
+            assertEquals(1000, result.getChunkSize());
+            assertEquals(100, result.getMissCount(0));
+            assertEquals(1, result.getMissCount(10));
+            assertEquals(1001, result.getMissCount());
+
+            for (int i = 0; i < codes.length; ++i)
+            {
+                assertSame(CurrencyCode.getByCodeIgnoreCase(codes[i].toString()), result.getValues()[i]);
+            }
+        }
+        finally
+        {
+            executor.shutdown();
+        }
+    }
+
+
+    @Test
+    public void test3() throws InterruptedException
+    {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        try
+        {
+            BulkNormalizer.Result<LanguageCode> result =
+                BulkNormalizer.LANGUAGE.normalize(new CharSequence[0], executor, 10);
+
+            assertEquals(0, result.getValues().length);
+            assertEquals(0, result.getChunkCount());
+            assertEquals(0, result.getMissCount());
+        }
+        finally
+        {
+            executor.shutdown();
+        }
+    }
+
+
+    @Test
+    public void test4()
+    {
+        CharSequence[] codes = { "Latn", "LATN", "ja-jp", "JA_JP", "eng" };
+
+        assertSame(ScriptCode.Latn, BulkNormalizer.SCRIPT.normalize(codes).getValues()[1]);
+        assertSame(LocaleCode.ja_JP, BulkNormalizer.LOCALE.normalize(codes).getValues()[3]);
+        assertSame(LanguageAlpha3Code.eng, BulkNormalizer.LANGUAGE_ALPHA3.normalize(codes).getValues()[4]);
+    }
+
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test5() throws InterruptedException
+    {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        try
+        {
+            BulkNormalizer.COUNTRY.normalize(new CharSequence[1], executor, 0);
+        }
+        finally
+        {
+            executor.shutdown();
+        }
+    }
+}
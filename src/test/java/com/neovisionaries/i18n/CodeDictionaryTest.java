@@ -0,0 +1,220 @@
+/*
+ * Copyright (C) 2021 Neo Visionaries Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.neovisionaries.i18n;
+
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+import java.io.UnsupportedEncodingException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.junit.Test;
+
+
+public class CodeDictionaryTest
+{
+    private static byte[] ascii(String s)
+    {
+        try
+        {
+            return s.getBytes("US-ASCII");
+        }
+        catch (UnsupportedEncodingException e)
+        {
+            throw new AssertionError(e);
+        }
+    }
+
+
+    @Test
+    public void test1()
+    {
+        // All the constants but the sentinel.
+        assertEquals(CountryCode.valueList().size() - 1, CodeDictionary.COUNTRY.size());
+        assertEquals(CurrencyCode.valueList().size() - 1, CodeDictionary.CURRENCY.size());
+        assertEquals(LanguageCode.valueList().size() - 1, CodeDictionary.LANGUAGE.size());
+        assertEquals(ScriptCode.valueList().size() - 1, CodeDictionary.SCRIPT.size());
+    }
+
+
+    @Test
+    public void test2()
+    {
+        int index = CodeDictionary.COUNTRY.indexOf(CountryCode.JP);
+
+        assertEquals("JP", CodeDictionary.COUNTRY.getCodes().get(index));
+        assertSame(CountryCode.JP, CodeDictionary.COUNTRY.get(index));
+        assertEquals(-1, CodeDictionary.COUNTRY.indexOf(null));
+    }
+
+
+    @Test
+    public void test3()
+    {
+        byte[] data    = ascii("JPXXUS");
+        int[]  offsets = { 0, 2, 4, 6 };
+        int[]  indices = new int[3];
+
+        assertEquals(1, CodeDictionary.COUNTRY.encode(data, offsets, 3, indices));
+        assertEquals(CodeDictionary.COUNTRY.indexOf(CountryCode.JP), indices[0]);
+        assertEquals(-1, indices[1]);
+        assertEquals(CodeDictionary.COUNTRY.indexOf(CountryCode.US), indices[2]);
+
+        byte[] decoded = CodeDictionary.COUNTRY.decode(indices, 3, offsets);
+
+        assertArrayEquals(ascii("JPUS"), decoded);
+        assertArrayEquals(new int[] { 0, 2, 2, 4 }, offsets);
+    }
+
+
+    @Test
+    public void test4()
+    {
+        // Empty values, values of other lengths and non-exact codes are not found.
+        byte[] data    = ascii("USDusdUSDXJPY");
+        int[]  offsets = { 0, 3, 3, 6, 10, 13 };
+        int[]  indices = new int[5];
+
+        assertEquals(3, CodeDictionary.CURRENCY.encode(data, offsets, 5, indices));
+        assertEquals(CodeDictionary.CURRENCY.indexOf(CurrencyCode.USD), indices[0]);
+        assertEquals(-1, indices[1]);
+        assertEquals(-1, indices[2]);
+        assertEquals(-1, indices[3]);
+        assertEquals(CodeDictionary.CURRENCY.indexOf(CurrencyCode.JPY), indices[4]);
+    }
+
+
+    @Test
+    public void test5()
+    {
+        byte[] data    = ascii("jaLatnen");
+        int[]  offsets = { 0, 2, 6, 8 };
+        int[]  indices = new int[3];
+
+        assertEquals(1, CodeDictionary.LANGUAGE.encode(data, offsets, 3, indices));
+        assertEquals(CodeDictionary.LANGUAGE.indexOf(LanguageCode.ja), indices[0]);
+        assertEquals(CodeDictionary.LANGUAGE.indexOf(LanguageCode.en), indices[2]);
+
+        assertEquals(2, CodeDictionary.SCRIPT.encode(data, offsets, 3, indices));
+        assertEquals(CodeDictionary.SCRIPT.indexOf(ScriptCode.Latn), indices[1]);
+    }
+
+
+    @Test
+    public void test6()
+    {
+        // Every code is decoded and encoded back into the same index.
+        CodeDictionary<CountryCode> dictionary = CodeDictionary.COUNTRY;
+        int count = dictionary.size();
+        int[] indices = new int[count];
+        int[] offsets = new int[count + 1];
+        int[] encoded = new int[count];
+
+        for (int i = 0; i < count; ++i)
+        {
+            indices[i] = i;
+        }
+
+        byte[] data = dictionary.decode(indices, count, offsets);
+
+        assertEquals(0, dictionary.encode(data, offsets, count, encoded));
+
+        for (int i = 0; i < count; ++i)
+        {
+            String code = dictionary.getCodes().get(i);
+
+            assertEquals(code, new String(data, offsets[i], offsets[i + 1] - offsets[i]));
+            assertEquals(i, encoded[i]);
+        }
+    }
+
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test7()
+    {
+        CodeDictionary.COUNTRY.decode(new int[] { CodeDictionary.COUNTRY.size() }, 1, new int[2]);
+    }
+
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test8()
+    {
+        CodeDictionary.COUNTRY.encode(ascii("JP"), new int[] { 0, 2 }, 2, new int[2]);
+    }
+
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void test9()
+    {
+        CodeDictionary.COUNTRY.encode(ascii("JP"), new int[] { 0, 3 }, 1, new int[1]);
+    }
+
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void test10()
+    {
+        CodeDictionary.COUNTRY.getCodes().set(0, "XX");
+    }
+
+
+    @Test
+    public void test11()
+    {
+        // Sentinels are not in the dictionary.
+        assertEquals(-1, CodeDictionary.COUNTRY.indexOf(CountryCode.UNDEFINED));
+        assertEquals(-1, CodeDictionary.CURRENCY.indexOf(CurrencyCode.UNDEFINED));
+        assertEquals(-1, CodeDictionary.LANGUAGE.indexOf(LanguageCode.undefined));
+        assertEquals(-1, CodeDictionary.SCRIPT.indexOf(ScriptCode.Undefined));
+        assertFalse(CodeDictionary.COUNTRY.getCodes().contains("UNDEFINED"));
+    }
+
+
+    @Test
+    public void test12()
+    {
+        // The codes are sorted by their letters, independently of ordinals.
+        List<String> codes = CodeDictionary.CURRENCY.getCodes();
+        List<String> sorted = new ArrayList<String>(codes);
+
+        Collections.sort(sorted);
+
+        assertEquals(sorted, codes);
+        assertEquals("AED", codes.get(0));
+        assertEquals(0, CodeDictionary.CURRENCY.indexOf(CurrencyCode.AED));
+    }
+
+
+    @Test
+    public void test13()
+    {
+        // offsets is not changed when an index is invalid.
+        int[] offsets = { 7, 7, 7, 7 };
+
+        try
+        {
+            CodeDictionary.COUNTRY.decode(new int[] { 0, -1, -2 }, 3, offsets);
+            fail();
+        }
+        catch (IllegalArgumentException e)
+        {
+            assertArrayEquals(new int[] { 7, 7, 7, 7 }, offsets);
+        }
+    }
+}
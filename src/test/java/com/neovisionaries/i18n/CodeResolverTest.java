@@ -0,0 +1,174 @@
+/*
+ * Copyright (C) 2021 Neo Visionaries Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.neovisionaries.i18n;
+
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
+import org.junit.Test;
+
+
+public class CodeResolverTest
+{
+    private static void assertResolved(String token, boolean caseSensitive, CodeResolver.Result result)
+    {
+        CodeResolver.resolveAll(token, 0, token.length(), caseSensitive, result);
+
+        assertSame(token, CountryCode.getByCode(token, caseSensitive), result.getCountry());
+        assertSame(token, LanguageCode.getByCode(token, caseSensitive), result.getLanguage());
+        assertSame(token, LanguageAlpha3Code.getByCode(token, caseSensitive), result.getLanguageAlpha3());
+        assertSame(token, CurrencyCode.getByCode(token, caseSensitive), result.getCurrency());
+        assertSame(token, ScriptCode.getByCode(token, caseSensitive), result.getScript());
+        assertSame(token, LocaleCode.getByCode(token, caseSensitive), result.getLocale());
+    }
+
+
+    @Test
+    public void test1()
+    {
+        CodeResolver.Result result = CodeResolver.resolveAll("JPY");
+
+        assertSame(CurrencyCode.JPY, result.getCurrency());
+        assertNull(result.getCountry());
+        assertEquals(1, result.getCount());
+    }
+
+
+    @Test
+    public void test2()
+    {
+        CodeResolver.Result result = CodeResolver.resolveAll("jpn");
+
+        assertSame(LanguageCode.ja, result.getLanguage());
+        assertSame(LanguageAlpha3Code.jpn, result.getLanguageAlpha3());
+        assertEquals(2, result.getCount());
+
+        // The same instance is reused and its old properties are cleared.
+        assertSame(result, CodeResolver.resolveAll("JPN", result));
+        assertSame(CountryCode.JP, result.getCountry());
+        assertNull(result.getLanguage());
+        assertEquals(1, result.getCount());
+    }
+
+
+    @Test
+    public void test3()
+    {
+        CodeResolver.Result result = CodeResolver.resolveAll("392");
+
+        assertSame(CountryCode.JP, result.getCountry());
+        assertSame(CurrencyCode.JPY, result.getCurrency());
+        assertEquals(2, result.getCount());
+
+        assertTrue(CodeResolver.resolveAll("39").isEmpty());
+        assertTrue(CodeResolver.resolveAll("J1").isEmpty());
+        assertTrue(CodeResolver.resolveAll("").isEmpty());
+        assertTrue(CodeResolver.resolveAll((CharSequence)null).isEmpty());
+    }
+
+
+    @Test
+    public void test4()
+    {
+        CodeResolver.Result result = new CodeResolver.Result();
+
+        // "id" is an ISO 639-1 code and "ID" is an ISO 3166-1 code.
+        CodeResolver.resolveAll("cur=id;", 4, 6, false, result);
+
+        assertSame(CountryCode.ID, result.getCountry());
+        assertSame(LanguageCode.id, result.getLanguage());
+        assertSame(LanguageAlpha3Code.ind, result.getLanguageAlpha3());
+        assertSame(LocaleCode.id, result.getLocale());
+        assertEquals(4, result.getCount());
+    }
+
+
+    @Test
+    public void test5()
+    {
+        Set<String> tokens = new LinkedHashSet<String>();
+
+        for (CountryCode cc : CountryCode.values())
+        {
+            tokens.add(cc.name());
+            tokens.add(cc.getAlpha3());
+        }
+
+        for (CurrencyCode cc : CurrencyCode.values())
+        {
+            tokens.add(cc.name());
+        }
+
+        for (LanguageAlpha3Code lc : LanguageAlpha3Code.values())
+        {
+            tokens.add(lc.name());
+        }
+
+        for (LanguageCode lc : LanguageCode.values())
+        {
+            tokens.add(lc.name());
+        }
+
+        for (ScriptCode sc : ScriptCode.values())
+        {
+            tokens.add(sc.name());
+        }
+
+        for (LocaleCode lc : LocaleCode.values())
+        {
+            tokens.add(lc.toString());
+        }
+
+        tokens.remove(null);
+        tokens.add("ANHH");
+        tokens.add("iw");
+        tokens.add("New");
+
+        CodeResolver.Result result = new CodeResolver.Result();
+
+        for (String token : tokens)
+        {
+            String[] variants = {
+                token, token.toUpperCase(Locale.ENGLISH), token.toLowerCase(Locale.ENGLISH)
+            };
+
+            for (String variant : variants)
+            {
+                assertResolved(variant, true, result);
+                assertResolved(variant, false, result);
+            }
+        }
+    }
+
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test6()
+    {
+        CodeResolver.resolveAll("JP", null);
+    }
+
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void test7()
+    {
+        CodeResolver.resolveAll("JP", 1, 3, true, new CodeResolver.Result());
+    }
+}
@@ -0,0 +1,177 @@
+/*
+ * Copyright (C) 2021 Neo Visionaries Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.neovisionaries.i18n;
+
+
+import static org.junit.Assert.assertEquals;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+
+
+public class ColumnValidatorTest
+{
+    private static final String CSV =
+        "id,name,country,currency,lang\r\n" +
+        "1,\"Tokyo, Japan\",JP,JPY,ja\r\n" +
+        "2,Berlin,DEU,EUR,de\r\n" +
+        "3,Nowhere,XX,ABC,ja\r\n" +
+        "4,Paris,fr,EUR,\"fr\"\r\n" +
+        "5,Short\n" +
+        "6,London,\"GB\",GBP,zz";
+
+
+    private static class Recorder implements ColumnValidator.Listener
+    {
+        final List<String> records = new ArrayList<String>();
+
+
+        public void onInvalidCode(ColumnValidator.Type type, int column, long line, long offset, ByteBuffer cell)
+        {
+            byte[] bytes = new byte[cell.remaining()];
+            cell.get(bytes);
+
+            records.add(line + ":" + column + ":" + offset + ":" + type + ":" + ascii(bytes));
+        }
+    }
+
+
+    private static String ascii(byte[] bytes)
+    {
+        try
+        {
+            return new String(bytes, "US-ASCII");
+        }
+        catch (UnsupportedEncodingException e)
+        {
+            throw new AssertionError(e);
+        }
+    }
+
+
+    private static byte[] bytes(String s)
+    {
+        try
+        {
+            return s.getBytes("US-ASCII");
+        }
+        catch (UnsupportedEncodingException e)
+        {
+            throw new AssertionError(e);
+        }
+    }
+
+
+    private static ColumnValidator newValidator()
+    {
+        return new ColumnValidator(',')
+            .setColumn(2, ColumnValidator.Type.COUNTRY)
+            .setColumn(3, ColumnValidator.Type.CURRENCY)
+            .setColumn(4, ColumnValidator.Type.LANGUAGE)
+            .setHeader(true);
+    }
+
+
+    private static List<String> expected()
+    {
+        int line4 = CSV.indexOf("3,Nowhere");
+        int line5 = CSV.indexOf("4,Paris");
+        int line6 = CSV.indexOf("5,Short");
+        int line7 = CSV.indexOf("6,London");
+
+        List<String> list = new ArrayList<String>();
+        list.add("4:2:" + (line4 + 10) + ":COUNTRY:XX");
+        list.add("4:3:" + (line4 + 13) + ":CURRENCY:ABC");
+        list.add("5:2:" + (line5 + 8) + ":COUNTRY:fr");
+        list.add("6:2:" + (line6 + 7) + ":COUNTRY:");
+        list.add("6:3:" + (line6 + 7) + ":CURRENCY:");
+        list.add("6:4:" + (line6 + 7) + ":LANGUAGE:");
+        list.add("7:4:" + (line7 + 18) + ":LANGUAGE:zz");
+
+        return list;
+    }
+
+
+    @Test
+    public void test1()
+    {
+        Recorder recorder = new Recorder();
+
+        long count = newValidator().validate(ByteBuffer.wrap(bytes(CSV)), recorder);
+
+        assertEquals(7, count);
+        assertEquals(expected(), recorder.records);
+    }
+
+
+    @Test
+    public void test2() throws IOException
+    {
+        File file = File.createTempFile("nv-i18n", ".csv");
+
+        try
+        {
+            FileOutputStream out = new FileOutputStream(file);
+
+            try
+            {
+                out.write(bytes(CSV));
+            }
+            finally
+            {
+                out.close();
+            }
+
+            // Buffers smaller than a line force compacting and enlarging.
+            for (int bufferSize = 4; bufferSize <= 64; bufferSize += 5)
+            {
+                Recorder recorder = new Recorder();
+
+                long count = newValidator().setBufferSize(bufferSize).validate(file, recorder);
+
+                assertEquals(7, count);
+                assertEquals(expected(), recorder.records);
+            }
+        }
+        finally
+        {
+            file.delete();
+        }
+    }
+
+
+    @Test
+    public void test3()
+    {
+        ColumnValidator validator = new ColumnValidator('\t')
+            .setColumn(0, ColumnValidator.Type.LANGUAGE_ALPHA3)
+            .setColumn(1, ColumnValidator.Type.COUNTRY);
+
+        assertEquals(1, validator.validate(ByteBuffer.wrap(bytes("jpn\tJPN\nJPN\tJP\n")), null));
+    }
+
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test4()
+    {
+        new ColumnValidator('"');
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ * Copyright (C) 2021 Neo Visionaries Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.neovisionaries.i18n;
+
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import org.junit.Test;
+
+
+public class CountryCodeSetTest
+{
+    @Test
+    public void test1()
+    {
+        CountryCodeSet set = new CountryCodeSet();
+
+        assertTrue(set.isEmpty());
+        assertTrue(set.add(CountryCode.JP));
+        assertFalse(set.add(CountryCode.JP));
+        assertTrue(set.add(CountryCode.ZW));
+        assertTrue(set.add(CountryCode.UNDEFINED));
+        assertEquals(3, set.size());
+        assertTrue(set.contains(CountryCode.JP));
+        assertFalse(set.contains(CountryCode.US));
+        assertFalse(set.contains(CurrencyCode.JPY));
+        assertFalse(set.contains(null));
+
+        assertTrue(set.remove(CountryCode.JP));
+        assertFalse(set.remove(CountryCode.JP));
+        assertEquals(2, set.size());
+    }
+
+
+    @Test
+    public void test2()
+    {
+        CountryCodeSet a = CountryCodeSet.of(CountryCode.JP, CountryCode.US, CountryCode.DE);
+        CountryCodeSet b = CountryCodeSet.of(CountryCode.US, CountryCode.FR);
+
+        assertEquals(EnumSet.of(CountryCode.JP, CountryCode.US, CountryCode.DE, CountryCode.FR), a.union(b));
+        assertEquals(EnumSet.of(CountryCode.US), a.intersection(b));
+
+        // The operands are not changed.
+        assertEquals(3, a.size());
+        assertEquals(2, b.size());
+
+        assertTrue(a.containsAll(CountryCodeSet.of(CountryCode.JP, CountryCode.DE)));
+        assertFalse(a.containsAll(b));
+        assertTrue(a.removeAll(b));
+        assertEquals(EnumSet.of(CountryCode.JP, CountryCode.DE), a);
+    }
+
+
+    @Test
+    public void test3()
+    {
+        // The natural order, the same as EnumSet.
+        Set<CountryCode> expected = EnumSet.noneOf(CountryCode.class);
+
+        for (CountryCode cc : CountryCode.values())
+        {
+            if (cc.ordinal() % 3 == 0)
+            {
+                expected.add(cc);
+            }
+        }
+
+        CountryCodeSet set = new CountryCodeSet(expected);
+
+        assertEquals(new ArrayList<CountryCode>(expected), new ArrayList<CountryCode>(set));
+        assertEquals(expected, set);
+        assertEquals(set, expected);
+        assertEquals(new HashSet<CountryCode>(expected).hashCode(), set.hashCode());
+
+        for (Iterator<CountryCode> it = set.iterator(); it.hasNext(); )
+        {
+            if (it.next().ordinal() % 2 == 0)
+            {
+                it.remove();
+            }
+        }
+
+        assertEquals(expected.size() / 2, set.size());
+    }
+
+
+    @Test
+    public void test4()
+    {
+        assertEquals(0, new CountryCodeSet().toByteArray().length);
+
+        CountryCodeSet set = CountryCodeSet.of(CountryCode.AD, CountryCode.JP, CountryCode.ZW);
+        byte[] bytes = set.toByteArray();
+
+        assertEquals(6, bytes.length);
+        assertEquals(set, CountryCodeSet.fromByteArray(bytes));
+
+        CountryCodeSet all = new CountryCodeSet(Arrays.asList(CountryCode.values()));
+        assertArrayEquals(all.toByteArray(), CountryCodeSet.fromByteArray(all.toByteArray()).toByteArray());
+        assertEquals(CountryCode.values().length, all.size());
+    }
+
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test5()
+    {
+        // 0x0400 | 336 is not the packed value of JP.
+        CountryCodeSet.fromByteArray(new byte[] { 0x05, 0x50 });
+    }
+
+
+    @Test
+    public void test6()
+    {
+        List<CountryCode> list = Arrays.asList(CountryCode.JP, CountryCode.US);
+        CountryCodeSet set = new CountryCodeSet();
+
+        // Not a CodeSet, so the elements are added one by one.
+        assertTrue(set.addAll(list));
+        assertTrue(set.retainAll(Arrays.asList(CountryCode.US)));
+        assertEquals(EnumSet.of(CountryCode.US), set);
+    }
+
+
+    @Test
+    public void test7()
+    {
+        // The packed values in big-endian order, sorted in ascending order.
+        // JP = 336 (0x0150), US = 691 (0x02B3).
+        byte[] bytes = CountryCodeSet.of(CountryCode.US, CountryCode.JP).toByteArray();
+
+        assertArrayEquals(new byte[] { 0x01, 0x50, 0x02, (byte)0xB3 }, bytes);
+        assertEquals(EnumSet.of(CountryCode.JP, CountryCode.US), CountryCodeSet.fromByteArray(bytes));
+
+        // The order in the byte form does not matter.
+        assertEquals(EnumSet.of(CountryCode.JP, CountryCode.US),
+                CountryCodeSet.fromByteArray(new byte[] { 0x02, (byte)0xB3, 0x01, 0x50 }));
+    }
+
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test8()
+    {
+        // The length is odd.
+        CountryCodeSet.fromByteArray(new byte[] { 0x01, 0x50, 0x02 });
+    }
+}
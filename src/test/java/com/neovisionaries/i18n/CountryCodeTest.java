@@ -23,6 +23,8 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Locale;
 import org.junit.Test;
@@ -387,4 +389,432 @@ public class CountryCodeTest
         // Country code 280 should map to 278, due to legacy applications in payment industry.
         assertEquals(CountryCode.DE, CountryCode.getByCode(280));
     }
+
+
+    @Test
+    public void test43()
+    {
+        // Lookups of unknown codes must not throw.
+        assertNull(CountryCode.getByAlpha2Code("ZZ"));
+        assertNull(CountryCode.getByAlpha2Code("jp"));
+        assertNull(CountryCode.getByAlpha2Code("#$"));
+        assertNull(CountryCode.getByAlpha2Code(null));
+        assertNull(getByCode("ZZ"));
+        assertNull(getByCodeIgnoreCase("zz"));
+    }
+
+
+    @Test
+    public void test44()
+    {
+        assertSame(CountryCode.JP, CountryCode.getByAlpha2Code("JP"));
+        assertSame(CountryCode.UNDEFINED, CountryCode.getByAlpha2Code("UNDEFINED"));
+    }
+
+
+    @Test
+    public void test45()
+    {
+        for (CountryCode cc : CountryCode.values())
+        {
+            if (cc.name().length() == 2)
+            {
+                assertSame(cc, CountryCode.getByAlpha2Code(cc.name()));
+            }
+
+            // FI and SF share the alpha-3 code "FIN".
+            if (cc.getAlpha3() != null && cc != CountryCode.SF)
+            {
+                assertSame(cc, CountryCode.getByAlpha3Code(cc.getAlpha3()));
+            }
+        }
+    }
+
+
+    @Test
+    public void test46()
+    {
+        // Characters next to 'A' and 'Z' in the ASCII table.
+        assertNull(CountryCode.getByAlpha2Code("@A"));
+        assertNull(CountryCode.getByAlpha2Code("Z["));
+        assertNull(CountryCode.getByAlpha3Code("JP@"));
+        assertNull(CountryCode.getByAlpha3Code("JP["));
+        assertNull(CountryCode.getByAlpha3Code("jpn"));
+        assertNull(CountryCode.getByAlpha3Code("JP"));
+        assertNull(CountryCode.getByAlpha3Code(null));
+    }
+
+
+    @Test
+    public void test47()
+    {
+        assertNull(CountryCode.getByCode(0));
+        assertNull(CountryCode.getByCode(999));
+        assertNull(CountryCode.getByCode(1000));
+        assertNull(CountryCode.getByCode(Integer.MAX_VALUE));
+        assertNull(CountryCode.getByCode(Integer.MIN_VALUE));
+    }
+
+
+    @Test
+    public void test48()
+    {
+        assertSame(CountryCode.JP, CountryCode.getByCode("jP", false));
+        assertSame(CountryCode.JP, CountryCode.getByCode("jPn", false));
+        assertSame(CountryCode.AN, CountryCode.getByCode("anhh", false));
+        assertSame(CountryCode.UNDEFINED, CountryCode.getByCode("Undefined", false));
+    }
+
+
+    @Test
+    public void test49()
+    {
+        assertNull(CountryCode.getByCode("jP", true));
+        assertNull(CountryCode.getByCode("anhh", true));
+        assertNull(CountryCode.getByCode("j1", false));
+    }
+
+
+    @Test
+    public void test50()
+    {
+        assertSame(CountryCode.JP, CountryCode.getByCode(new StringBuilder("JP")));
+        assertSame(CountryCode.JP, CountryCode.getByCode("ja-JP", 3, 5, true));
+        assertSame(CountryCode.JP, CountryCode.getByCode("ja-jpn", 3, 6, false));
+        assertSame(CountryCode.JP, CountryCode.getByCode("ja-JP".toCharArray(), 3, 5, true));
+        assertNull(CountryCode.getByCode("ja-JP", 2, 5, true));
+        assertNull(CountryCode.getByCode((CharSequence)null));
+        assertNull(CountryCode.getByCode((char[])null, 0, 2, true));
+    }
+
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void test51()
+    {
+        CountryCode.getByCode("JP", 1, 3, true);
+    }
+
+
+    @Test
+    public void test52()
+    {
+        byte[] record = "0392JPNJP".getBytes();
+
+        assertSame(CountryCode.JP, CountryCode.getByAlpha3Code(record, 4));
+        assertSame(CountryCode.JP, CountryCode.getByAlpha2Code(record, 7));
+        assertNull(CountryCode.getByAlpha2Code(record, 0));
+        assertNull(CountryCode.getByAlpha2Code("jp".getBytes(), 0));
+        assertNull(CountryCode.getByAlpha2Code((byte[])null, 0));
+    }
+
+
+    @Test
+    public void test53()
+    {
+        ByteBuffer buffer = ByteBuffer.wrap("0392JPNJP".getBytes());
+        buffer.position(2);
+        buffer.limit(8);
+
+        assertSame(CountryCode.JP, CountryCode.getByAlpha3Code(buffer, 4));
+        assertNull(CountryCode.getByAlpha2Code(buffer, 0));
+        assertEquals(2, buffer.position());
+        assertEquals(8, buffer.limit());
+        assertSame(CountryCode.JP, CountryCode.getByAlpha2Code(ByteBuffer.wrap("JP".getBytes()), 0));
+    }
+
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void test54()
+    {
+        // The limit of the buffer hides the last letter.
+        ByteBuffer buffer = ByteBuffer.wrap("0392JPNJP".getBytes());
+        buffer.limit(8);
+
+        CountryCode.getByAlpha2Code(buffer, 7);
+    }
+
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void test55()
+    {
+        CountryCode.getByAlpha3Code("JP".getBytes(), 0);
+    }
+
+
+    @Test
+    public void test56()
+    {
+        for (CountryCode cc : CountryCode.values())
+        {
+            Locale locale = cc.toLocale();
+
+            assertSame(locale, cc.toLocale());
+
+            // UK.toLocale() returns Locale.UK whose country is "GB".
+            if (cc != CountryCode.UNDEFINED && cc != CountryCode.UK)
+            {
+                assertEquals(cc.name(), locale.getCountry());
+            }
+        }
+    }
+
+
+    @Test
+    public void test57()
+    {
+        List<CountryCode> list = CountryCode.valueList();
+
+        assertEquals(Arrays.asList(CountryCode.values()), list);
+        assertSame(list, CountryCode.valueList());
+    }
+
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void test58()
+    {
+        CountryCode.valueList().set(0, null);
+    }
+
+
+    @Test
+    public void test59()
+    {
+        assertEquals(CountryCode.findByName("(?i)united.*"), CountryCode.findByNamePrefix("UNITED"));
+        assertEquals(CountryCode.valueList().size(), CountryCode.findByNamePrefix("").size());
+        assertEquals(0, CountryCode.findByNamePrefix("unitedx").size());
+    }
+
+
+    @Test
+    public void test60()
+    {
+        List<CountryCode> list = CountryCode.findByNameToken("Island");
+
+        assertTrue(list.contains(CountryCode.CX));
+        assertTrue(list.contains(CountryCode.KY) == false);
+        assertTrue(CountryCode.findByNameToken("islands").contains(CountryCode.KY));
+        assertTrue(CountryCode.findByNameToken("united").contains(CountryCode.TZ));
+        assertEquals(0, CountryCode.findByNameToken("").size());
+    }
+
+
+    @Test
+    public void test61()
+    {
+        for (CountryCode cc : CountryCode.values())
+        {
+            String name = cc.getName();
+
+            assertTrue(CountryCode.findByNamePrefix(name).contains(cc));
+            assertTrue(CountryCode.findByNameContains(name.substring(1)).contains(cc));
+        }
+
+        assertEquals(CountryCode.findByName("(?i).*ivoi.*"), CountryCode.findByNameContains("IVOI"));
+    }
+
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test62()
+    {
+        CountryCode.findByNamePrefix(null);
+    }
+
+
+    @Test
+    public void test63()
+    {
+        assertSame(CountryCode.KR, CountryCode.findByNameFuzzy("Korea, Rep.", 1).get(0));
+        assertSame(CountryCode.VN, CountryCode.findByNameFuzzy("viet nam", 1).get(0));
+        assertSame(CountryCode.TZ, CountryCode.findByNameFuzzy("Tanzania", 1).get(0));
+        assertSame(CountryCode.US, CountryCode.findByNameFuzzy("Untied States", 1).get(0));
+    }
+
+
+    @Test
+    public void test64()
+    {
+        assertEquals(3, CountryCode.findByNameFuzzy("Korea", 3).size());
+        assertEquals(0, CountryCode.findByNameFuzzy("Korea", 0).size());
+        assertEquals(0, CountryCode.findByNameFuzzy("", 3).size());
+        assertEquals(0, CountryCode.findByNameFuzzy("#$%", 3).size());
+
+        for (CountryCode cc : CountryCode.values())
+        {
+            // An exact name is the most similar, unless another constant has the same name.
+            CountryCode found = CountryCode.findByNameFuzzy(cc.getName(), 1).get(0);
+
+            assertEquals(cc.getName(), found.getName());
+        }
+    }
+
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test65()
+    {
+        CountryCode.findByNameFuzzy("Japan", -1);
+    }
+
+
+    @Test
+    public void test66()
+    {
+        String[] codes = { "JP", "usa", null, "XX", "ANHH", "UNDEFINED" };
+        CountryCode[] results = new CountryCode[codes.length + 1];
+        results[codes.length] = CountryCode.ZW;
+
+        assertEquals(3, CountryCode.getByCodes(codes, results));
+        assertSame(CountryCode.JP, results[0]);
+        assertNull(results[1]);
+        assertNull(results[2]);
+        assertNull(results[3]);
+        assertSame(CountryCode.AN, results[4]);
+        assertSame(CountryCode.UNDEFINED, results[5]);
+
+        // Extra elements are left untouched.
+        assertSame(CountryCode.ZW, results[6]);
+
+        assertEquals(4, CountryCode.getByCodes(codes, false, results));
+        assertSame(CountryCode.US, results[1]);
+    }
+
+
+    @Test
+    public void test67()
+    {
+        int[] codes = { 392, 0, -1, 840, 1000 };
+        CountryCode[] results = new CountryCode[codes.length];
+
+        assertEquals(2, CountryCode.getByCodes(codes, results));
+        assertSame(CountryCode.JP, results[0]);
+        assertNull(results[1]);
+        assertNull(results[2]);
+        assertSame(CountryCode.getByCode(840), results[3]);
+        assertNull(results[4]);
+    }
+
+
+    @Test
+    public void test68()
+    {
+        String[] codes = new String[CountryCode.values().length];
+
+        for (CountryCode cc : CountryCode.values())
+        {
+            codes[cc.ordinal()] = cc.getAlpha3();
+        }
+
+        int[] ordinals = CountryCode.toOrdinals(codes);
+
+        for (int i = 0; i < codes.length; ++i)
+        {
+            CountryCode cc = CountryCode.getByCode(codes[i]);
+            assertEquals((cc == null) ? -1 : cc.ordinal(), ordinals[i]);
+        }
+    }
+
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test69()
+    {
+        CountryCode.getByCodes(new String[2], new CountryCode[1]);
+    }
+
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test70()
+    {
+        CountryCode.getByCodes((int[])null, new CountryCode[0]);
+    }
+
+
+    @Test
+    public void test71()
+    {
+        assertEquals(Arrays.asList(LanguageCode.de, LanguageCode.fr, LanguageCode.it), CountryCode.CH.getLanguages());
+        assertSame(CountryCode.CH.getLanguages(), CountryCode.CH.getLanguages());
+        assertTrue(CountryCode.AQ.getLanguages().isEmpty());
+        assertTrue(CountryCode.UNDEFINED.getLanguages().isEmpty());
+
+        // The same languages as the ones found by scanning LocaleCode.
+        for (CountryCode cc : CountryCode.values())
+        {
+            for (LocaleCode lc : LocaleCode.getByCountry(cc))
+            {
+                if (lc != LocaleCode.undefined)
+                {
+                    assertTrue(cc.getLanguages().contains(lc.getLanguage()));
+                }
+            }
+        }
+    }
+
+
+    @Test
+    public void test72()
+    {
+        assertEquals(336, CountryCode.JP.toPackedShort());
+        assertEquals(0, CountryCode.UNDEFINED.toPackedShort());
+        assertSame(CountryCode.JP, CountryCode.fromPackedShort((short)336));
+        assertSame(CountryCode.UNDEFINED, CountryCode.fromPackedShort((short)0));
+    }
+
+
+    @Test
+    public void test73()
+    {
+        for (CountryCode cc : CountryCode.values())
+        {
+            assertSame(cc, CountryCode.fromPackedShort(cc.toPackedShort()));
+        }
+    }
+
+
+    @Test
+    public void test74()
+    {
+        // The value depends on the letters only, not on the ordinal.
+        for (CountryCode cc : CountryCode.values())
+        {
+            if (cc != CountryCode.UNDEFINED)
+            {
+                String code = cc.name();
+                assertEquals((code.charAt(0) - 'A' + 1) << 5 | (code.charAt(1) - 'A' + 1), cc.toPackedShort());
+            }
+        }
+    }
+
+
+    @Test
+    public void test75()
+    {
+        // A 5-bit group of 0 is not a letter.
+        assertNull(CountryCode.fromPackedShort((short)(10 << 5)));
+        assertNull(CountryCode.fromPackedShort((short)0x3FF));
+    }
+
+
+    @Test
+    public void test76()
+    {
+        // Substrings shorter than a trigram and substrings across words.
+        String[] substrings = { "", "q", "xe", "d k", "n, ", "united st", "republic of the" };
+
+        for (String substring : substrings)
+        {
+            assertEquals(CountryCode.findByName("(?i).*\\Q" + substring + "\\E.*"),
+                         CountryCode.findByNameContains(substring));
+        }
+
+        assertTrue(CountryCode.findByNameContains("zzz").isEmpty());
+    }
+
+
+    @Test
+    public void test77()
+    {
+        // Bits above the lower 10 bits must not alias onto a country.
+        assertNull(CountryCode.fromPackedShort((short)(0x0400 | 336)));
+        assertNull(CountryCode.fromPackedShort((short)(0x8000 | 336)));
+        assertNull(CountryCode.fromPackedShort((short)(0x7C00 | 336)));
+    }
 }
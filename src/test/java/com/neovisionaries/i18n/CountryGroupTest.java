@@ -0,0 +1,104 @@
+/*
+ * Copyright (C) 2021 Neo Visionaries Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.neovisionaries.i18n;
+
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+
+
+public class CountryGroupTest
+{
+    @Test
+    public void test1()
+    {
+        assertEquals(27, CountryGroup.EU.size());
+        assertEquals(30, CountryGroup.EEA.size());
+        assertEquals(21, CountryGroup.EUROZONE.size());
+
+        assertTrue(CountryGroup.EEA.contains(CountryCode.NO));
+        assertFalse(CountryGroup.EU.contains(CountryCode.NO));
+        assertFalse(CountryGroup.EU.contains(CountryCode.GB));
+        assertFalse(CountryGroup.EU.contains(null));
+        assertTrue(CountryCode.DE.isIn(CountryGroup.EUROZONE));
+        assertFalse(CountryCode.DK.isIn(CountryGroup.EUROZONE));
+
+        // The EU is a subset of the EEA, and the euro area is a subset of the EU.
+        assertTrue(CountryGroup.EEA.toSet().containsAll(CountryGroup.EU.toSet()));
+        assertTrue(CountryGroup.EU.toSet().containsAll(CountryGroup.EUROZONE.toSet()));
+    }
+
+
+    @Test
+    public void test2()
+    {
+        CountryGroup[] continents = {
+            CountryGroup.AFRICA, CountryGroup.ANTARCTICA, CountryGroup.ASIA, CountryGroup.EUROPE,
+            CountryGroup.NORTH_AMERICA, CountryGroup.OCEANIA, CountryGroup.SOUTH_AMERICA
+        };
+
+        // Every officially assigned code belongs to exactly one continent.
+        for (CountryCode cc : CountryCode.values())
+        {
+            List<CountryGroup> groups = new ArrayList<CountryGroup>();
+
+            for (CountryGroup continent : continents)
+            {
+                if (cc.isIn(continent))
+                {
+                    groups.add(continent);
+                }
+            }
+
+            int expected = (cc.getAssignment() == CountryCode.Assignment.OFFICIALLY_ASSIGNED) ? 1 : 0;
+
+            assertEquals(cc + " " + groups, expected, groups.size());
+        }
+
+        assertTrue(CountryCode.JP.isIn(CountryGroup.ASIA));
+        assertTrue(CountryCode.MX.isIn(CountryGroup.NORTH_AMERICA));
+        assertTrue(CountryCode.AQ.isIn(CountryGroup.ANTARCTICA));
+    }
+
+
+    @Test
+    public void test3()
+    {
+        CountryGroup dach = CountryGroup.of("DACH", CountryCode.DE, CountryCode.AT, CountryCode.CH);
+
+        assertEquals("DACH", dach.getName());
+        assertEquals("DACH", dach.toString());
+        assertEquals(3, dach.size());
+        assertTrue(CountryCode.CH.isIn(dach));
+
+        // The copy does not affect the group.
+        CountryCodeSet set = dach.toSet();
+        set.clear();
+
+        assertEquals(3, dach.size());
+    }
+
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test4()
+    {
+        CountryGroup.of("X", CountryCode.JP, null);
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright (C) 2021 Neo Visionaries Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.neovisionaries.i18n;
+
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import java.util.EnumSet;
+import org.junit.Test;
+
+
+public class CurrencyCodeSetTest
+{
+    @Test
+    public void test1()
+    {
+        CurrencyCodeSet a = CurrencyCodeSet.of(CurrencyCode.JPY, CurrencyCode.USD);
+        CurrencyCodeSet b = CurrencyCodeSet.of(CurrencyCode.USD, CurrencyCode.EUR);
+
+        assertEquals(EnumSet.of(CurrencyCode.JPY, CurrencyCode.USD, CurrencyCode.EUR), a.union(b));
+        assertEquals(EnumSet.of(CurrencyCode.USD), a.intersection(b));
+        assertTrue(a.contains(CurrencyCode.JPY));
+        assertFalse(a.contains(CountryCode.JP));
+    }
+
+
+    @Test
+    public void test2()
+    {
+        CurrencyCodeSet set = CurrencyCodeSet.of(CurrencyCode.AED, CurrencyCode.ZWL, CurrencyCode.UNDEFINED);
+
+        assertEquals(set, CurrencyCodeSet.fromByteArray(set.toByteArray()));
+        assertFalse(set.equals(CountryCodeSet.fromByteArray(new byte[] { 0, 0 })));
+    }
+}
@@ -22,6 +22,9 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import org.junit.Test;
 
@@ -179,4 +182,227 @@ public class CurrencyCodeTest
     {
         assertSame(CurrencyCode.UNDEFINED, getByCode("undefined", false));
     }
+
+
+    @Test
+    public void test18()
+    {
+        // Lookups of unknown codes must not throw.
+        assertNull(getByCode("ZZZ"));
+        assertNull(getByCode("JP"));
+        assertNull(getByCode("JPYY"));
+        assertNull(getByCode("zzz", false));
+    }
+
+
+    @Test
+    public void test19()
+    {
+        for (CurrencyCode cc : CurrencyCode.values())
+        {
+            assertSame(cc, getByCode(cc.name()));
+        }
+
+        assertNull(getByCode("JP@"));
+        assertNull(getByCode("JP["));
+        assertNull(getByCode("Jpy"));
+    }
+
+
+    @Test
+    public void test20()
+    {
+        assertSame(CurrencyCode.JPY, getByCode(392));
+        assertSame(CurrencyCode.XXX, getByCode(999));
+        assertNull(getByCode(0));
+        assertNull(getByCode(-1));
+        assertNull(getByCode(1000));
+        assertNull(getByCode(Integer.MAX_VALUE));
+    }
+
+
+    @Test
+    public void test21()
+    {
+        assertSame(CurrencyCode.JPY, CurrencyCode.getByCode("jPy", false));
+        assertNull(CurrencyCode.getByCode("jPy", true));
+        assertSame(CurrencyCode.UNDEFINED, CurrencyCode.getByCode("undefined", false));
+    }
+
+
+    @Test
+    public void test22()
+    {
+        assertSame(CurrencyCode.JPY, CurrencyCode.getByCode(new StringBuilder("JPY")));
+        assertSame(CurrencyCode.JPY, CurrencyCode.getByCode("1000 jpy", 5, 8, false));
+        assertSame(CurrencyCode.JPY, CurrencyCode.getByCode("1000 JPY".toCharArray(), 5, 8, true));
+        assertNull(CurrencyCode.getByCode("1000 jpy", 5, 8, true));
+    }
+
+
+    @Test
+    public void test23()
+    {
+        byte[] record = "12345JPY0000USD".getBytes();
+
+        assertSame(CurrencyCode.JPY, CurrencyCode.getByCode(record, 5));
+        assertSame(CurrencyCode.USD, CurrencyCode.getByCode(ByteBuffer.wrap(record), 12));
+        assertNull(CurrencyCode.getByCode(record, 0));
+        assertNull(CurrencyCode.getByCode("jpy".getBytes(), 0));
+        assertNull(CurrencyCode.getByCode(new byte[] { 'J', 'P', (byte)('Y' + 0x80) }, 0));
+    }
+
+
+    @Test
+    public void test24()
+    {
+        for (CountryCode country : CountryCode.values())
+        {
+            List<CurrencyCode> expected = new ArrayList<CurrencyCode>();
+
+            for (CurrencyCode currency : CurrencyCode.values())
+            {
+                if (currency.getCountryList().contains(country))
+                {
+                    expected.add(currency);
+                }
+            }
+
+            assertEquals(expected, CurrencyCode.getByCountry(country));
+            assertSame(CurrencyCode.getByCountry(country), CurrencyCode.getByCountry(country));
+        }
+
+        assertEquals(0, CurrencyCode.getByCountry((CountryCode)null).size());
+        assertEquals(0, CurrencyCode.getByCountry("XX", true).size());
+    }
+
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void test25()
+    {
+        CurrencyCode.getByCountry(CountryCode.JP).add(CurrencyCode.USD);
+    }
+
+
+    @Test
+    public void test26()
+    {
+        List<CurrencyCode> list = CurrencyCode.valueList();
+
+        assertEquals(Arrays.asList(CurrencyCode.values()), list);
+        assertSame(list, CurrencyCode.valueList());
+    }
+
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void test27()
+    {
+        CurrencyCode.valueList().set(0, null);
+    }
+
+
+    @Test
+    public void test28()
+    {
+        assertEquals(CurrencyCode.findByName("(?i).*dollar.*"), CurrencyCode.findByNameContains("Dollar"));
+        assertEquals(CurrencyCode.findByName("(?i)swiss.*"), CurrencyCode.findByNamePrefix("swiss"));
+        assertTrue(CurrencyCode.findByNameToken("franc").contains(CurrencyCode.CHF));
+    }
+
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test29()
+    {
+        CurrencyCode.findByNameToken(null);
+    }
+
+
+    @Test
+    public void test30()
+    {
+        assertSame(CurrencyCode.CHF, CurrencyCode.findByNameFuzzy("Swiss Franks", 1).get(0));
+        assertSame(CurrencyCode.JPY, CurrencyCode.findByNameFuzzy("YEN", 1).get(0));
+    }
+
+
+    @Test
+    public void test31()
+    {
+        String[] codes = { "JPY", "usd", null, "ABC", "UNDEFINED" };
+        CurrencyCode[] results = new CurrencyCode[codes.length];
+
+        assertEquals(2, CurrencyCode.getByCodes(codes, results));
+        assertSame(CurrencyCode.JPY, results[0]);
+        assertNull(results[1]);
+        assertNull(results[2]);
+        assertNull(results[3]);
+        assertSame(CurrencyCode.UNDEFINED, results[4]);
+
+        assertEquals(3, CurrencyCode.getByCodes(codes, false, results));
+        assertSame(CurrencyCode.USD, results[1]);
+    }
+
+
+    @Test
+    public void test32()
+    {
+        int[] codes = { 392, 0, 840, 999, -5 };
+        CurrencyCode[] results = new CurrencyCode[codes.length];
+
+        assertEquals(3, CurrencyCode.getByCodes(codes, results));
+        assertSame(CurrencyCode.JPY, results[0]);
+        assertNull(results[1]);
+        assertSame(CurrencyCode.USD, results[2]);
+        assertSame(CurrencyCode.XXX, results[3]);
+        assertNull(results[4]);
+
+        int[] ordinals = CurrencyCode.toOrdinals(new String[] { "EUR", "eur", null });
+        assertEquals(CurrencyCode.EUR.ordinal(), ordinals[0]);
+        assertEquals(-1, ordinals[1]);
+        assertEquals(-1, ordinals[2]);
+    }
+
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test33()
+    {
+        CurrencyCode.getByCodes(new String[0], null);
+    }
+
+
+    @Test
+    public void test34()
+    {
+        assertEquals(22116, CurrencyCode.USD.toPackedShort());
+        assertEquals(0, CurrencyCode.UNDEFINED.toPackedShort());
+        assertSame(CurrencyCode.USD, CurrencyCode.fromPackedShort((short)22116));
+        assertSame(CurrencyCode.UNDEFINED, CurrencyCode.fromPackedShort((short)0));
+    }
+
+
+    @Test
+    public void test35()
+    {
+        for (CurrencyCode cc : CurrencyCode.values())
+        {
+            assertSame(cc, CurrencyCode.fromPackedShort(cc.toPackedShort()));
+        }
+    }
+
+
+    @Test
+    public void test36()
+    {
+        assertNull(CurrencyCode.fromPackedShort((short)1));
+        assertNull(CurrencyCode.fromPackedShort((short)0x7FFF));
+        assertNull(CurrencyCode.fromPackedShort((short)-1));
+    }
+
+
+    @Test
+    public void test37()
+    {
+        // The sign bit must not alias onto a currency.
+        assertNull(CurrencyCode.fromPackedShort((short)(0x8000 | 22116)));
+    }
 }
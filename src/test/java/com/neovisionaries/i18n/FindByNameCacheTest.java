@@ -0,0 +1,192 @@
+/*
+ * Copyright (C) 2021 Neo Visionaries Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.neovisionaries.i18n;
+
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+import org.junit.Test;
+
+
+public class FindByNameCacheTest
+{
+    @Test
+    public void test1()
+    {
+        FindByNameCache.clear();
+
+        List<CountryCode> list = CountryCode.findByName(".*United.*");
+
+        assertEquals(0, FindByNameCache.getHitCount());
+        assertEquals(1, FindByNameCache.getMissCount());
+
+        // A copy of the cached list is returned.
+        List<CountryCode> cached = CountryCode.findByName(".*United.*");
+
+        assertNotSame(list, cached);
+        assertEquals(list, cached);
+        assertEquals(1, FindByNameCache.getHitCount());
+        assertEquals(1, FindByNameCache.getSize());
+    }
+
+
+    @Test
+    public void test2()
+    {
+        FindByNameCache.clear();
+
+        // The same regular expression for different enum types.
+        List<CountryCode> countries = CountryCode.findByName(".*an.*");
+        List<LanguageCode> languages = LanguageCode.findByName(".*an.*");
+
+        assertEquals(CountryCode.findByName(Pattern.compile(".*an.*")), countries);
+        assertEquals(LanguageCode.findByName(Pattern.compile(".*an.*")), languages);
+        assertEquals(2, FindByNameCache.getSize());
+        assertEquals(2, FindByNameCache.getMissCount());
+    }
+
+
+    @Test
+    public void test3()
+    {
+        FindByNameCache.clear();
+
+        // The returned list can be modified without affecting the cache.
+        List<CurrencyCode> list = CurrencyCode.findByName(".*Dollar");
+        int size = list.size();
+
+        list.clear();
+
+        assertEquals(size, CurrencyCode.findByName(".*Dollar").size());
+        assertEquals(1, FindByNameCache.getHitCount());
+    }
+
+
+    @Test
+    public void test4()
+    {
+        FindByNameCache.clear();
+        FindByNameCache.setMaxSize(2);
+
+        try
+        {
+            List<ScriptCode> list = ScriptCode.findByName("A.*");
+            ScriptCode.findByName("B.*");
+
+            // Make "A.*" the most recently used.
+            ScriptCode.findByName("A.*");
+            ScriptCode.findByName("C.*");
+
+            // "B.*" has been evicted.
+            assertEquals(2, FindByNameCache.getSize());
+            assertEquals(1, FindByNameCache.getEvictionCount());
+            assertEquals(list, ScriptCode.findByName("A.*"));
+            assertEquals(2, FindByNameCache.getHitCount());
+
+            FindByNameCache.setMaxSize(1);
+
+            assertEquals(1, FindByNameCache.getSize());
+            assertEquals(2, FindByNameCache.getEvictionCount());
+        }
+        finally
+        {
+            FindByNameCache.setMaxSize(FindByNameCache.DEFAULT_MAX_SIZE);
+        }
+    }
+
+
+    @Test
+    public void test5()
+    {
+        FindByNameCache.clear();
+        FindByNameCache.setMaxSize(0);
+
+        try
+        {
+            List<LanguageAlpha3Code> list = LanguageAlpha3Code.findByName("Old.*");
+
+            assertNotSame(list, LanguageAlpha3Code.findByName("Old.*"));
+            assertEquals(0, FindByNameCache.getSize());
+            assertEquals(2, FindByNameCache.getMissCount());
+        }
+        finally
+        {
+            FindByNameCache.setMaxSize(FindByNameCache.DEFAULT_MAX_SIZE);
+        }
+    }
+
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test6()
+    {
+        FindByNameCache.setMaxSize(-1);
+    }
+
+
+    @Test
+    public void test7() throws InterruptedException
+    {
+        FindByNameCache.clear();
+        FindByNameCache.setMaxSize(4);
+
+        final List<CountryCode> expected = CountryCode.findByName(Pattern.compile(".*land.*"));
+        final AtomicInteger failures = new AtomicInteger();
+        Thread[] threads = new Thread[8];
+
+        try
+        {
+            for (int i = 0; i < threads.length; ++i)
+            {
+                final int n = i;
+
+                threads[i] = new Thread() {
+                    @Override
+                    public void run()
+                    {
+                        for (int j = 0; j < 1000; ++j)
+                        {
+                            // Other regular expressions cause evictions.
+                            CountryCode.findByName(".*" + (char)('a' + (n + j) % 8) + ".*");
+
+                            if (expected.equals(CountryCode.findByName(".*land.*")) == false)
+                            {
+                                failures.incrementAndGet();
+                            }
+                        }
+                    }
+                };
+
+                threads[i].start();
+            }
+
+            for (Thread thread : threads)
+            {
+                thread.join();
+            }
+
+            assertEquals(0, failures.get());
+            assertTrue(FindByNameCache.getSize() <= 4);
+        }
+        finally
+        {
+            FindByNameCache.setMaxSize(FindByNameCache.DEFAULT_MAX_SIZE);
+        }
+    }
+}
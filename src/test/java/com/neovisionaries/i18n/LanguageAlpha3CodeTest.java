@@ -24,6 +24,8 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
 import java.util.List;
 import org.junit.Test;
 
@@ -1332,4 +1334,125 @@ public class LanguageAlpha3CodeTest
     {
         assertSame(LanguageAlpha3Code.undefined, getByCode("UNDEFINED", false));
     }
+
+
+    @Test
+    public void test184()
+    {
+        // Lookups of unknown codes must not throw.
+        assertNull(getByCode("zz"));
+        assertNull(getByCode("zzz"));
+        assertNull(getByCode("ZZZ", false));
+        assertNull(getByCode("#$%", false));
+    }
+
+
+    @Test
+    public void test185()
+    {
+        for (LanguageAlpha3Code lc : LanguageAlpha3Code.values())
+        {
+            assertSame(lc, getByCode(lc.name()));
+        }
+
+        assertNull(getByCode("jp`"));
+        assertNull(getByCode("jp{"));
+        assertNull(getByCode("Jpn"));
+    }
+
+
+    @Test
+    public void test186()
+    {
+        assertSame(LanguageAlpha3Code.jpn, LanguageAlpha3Code.getByCode(new StringBuilder("jpn")));
+        assertSame(LanguageAlpha3Code.jpn, LanguageAlpha3Code.getByCode("jpn-JP", 0, 3, true));
+        assertSame(LanguageAlpha3Code.jpn, LanguageAlpha3Code.getByCode("ja-JP".toCharArray(), 0, 2, true));
+        assertSame(LanguageAlpha3Code.New, LanguageAlpha3Code.getByCode("x-new", 2, 5, true));
+    }
+
+
+    @Test
+    public void test187()
+    {
+        assertSame(LanguageAlpha3Code.jpn, LanguageAlpha3Code.getByCode("jpn-JP".getBytes(), 0));
+        assertSame(LanguageAlpha3Code.New, LanguageAlpha3Code.getByCode(ByteBuffer.wrap("new".getBytes()), 0));
+        assertNull(LanguageAlpha3Code.getByCode("JPN".getBytes(), 0));
+    }
+
+
+    @Test
+    public void test188()
+    {
+        List<LanguageAlpha3Code> list = LanguageAlpha3Code.valueList();
+
+        assertEquals(Arrays.asList(LanguageAlpha3Code.values()), list);
+        assertSame(list, LanguageAlpha3Code.valueList());
+    }
+
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void test189()
+    {
+        LanguageAlpha3Code.valueList().set(0, null);
+    }
+
+
+    @Test
+    public void test190()
+    {
+        assertEquals(LanguageAlpha3Code.findByName("(?i)ja.*"), LanguageAlpha3Code.findByNamePrefix("ja"));
+        assertEquals(LanguageAlpha3Code.findByName("(?i).*languages.*"), LanguageAlpha3Code.findByNameToken("Languages"));
+        assertEquals(LanguageAlpha3Code.findByName("(?i).*ese.*"), LanguageAlpha3Code.findByNameContains("ese"));
+    }
+
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test191()
+    {
+        LanguageAlpha3Code.findByNameContains(null);
+    }
+
+
+    @Test
+    public void test192()
+    {
+        assertSame(LanguageAlpha3Code.jpn, LanguageAlpha3Code.findByNameFuzzy("Japanes", 1).get(0));
+    }
+
+
+    @Test
+    public void test193()
+    {
+        assertEquals(10766, LanguageAlpha3Code.jpn.toPackedShort());
+        assertEquals(0, LanguageAlpha3Code.undefined.toPackedShort());
+        assertSame(LanguageAlpha3Code.jpn, LanguageAlpha3Code.fromPackedShort((short)10766));
+        assertSame(LanguageAlpha3Code.undefined, LanguageAlpha3Code.fromPackedShort((short)0));
+    }
+
+
+    @Test
+    public void test194()
+    {
+        for (LanguageAlpha3Code lc : LanguageAlpha3Code.values())
+        {
+            assertSame(lc, LanguageAlpha3Code.fromPackedShort(lc.toPackedShort()));
+        }
+    }
+
+
+    @Test
+    public void test195()
+    {
+        // New is packed as "new".
+        assertEquals(14 << 10 | 5 << 5 | 23, LanguageAlpha3Code.New.toPackedShort());
+        assertNull(LanguageAlpha3Code.fromPackedShort((short)0x7FFF));
+    }
+
+
+    @Test
+    public void test196()
+    {
+        // The sign bit must not alias onto a language.
+        assertNull(LanguageAlpha3Code.fromPackedShort((short)(0x8000 | 10766)));
+    }
 }
@@ -22,6 +22,8 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Locale;
 import org.junit.Test;
@@ -891,4 +893,137 @@ public class LanguageCodeTest
     {
         assertSame(LanguageCode.undefined, getByCode("UNDEFINED", false));
     }
+
+
+    @Test
+    public void test122()
+    {
+        // Lookups of unknown codes must not throw.
+        assertNull(getByCode("zz"));
+        assertNull(getByCode("zzz"));
+        assertNull(getByCode("ZZ", false));
+        assertNull(getByCode("#$%", false));
+    }
+
+
+    @Test
+    public void test123()
+    {
+        for (LanguageCode lc : LanguageCode.values())
+        {
+            assertSame(lc, getByCode(lc.name()));
+        }
+
+        assertNull(getByCode("j`"));
+        assertNull(getByCode("j{"));
+        assertNull(getByCode("Ja"));
+    }
+
+
+    @Test
+    public void test124()
+    {
+        assertSame(LanguageCode.he, LanguageCode.getByCode("IW", false));
+        assertSame(LanguageCode.ja, LanguageCode.getByCode("JpN", false));
+        assertNull(LanguageCode.getByCode("JA", true));
+    }
+
+
+    @Test
+    public void test125()
+    {
+        assertSame(LanguageCode.ja, LanguageCode.getByCode(new StringBuilder("ja")));
+        assertSame(LanguageCode.ja, LanguageCode.getByCode("ja-JP", 0, 2, true));
+        assertSame(LanguageCode.ja, LanguageCode.getByCode("jpn-JP".toCharArray(), 0, 3, true));
+        assertSame(LanguageCode.he, LanguageCode.getByCode("x-IW", 2, 4, false));
+    }
+
+
+    @Test
+    public void test126()
+    {
+        assertSame(LanguageCode.ja, LanguageCode.getByCode("ja-JP".getBytes(), 0));
+        assertSame(LanguageCode.he, LanguageCode.getByCode(ByteBuffer.wrap("iw".getBytes()), 0));
+        assertNull(LanguageCode.getByCode("JA".getBytes(), 0));
+    }
+
+
+    @Test
+    public void test127()
+    {
+        for (LanguageCode lc : LanguageCode.values())
+        {
+            Locale locale = lc.toLocale();
+
+            assertSame(locale, lc.toLocale());
+            assertEquals(lc.name(), locale.getLanguage());
+        }
+    }
+
+
+    @Test
+    public void test128()
+    {
+        List<LanguageCode> list = LanguageCode.valueList();
+
+        assertEquals(Arrays.asList(LanguageCode.values()), list);
+        assertSame(list, LanguageCode.valueList());
+    }
+
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void test129()
+    {
+        LanguageCode.valueList().set(0, null);
+    }
+
+
+    @Test
+    public void test130()
+    {
+        assertEquals(LanguageCode.findByName("(?i)ja.*"), LanguageCode.findByNamePrefix("Ja"));
+        assertEquals(LanguageCode.findByName("(?i).*an.*"), LanguageCode.findByNameContains("AN"));
+        assertTrue(LanguageCode.findByNameToken("japanese").contains(LanguageCode.ja));
+    }
+
+
+    @Test
+    public void test131()
+    {
+        assertSame(LanguageCode.ja, LanguageCode.findByNameFuzzy("Japanes", 1).get(0));
+        assertSame(LanguageCode.de, LanguageCode.findByNameFuzzy("germn", 1).get(0));
+    }
+
+
+    @Test
+    public void test132()
+    {
+        assertEquals(Arrays.asList(CountryCode.JP), LanguageCode.ja.getCountries());
+        assertEquals(Arrays.asList(CurrencyCode.JPY), LanguageCode.ja.getCurrencies());
+        assertTrue(LanguageCode.de.getCountries().contains(CountryCode.CH));
+        assertTrue(LanguageCode.de.getCurrencies().contains(CurrencyCode.CHF));
+        assertTrue(LanguageCode.de.getCurrencies().contains(CurrencyCode.EUR));
+        assertTrue(LanguageCode.undefined.getCountries().isEmpty());
+
+        // The countries are the reverse of CountryCode.getLanguages().
+        for (LanguageCode lc : LanguageCode.values())
+        {
+            for (CountryCode cc : lc.getCountries())
+            {
+                assertTrue(cc.getLanguages().contains(lc));
+
+                for (CurrencyCode currency : CurrencyCode.getByCountry(cc))
+                {
+                    assertTrue(lc.getCurrencies().contains(currency));
+                }
+            }
+        }
+    }
+
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void test133()
+    {
+        LanguageCode.en.getCountries().clear();
+    }
 }
@@ -0,0 +1,148 @@
+/*
+ * Copyright (C) 2021 Neo Visionaries Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.neovisionaries.i18n;
+
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+
+public class LanguageTagTest
+{
+    private static LanguageTag parse(String tag)
+    {
+        LanguageTag result = LanguageTag.parse(tag);
+
+        assertTrue(tag, result != null);
+
+        return result;
+    }
+
+
+    @Test
+    public void test1()
+    {
+        LanguageTag tag = parse("zh-Hant-TW");
+
+        assertSame(LanguageCode.zh, tag.getLanguage());
+        assertSame(LanguageAlpha3Code.zho, tag.getLanguageAlpha3());
+        assertSame(ScriptCode.Hant, tag.getScript());
+        assertSame(CountryCode.TW, tag.getCountry());
+        assertSame(LocaleCode.zh_TW, tag.getLocale());
+        assertEquals(-1, tag.getVariantsStart());
+        assertEquals(-1, tag.getExtensionsStart());
+
+        tag = parse("SR_latn_rs");
+
+        assertSame(LanguageCode.sr, tag.getLanguage());
+        assertSame(ScriptCode.Latn, tag.getScript());
+        assertSame(CountryCode.RS, tag.getCountry());
+    }
+
+
+    @Test
+    public void test2()
+    {
+        String s = "en-US-u-ca-gregory-x-private";
+        LanguageTag tag = parse(s);
+
+        assertSame(LanguageCode.en, tag.getLanguage());
+        assertSame(CountryCode.US, tag.getCountry());
+        assertNull(tag.getScript());
+        assertSame(LocaleCode.en_US, tag.getLocale());
+        assertEquals(s.indexOf("u-"), tag.getExtensionsStart());
+        assertEquals(s.length(), tag.getExtensionsEnd());
+
+        s = "de-CH-1901-rozaj-x-a";
+        tag = parse(s);
+
+        assertSame(CountryCode.CH, tag.getCountry());
+        assertEquals("1901-rozaj", s.substring(tag.getVariantsStart(), tag.getVariantsEnd()));
+        assertEquals("x-a", s.substring(tag.getExtensionsStart(), tag.getExtensionsEnd()));
+    }
+
+
+    @Test
+    public void test3()
+    {
+        LanguageTag tag = parse("es-419");
+
+        assertSame(LanguageCode.es, tag.getLanguage());
+        assertNull(tag.getCountry());
+        assertEquals(419, tag.getNumericRegion());
+        assertNull(tag.getLocale());
+
+        tag = parse("jpn-392");
+
+        assertSame(LanguageCode.ja, tag.getLanguage());
+        assertSame(LanguageAlpha3Code.jpn, tag.getLanguageAlpha3());
+        assertSame(CountryCode.JP, tag.getCountry());
+
+        // Extended language subtags are skipped.
+        tag = parse("zh-yue-HK");
+
+        assertSame(LanguageCode.zh, tag.getLanguage());
+        assertSame(CountryCode.HK, tag.getCountry());
+
+        assertSame(LocaleCode.ja, parse("ja").getLocale());
+        assertNull(parse("en-ZZ").getLocale());
+        assertNull(parse("x-whatever").getLanguage());
+    }
+
+
+    @Test
+    public void test4()
+    {
+        String[] invalid = {
+            "", "-", "en-", "-en", "en--US", "e", "abcd", "en-US-US", "en-Latn-Hant",
+            "en-a", "en-a-b", "en-x", "en-toolongsubtag", "i-klingon", "en US", "ja-JP-12"
+        };
+
+        for (String s : invalid)
+        {
+            assertNull(s, LanguageTag.parse(s));
+        }
+
+        assertNull(LanguageTag.parse(null));
+    }
+
+
+    @Test
+    public void test5()
+    {
+        LanguageTag tag = new LanguageTag();
+
+        // Parse a range of a sequence, reusing the instance.
+        assertTrue(tag.parse("lang=pt-BR;", 5, 10));
+        assertSame(LanguageCode.pt, tag.getLanguage());
+        assertSame(CountryCode.BR, tag.getCountry());
+
+        assertFalse(tag.parse("lang=pt-BR;", 5, 11));
+        assertNull(tag.getLanguage());
+        assertNull(tag.getCountry());
+    }
+
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void test6()
+    {
+        new LanguageTag().parse("en", 0, 3);
+    }
+}
@@ -25,6 +25,7 @@ import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.fail;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Locale;
 import org.junit.Test;
@@ -438,4 +439,143 @@ public class LocaleCodeTest
     {
         assertSame(LocaleCode.ro_MD, getByCode("ro_MD", false));
     }
+
+
+    @Test
+    public void test47()
+    {
+        // Lookups of unknown codes must not throw.
+        assertNull(getByCode("zz"));
+        assertNull(getByCode("zz-ZZ"));
+        assertNull(getByCode("ja_ZZ"));
+        assertNull(getByCode("zz_jp", false));
+    }
+
+
+    @Test
+    public void test48()
+    {
+        assertSame(LocaleCode.en_US, LocaleCode.getByCode("EN-us", false));
+        assertSame(LocaleCode.he_IL, LocaleCode.getByCode("iw_IL"));
+        assertSame(LocaleCode.he_IL, LocaleCode.getByCode("iw", "il", false));
+        assertNull(LocaleCode.getByCode("en-USA", false));
+    }
+
+
+    @Test
+    public void test49()
+    {
+        assertSame(LocaleCode.ja_JP, LocaleCode.getByCode(new StringBuilder("ja_JP")));
+        assertSame(LocaleCode.ja_JP, LocaleCode.getByCode("ja-JP;q=0.8", 0, 5, true));
+        assertSame(LocaleCode.ja, LocaleCode.getByCode("ja;q=0.8".toCharArray(), 0, 2, true));
+        assertSame(LocaleCode.en_US, LocaleCode.getByCode("de, en-us", 4, 9, false));
+        assertNull(LocaleCode.getByCode("ja-JP;q=0.8", 0, 6, true));
+    }
+
+
+    @Test
+    public void test50()
+    {
+        for (LocaleCode lc : LocaleCode.values())
+        {
+            assertSame(lc.toLocale(), lc.toLocale());
+        }
+
+        assertEquals(new Locale("pt", "BR"), LocaleCode.pt_BR.toLocale());
+        assertSame(Locale.CANADA_FRENCH, LocaleCode.fr_CA.toLocale());
+    }
+
+
+    @Test
+    public void test51()
+    {
+        for (LanguageCode language : LanguageCode.values())
+        {
+            List<LocaleCode> expected = new ArrayList<LocaleCode>();
+
+            for (LocaleCode lc : LocaleCode.values())
+            {
+                if (lc.getLanguage() == language)
+                {
+                    expected.add(lc);
+                }
+            }
+
+            assertEquals(expected, getByLanguage(language));
+            assertSame(getByLanguage(language), getByLanguage(language));
+        }
+    }
+
+
+    @Test
+    public void test52()
+    {
+        for (CountryCode country : CountryCode.values())
+        {
+            List<LocaleCode> expected = new ArrayList<LocaleCode>();
+
+            for (LocaleCode lc : LocaleCode.values())
+            {
+                if (lc.getCountry() == country)
+                {
+                    expected.add(lc);
+                }
+            }
+
+            assertEquals(expected, getByCountry(country));
+            assertSame(getByCountry(country), getByCountry(country));
+        }
+    }
+
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void test53()
+    {
+        getByLanguage(LanguageCode.ja).clear();
+    }
+
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void test54()
+    {
+        getByCountry(CountryCode.JP).clear();
+    }
+
+
+    @Test
+    public void test55()
+    {
+        List<LocaleCode> list = LocaleCode.valueList();
+
+        assertEquals(Arrays.asList(LocaleCode.values()), list);
+        assertSame(list, LocaleCode.valueList());
+    }
+
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void test56()
+    {
+        LocaleCode.valueList().set(0, null);
+    }
+
+
+    @Test
+    public void test57()
+    {
+        // The char[] lookup reads the array directly and gives the same
+        // results as the CharSequence lookup.
+        for (LocaleCode lc : LocaleCode.values())
+        {
+            String code = "[" + lc.toString().replace('_', '-') + "]";
+            char[] array = code.toCharArray();
+
+            assertSame(LocaleCode.getByCode(code, 1, code.length() - 1, false),
+                       LocaleCode.getByCode(array, 1, array.length - 1, false));
+        }
+
+        assertNull(LocaleCode.getByCode("en.US".toCharArray(), 0, 5, true));
+        assertNull(LocaleCode.getByCode("en-us".toCharArray(), 0, 5, true));
+        assertSame(LocaleCode.en_US, LocaleCode.getByCode("en-us".toCharArray(), 0, 5, false));
+        assertSame(LocaleCode.undefined, LocaleCode.getByCode("undefined".toCharArray(), 0, 9, true));
+    }
 }
@@ -0,0 +1,161 @@
+/*
+ * Copyright (C) 2021 Neo Visionaries Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.neovisionaries.i18n;
+
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.Test;
+
+
+public class LocaleKeyTest
+{
+    @Test
+    public void test1()
+    {
+        LocaleKey key = LocaleKey.of(LanguageCode.en, ScriptCode.Latn, CountryCode.NG);
+
+        assertSame(key, LocaleKey.of(LanguageCode.en, ScriptCode.Latn, CountryCode.NG));
+        assertNotSame(key, LocaleKey.of(LanguageCode.en, CountryCode.NG));
+        assertSame(LanguageCode.en, key.getLanguage());
+        assertSame(ScriptCode.Latn, key.getScript());
+        assertSame(CountryCode.NG, key.getCountry());
+        assertEquals("en-Latn-NG", key.toString());
+        assertEquals("und", LocaleKey.of(null, null, null).toString());
+        assertEquals("ja-JP", LocaleKey.of(LanguageCode.ja, CountryCode.JP).toString());
+    }
+
+
+    @Test
+    public void test2()
+    {
+        // Every combination survives packing.
+        for (LanguageCode lc : new LanguageCode[] { null, LanguageCode.aa, LanguageCode.zu, LanguageCode.undefined })
+        {
+            for (ScriptCode sc : new ScriptCode[] { null, ScriptCode.Afak, ScriptCode.Zyyy, ScriptCode.Zzzz })
+            {
+                for (CountryCode cc : CountryCode.values())
+                {
+                    LocaleKey key = LocaleKey.of(lc, sc, cc);
+
+                    assertSame(key, LocaleKey.fromPacked(key.toPacked()));
+                    assertEquals(key.toPacked(), key.hashCode());
+                }
+            }
+        }
+
+        assertTrue(LocaleKey.of(LanguageCode.aa, null).compareTo(LocaleKey.of(LanguageCode.ab, null)) < 0);
+    }
+
+
+    @Test
+    public void test3()
+    {
+        for (LocaleCode lc : LocaleCode.values())
+        {
+            assertSame(lc, LocaleKey.of(lc).toLocaleCode());
+        }
+
+        assertNull(LocaleKey.of(LanguageCode.en, CountryCode.AQ).toLocaleCode());
+        assertNull(LocaleKey.of(LanguageCode.zh, ScriptCode.Hant, CountryCode.TW).toLocaleCode());
+        assertNull(LocaleKey.of((LocaleCode)null));
+        assertSame(LocaleKey.of(LanguageCode.zh, ScriptCode.Hant, CountryCode.TW),
+                   LanguageTag.parse("zh-Hant-TW").getLocaleKey());
+    }
+
+
+    @Test
+    public void test4() throws Exception
+    {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        try
+        {
+            List<Future<LocaleKey[]>> futures = new ArrayList<Future<LocaleKey[]>>();
+
+            for (int i = 0; i < 4; ++i)
+            {
+                futures.add(executor.submit(new Callable<LocaleKey[]>() {
+                    public LocaleKey[] call()
+                    {
+                        LocaleKey[] keys = new LocaleKey[CountryCode.values().length];
+
+                        for (CountryCode cc : CountryCode.values())
+                        {
+                            keys[cc.ordinal()] = LocaleKey.of(LanguageCode.fr, ScriptCode.Latn, cc);
+                        }
+
+                        return keys;
+                    }
+                }));
+            }
+
+            LocaleKey[] first = futures.get(0).get();
+
+            // All the threads got the same instances.
+            for (Future<LocaleKey[]> future : futures)
+            {
+                LocaleKey[] keys = future.get();
+
+                for (int i = 0; i < keys.length; ++i)
+                {
+                    assertSame(first[i], keys[i]);
+                }
+            }
+        }
+        finally
+        {
+            executor.shutdown();
+        }
+    }
+
+
+    @Test
+    public void test5() throws IOException, ClassNotFoundException
+    {
+        LocaleKey key = LocaleKey.of(LanguageCode.sr, ScriptCode.Cyrl, CountryCode.RS);
+
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        ObjectOutputStream out = new ObjectOutputStream(baos);
+        out.writeObject(key);
+        out.close();
+
+        ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(baos.toByteArray()));
+
+        assertSame(key, in.readObject());
+    }
+
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test6()
+    {
+        LocaleKey.fromPacked(1 << 30);
+    }
+}
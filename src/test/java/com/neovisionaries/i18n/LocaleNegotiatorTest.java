@@ -0,0 +1,166 @@
+/*
+ * Copyright (C) 2021 Neo Visionaries Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.neovisionaries.i18n;
+
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+
+
+public class LocaleNegotiatorTest
+{
+    private static final LocaleNegotiator NEGOTIATOR = new LocaleNegotiator(
+        Arrays.asList(LocaleCode.en_US, LocaleCode.en, LocaleCode.ja, LocaleCode.zh, LocaleCode.fr_CA));
+
+
+    @Test
+    public void test1()
+    {
+        assertSame(LocaleCode.ja, NEGOTIATOR.negotiate("ja"));
+        assertSame(LocaleCode.ja, NEGOTIATOR.negotiate("JA-jp"));
+        assertSame(LocaleCode.en_US, NEGOTIATOR.negotiate("en-US,en;q=0.9"));
+        assertSame(LocaleCode.en, NEGOTIATOR.negotiate("en-GB"));
+
+        // zh-TW falls back to zh, and zh-Hant-TW to zh.
+        assertSame(LocaleCode.zh, NEGOTIATOR.negotiate("zh-TW"));
+        assertSame(LocaleCode.zh, NEGOTIATOR.negotiate("zh-Hant-TW"));
+
+        // fr falls back to the first supported locale with the language.
+        assertSame(LocaleCode.fr_CA, NEGOTIATOR.negotiate("fr-FR"));
+    }
+
+
+    @Test
+    public void test2()
+    {
+        // The highest quality value wins.
+        assertSame(LocaleCode.ja, NEGOTIATOR.negotiate("de, en;q=0.5, ja;q=0.8"));
+        assertSame(LocaleCode.ja, NEGOTIATOR.negotiate(" en ; q=0.5 ,ja ; Q=0.501 "));
+
+        // The earlier range wins for the same quality value.
+        assertSame(LocaleCode.zh, NEGOTIATOR.negotiate("zh;q=0.7,ja;q=0.7"));
+
+        // q=0 and malformed quality values are ignored.
+        assertSame(LocaleCode.en, NEGOTIATOR.negotiate("ja;q=0,en;q=0.1"));
+        assertSame(LocaleCode.en, NEGOTIATOR.negotiate("ja;q=2,en;q=0.1"));
+        assertSame(LocaleCode.en, NEGOTIATOR.negotiate("ja;q=0.1234,ja;q=x,en;q=1.000"));
+
+        // Other parameters are ignored.
+        assertSame(LocaleCode.ja, NEGOTIATOR.negotiate("en;level=1;q=0.2,ja;q=0.3"));
+    }
+
+
+    @Test
+    public void test3()
+    {
+        assertSame(LocaleCode.en_US, NEGOTIATOR.negotiate("de,*;q=0.1"));
+        assertNull(NEGOTIATOR.negotiate("de, it"));
+        assertNull(NEGOTIATOR.negotiate(""));
+        assertNull(NEGOTIATOR.negotiate(",,;"));
+        assertNull(NEGOTIATOR.negotiate((CharSequence)null));
+        assertSame(LocaleCode.en, NEGOTIATOR.negotiate("de", LocaleCode.en));
+        assertSame(LocaleCode.ja, NEGOTIATOR.negotiate(new StringBuilder("ja")));
+    }
+
+
+    @Test
+    public void test4()
+    {
+        LocaleNegotiator negotiator = new LocaleNegotiator(Arrays.asList(LocaleCode.ja), 1);
+
+        // Cached results, including null.
+        for (int i = 0; i < 3; ++i)
+        {
+            assertSame(LocaleCode.ja, negotiator.negotiate("ja-JP"));
+            assertNull(negotiator.negotiate("de"));
+        }
+
+        assertEquals(Arrays.asList(LocaleCode.ja), negotiator.getSupportedLocales());
+    }
+
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test5()
+    {
+        new LocaleNegotiator(Arrays.<LocaleCode>asList());
+    }
+
+
+    @Test
+    public void test6()
+    {
+        LocaleNegotiator negotiator = new LocaleNegotiator(Arrays.asList(LocaleCode.ja, LocaleCode.en), 2);
+        StringBuilder header = new StringBuilder("ja");
+
+        // A CharSequence other than String is cached by its content.
+        assertSame(LocaleCode.ja, negotiator.negotiate(header));
+        assertSame(LocaleCode.ja, negotiator.negotiate("ja"));
+
+        // Reusing the buffer does not change the cached entry.
+        header.setLength(0);
+        header.append("en");
+
+        assertSame(LocaleCode.en, negotiator.negotiate(header));
+        assertSame(LocaleCode.ja, negotiator.negotiate(new StringBuilder("ja")));
+
+        // Evicted entries are parsed again.
+        assertNull(negotiator.negotiate("de"));
+        assertSame(LocaleCode.en, negotiator.negotiate("en"));
+    }
+
+
+    @Test
+    public void test7() throws InterruptedException
+    {
+        final LocaleNegotiator negotiator = new LocaleNegotiator(Arrays.asList(LocaleCode.ja, LocaleCode.en), 4);
+        final String[] headers = { "ja", "en", "de", "ja-JP", "en-US", "fr", "ja;q=0.1,en" };
+        final LocaleCode[] expected = { LocaleCode.ja, LocaleCode.en, null, LocaleCode.ja, LocaleCode.en, null, LocaleCode.en };
+        final AtomicInteger failures = new AtomicInteger();
+        Thread[] threads = new Thread[4];
+
+        for (int i = 0; i < threads.length; ++i)
+        {
+            threads[i] = new Thread() {
+                @Override
+                public void run()
+                {
+                    for (int n = 0; n < 2000; ++n)
+                    {
+                        int k = n % headers.length;
+
+                        if (negotiator.negotiate(new StringBuilder(headers[k])) != expected[k])
+                        {
+                            failures.incrementAndGet();
+                        }
+                    }
+                }
+            };
+
+            threads[i].start();
+        }
+
+        for (Thread thread : threads)
+        {
+            thread.join();
+        }
+
+        assertEquals(0, failures.get());
+    }
+}
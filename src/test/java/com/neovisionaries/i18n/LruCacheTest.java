@@ -0,0 +1,84 @@
+/*
+ * Copyright (C) 2021 Neo Visionaries Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.neovisionaries.i18n;
+
+
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import org.junit.Test;
+
+
+public class LruCacheTest
+{
+    @Test
+    public void test1()
+    {
+        LruCache<String, String> cache = new LruCache<String, String>(16);
+
+        for (int i = 0; i < 16; ++i)
+        {
+            cache.put("k" + i, "v" + i);
+        }
+
+        // Use k0, so that it is more recent than k1 to k15.
+        assertEquals("v0", cache.get("k0").value);
+
+        // One more entry evicts a batch and leaves 7/8 of the maximum.
+        cache.put("k16", "v16");
+
+        assertEquals(14, cache.size());
+        assertEquals(3, cache.getEvictionCount());
+        assertNotNull(cache.get("k0"));
+        assertNotNull(cache.get("k16"));
+        assertNull(cache.get("k1"));
+        assertNull(cache.get("k2"));
+        assertNull(cache.get("k3"));
+        assertNotNull(cache.get("k4"));
+    }
+
+
+    @Test
+    public void test2()
+    {
+        LruCache<String, String> cache = new LruCache<String, String>(2);
+
+        // null is cached, and a miss is told by a null entry.
+        cache.put("a", null);
+
+        assertNotNull(cache.get("a"));
+        assertNull(cache.get("a").value);
+        assertNull(cache.get("b"));
+
+        cache.put("b", "B");
+        cache.put("c", "C");
+
+        // "a" was used before "b" was added.
+        assertNull(cache.get("a"));
+        assertEquals(2, cache.size());
+
+        cache.setMaxSize(0);
+        cache.put("d", "D");
+
+        assertEquals(0, cache.size());
+        assertEquals(3, cache.getEvictionCount());
+
+        cache.clear();
+
+        assertEquals(0, cache.getEvictionCount());
+    }
+}
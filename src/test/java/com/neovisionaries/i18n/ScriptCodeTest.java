@@ -22,6 +22,8 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
 import java.util.List;
 import org.junit.Test;
 
@@ -401,4 +403,98 @@ public class ScriptCodeTest
     {
         assertSame(ScriptCode.Undefined, getByCodeIgnoreCase("UNDEFINED"));
     }
+
+
+    @Test
+    public void test53()
+    {
+        // Lookups of unknown codes must not throw.
+        assertNull(getByCode("Zzzy"));
+        assertNull(getByCode("1234"));
+        assertNull(getByCodeIgnoreCase("ZZZY"));
+    }
+
+
+    @Test
+    public void test54()
+    {
+        for (ScriptCode sc : ScriptCode.values())
+        {
+            if (sc.getNumeric() > 0)
+            {
+                assertSame(sc, getByCode(sc.getNumeric()));
+            }
+        }
+
+        assertNull(getByCode(0));
+        assertNull(getByCode(-1));
+        assertNull(getByCode(1000));
+        assertNull(getByCode(Integer.MAX_VALUE));
+    }
+
+
+    @Test
+    public void test55()
+    {
+        assertSame(ScriptCode.Jpan, ScriptCode.getByCode("jPAN", false));
+        assertNull(ScriptCode.getByCode("jPAN", true));
+        assertSame(ScriptCode.Undefined, ScriptCode.getByCode("UNDEFINED", false));
+    }
+
+
+    @Test
+    public void test56()
+    {
+        assertSame(ScriptCode.Jpan, ScriptCode.getByCode(new StringBuilder("Jpan")));
+        assertSame(ScriptCode.Jpan, ScriptCode.getByCode("ja-Jpan-JP", 3, 7, true));
+        assertSame(ScriptCode.Jpan, ScriptCode.getByCode("ja-JPAN-JP".toCharArray(), 3, 7, false));
+        assertNull(ScriptCode.getByCode("ja-JPAN-JP".toCharArray(), 3, 7, true));
+    }
+
+
+    @Test
+    public void test57()
+    {
+        assertSame(ScriptCode.Jpan, ScriptCode.getByCode("ja-Jpan-JP".getBytes(), 3));
+        assertSame(ScriptCode.Latn, ScriptCode.getByCode(ByteBuffer.wrap("Latn".getBytes()), 0));
+        assertNull(ScriptCode.getByCode("JPAN".getBytes(), 0));
+        assertNull(ScriptCode.getByCode("jpan".getBytes(), 0));
+    }
+
+
+    @Test
+    public void test58()
+    {
+        List<ScriptCode> list = ScriptCode.valueList();
+
+        assertEquals(Arrays.asList(ScriptCode.values()), list);
+        assertSame(list, ScriptCode.valueList());
+    }
+
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void test59()
+    {
+        ScriptCode.valueList().set(0, null);
+    }
+
+
+    @Test
+    public void test60()
+    {
+        List<ScriptCode> list = ScriptCode.findByNameToken("han");
+
+        assertEquals(3, list.size());
+        assertSame(ScriptCode.Hani, list.get(0));
+        assertSame(ScriptCode.Hans, list.get(1));
+        assertSame(ScriptCode.Hant, list.get(2));
+        assertEquals(ScriptCode.findByName("(?i)han.*"), ScriptCode.findByNamePrefix("HAN"));
+    }
+
+
+    @Test
+    public void test61()
+    {
+        assertSame(ScriptCode.Cyrl, ScriptCode.findByNameFuzzy("Cyrilic", 1).get(0));
+    }
 }